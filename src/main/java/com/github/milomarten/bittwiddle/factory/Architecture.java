@@ -1,8 +1,79 @@
 package com.github.milomarten.bittwiddle.factory;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Logic that is determined on a per-architecture basis, such as endianness.
  */
 public interface Architecture {
+    /**
+     * The order multi-byte values are stored in
+     * @return The byte order of this architecture
+     */
+    ByteOrder getByteOrder();
+
+    /**
+     * Decode a short from an array of bytes
+     * @param bites The bytes to decode from
+     * @param offset The index of the first byte of the short
+     * @return The decoded short
+     */
+    short decodeShort(byte[] bites, int offset);
+
+    /**
+     * Decode a short from a buffer, ignoring the buffer's own order and position
+     * @param buffer The buffer to decode from
+     * @param index The absolute index of the first byte of the short
+     * @return The decoded short
+     */
+    short decodeShort(ByteBuffer buffer, int index);
+
+    /**
+     * Decode an int from an array of bytes
+     * @param bites The bytes to decode from
+     * @param offset The index of the first byte of the int
+     * @return The decoded int
+     */
+    int decodeInt(byte[] bites, int offset);
+
+    /**
+     * Decode an int from a buffer, ignoring the buffer's own order and position
+     * @param buffer The buffer to decode from
+     * @param index The absolute index of the first byte of the int
+     * @return The decoded int
+     */
+    int decodeInt(ByteBuffer buffer, int index);
+
+    /**
+     * Encode a short into an array of bytes
+     * @param bites The bytes to encode into
+     * @param offset The index of the first byte of the short
+     * @param value The short to encode
+     */
+    void encodeShort(byte[] bites, int offset, short value);
+
+    /**
+     * Encode a short into a buffer, ignoring the buffer's own order and position
+     * @param buffer The buffer to encode into
+     * @param index The absolute index of the first byte of the short
+     * @param value The short to encode
+     */
+    void encodeShort(ByteBuffer buffer, int index, short value);
+
+    /**
+     * Encode an int into an array of bytes
+     * @param bites The bytes to encode into
+     * @param offset The index of the first byte of the int
+     * @param value The int to encode
+     */
+    void encodeInt(byte[] bites, int offset, int value);
 
+    /**
+     * Encode an int into a buffer, ignoring the buffer's own order and position
+     * @param buffer The buffer to encode into
+     * @param index The absolute index of the first byte of the int
+     * @param value The int to encode
+     */
+    void encodeInt(ByteBuffer buffer, int index, int value);
 }
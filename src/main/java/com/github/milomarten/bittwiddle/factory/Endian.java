@@ -0,0 +1,125 @@
+package com.github.milomarten.bittwiddle.factory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Architectures which differ only by byte order.
+ * Decoding and encoding are done through VarHandle views, which compile down to single (possibly byte-swapped) loads
+ * and stores rather than assembling values byte by byte.
+ */
+public enum Endian implements Architecture {
+    /**
+     * Least significant byte first, such as ARM
+     */
+    LITTLE(ByteOrder.LITTLE_ENDIAN) {
+        @Override
+        public short decodeShort(byte[] bites, int offset) {
+            return (short) Handles.LE_SHORT_ARRAY.get(bites, offset);
+        }
+
+        @Override
+        public short decodeShort(ByteBuffer buffer, int index) {
+            return (short) Handles.LE_SHORT_BUFFER.get(buffer, index);
+        }
+
+        @Override
+        public int decodeInt(byte[] bites, int offset) {
+            return (int) Handles.LE_INT_ARRAY.get(bites, offset);
+        }
+
+        @Override
+        public int decodeInt(ByteBuffer buffer, int index) {
+            return (int) Handles.LE_INT_BUFFER.get(buffer, index);
+        }
+
+        @Override
+        public void encodeShort(byte[] bites, int offset, short value) {
+            Handles.LE_SHORT_ARRAY.set(bites, offset, value);
+        }
+
+        @Override
+        public void encodeShort(ByteBuffer buffer, int index, short value) {
+            Handles.LE_SHORT_BUFFER.set(buffer, index, value);
+        }
+
+        @Override
+        public void encodeInt(byte[] bites, int offset, int value) {
+            Handles.LE_INT_ARRAY.set(bites, offset, value);
+        }
+
+        @Override
+        public void encodeInt(ByteBuffer buffer, int index, int value) {
+            Handles.LE_INT_BUFFER.set(buffer, index, value);
+        }
+    },
+    /**
+     * Most significant byte first, which is also Java's default
+     */
+    BIG(ByteOrder.BIG_ENDIAN) {
+        @Override
+        public short decodeShort(byte[] bites, int offset) {
+            return (short) Handles.BE_SHORT_ARRAY.get(bites, offset);
+        }
+
+        @Override
+        public short decodeShort(ByteBuffer buffer, int index) {
+            return (short) Handles.BE_SHORT_BUFFER.get(buffer, index);
+        }
+
+        @Override
+        public int decodeInt(byte[] bites, int offset) {
+            return (int) Handles.BE_INT_ARRAY.get(bites, offset);
+        }
+
+        @Override
+        public int decodeInt(ByteBuffer buffer, int index) {
+            return (int) Handles.BE_INT_BUFFER.get(buffer, index);
+        }
+
+        @Override
+        public void encodeShort(byte[] bites, int offset, short value) {
+            Handles.BE_SHORT_ARRAY.set(bites, offset, value);
+        }
+
+        @Override
+        public void encodeShort(ByteBuffer buffer, int index, short value) {
+            Handles.BE_SHORT_BUFFER.set(buffer, index, value);
+        }
+
+        @Override
+        public void encodeInt(byte[] bites, int offset, int value) {
+            Handles.BE_INT_ARRAY.set(bites, offset, value);
+        }
+
+        @Override
+        public void encodeInt(ByteBuffer buffer, int index, int value) {
+            Handles.BE_INT_BUFFER.set(buffer, index, value);
+        }
+    };
+
+    private final ByteOrder byteOrder;
+
+    Endian(ByteOrder byteOrder) {
+        this.byteOrder = byteOrder;
+    }
+
+    @Override
+    public ByteOrder getByteOrder() {
+        return byteOrder;
+    }
+
+    // Kept in static finals, so the JIT can treat each handle as a constant
+    private static class Handles {
+        static final VarHandle LE_SHORT_ARRAY = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+        static final VarHandle LE_INT_ARRAY = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+        static final VarHandle LE_SHORT_BUFFER = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+        static final VarHandle LE_INT_BUFFER = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+        static final VarHandle BE_SHORT_ARRAY = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+        static final VarHandle BE_INT_ARRAY = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+        static final VarHandle BE_SHORT_BUFFER = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+        static final VarHandle BE_INT_BUFFER = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    }
+}
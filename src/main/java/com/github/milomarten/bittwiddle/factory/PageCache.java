@@ -0,0 +1,184 @@
+package com.github.milomarten.bittwiddle.factory;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of fixed-size file pages, with least-recently-used eviction.
+ * Pages are keyed by the path of their file, so a single cache can be shared by every reader of every file, and
+ * readers of the same file share the same pages. The cache is thread-safe.
+ */
+public class PageCache {
+    /**
+     * The page size used if none is specified
+     */
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+
+    /**
+     * The size of a single page, in bytes
+     */
+    @Getter
+    private final int pageSize;
+
+    /**
+     * The maximum number of pages held at once
+     */
+    @Getter
+    private final int capacity;
+
+    private final Map<PageKey, byte[]> pages;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a cache using the default page size
+     * @param budget The maximum number of bytes of pages to hold
+     */
+    public PageCache(long budget) {
+        this(DEFAULT_PAGE_SIZE, budget);
+    }
+
+    /**
+     * Create a cache
+     * @param pageSize The size of a page, which must be a power of two
+     * @param budget The maximum number of bytes of pages to hold
+     */
+    public PageCache(int pageSize, long budget) {
+        if(pageSize <= 0 || Integer.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException("Page size must be a power of two, was " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.capacity = (int)Math.max(1, Math.min(Integer.MAX_VALUE, budget / pageSize));
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PageKey, byte[]> eldest) {
+                if(size() > capacity) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a page of a file, loading it if it is not cached.
+     * The returned array is shared, and must not be modified.
+     * @param file The file the page belongs to
+     * @param index The index of the page, which starts at byte index * pageSize
+     * @param loader The loader to use if the page is not cached
+     * @return The bytes of the page. May be shorter than the page size at the end of the file
+     */
+    public byte[] getPage(Path file, long index, PageLoader loader) throws IOException {
+        PageKey key = new PageKey(file, index);
+        long loadGeneration;
+        synchronized(pages) {
+            byte[] page = pages.get(key);
+            if(page != null) {
+                hits.increment();
+                return page;
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        // Load outside the lock, so a slow disk does not block hits on other pages
+        byte[] page = loader.load(index * pageSize, pageSize);
+        synchronized(pages) {
+            // Don't cache a page that was invalidated while it was being loaded, or a page past the end of the file
+            if(loadGeneration == generation && page.length > 0) {
+                byte[] existing = pages.putIfAbsent(key, page);
+                if(existing != null) {
+                    return existing;
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Drop every cached page of a file
+     * @param file The file whose pages should be dropped
+     */
+    public void invalidate(Path file) {
+        synchronized(pages) {
+            generation++;
+            pages.keySet().removeIf(key -> key.file.equals(file));
+        }
+    }
+
+    /**
+     * Drop the cached pages of a file which overlap a range of bytes
+     * @param file The file whose pages should be dropped
+     * @param from The first byte of the range, inclusive
+     * @param to The last byte of the range, exclusive
+     */
+    public void invalidate(Path file, long from, long to) {
+        synchronized(pages) {
+            generation++;
+            for(long index = from / pageSize; index * pageSize < to; index++) {
+                pages.remove(new PageKey(file, index));
+            }
+        }
+    }
+
+    /**
+     * Drop every cached page
+     */
+    public void clear() {
+        synchronized(pages) {
+            generation++;
+            pages.clear();
+        }
+    }
+
+    /**
+     * Get the number of pages currently cached
+     * @return The number of pages cached
+     */
+    public int size() {
+        synchronized(pages) {
+            return pages.size();
+        }
+    }
+
+    /**
+     * Get the number of page requests which were served from the cache
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of page requests which had to be loaded
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of pages evicted to stay within the budget
+     * @return The number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class PageKey {
+        private final Path file;
+        private final long index;
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.milomarten.bittwiddle.factory;
+
+import java.io.IOException;
+
+/**
+ * Reads a page of a file from its backing storage, on a cache miss
+ */
+@FunctionalInterface
+public interface PageLoader {
+    /**
+     * Load a page of the file
+     * @param position The position of the start of the page
+     * @param length The size of a page
+     * @return The bytes of the page. May be shorter than length if the end of the file was reached
+     */
+    byte[] load(long position, int length) throws IOException;
+}
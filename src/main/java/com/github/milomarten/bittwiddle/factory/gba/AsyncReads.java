@@ -0,0 +1,179 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helpers for reading from an AsynchronousFileChannel into CompletableFutures, and for running blocking file I/O off
+ * of the common pool
+ */
+final class AsyncReads {
+    /**
+     * Runs file I/O which can only be done by blocking, such as reads through a page cache.
+     * These are kept off of the common pool, so slow disks never starve unrelated work. Threads are daemons, and are
+     * only kept alive while there are reads to do.
+     */
+    private static final ExecutorService BLOCKING = Executors.newCachedThreadPool(new DaemonThreads());
+
+    private AsyncReads() {
+    }
+
+    /**
+     * Read a region of a channel, without blocking the calling thread
+     * @param channel The channel to read from
+     * @param position The position of the region
+     * @param length The length of the region
+     * @return A future completed with a buffer over the region, or with an OutOfFileException if the region is
+     * past the end of the file
+     */
+    static CompletableFuture<ByteBuffer> read(AsynchronousFileChannel channel, long position, int length) {
+        CompletableFuture<ByteBuffer> future = new CompletableFuture<>();
+        new Reader(channel, position, future).next(ByteBuffer.allocate(length));
+        return future;
+    }
+
+    /**
+     * Run a blocking read on a thread set aside for blocking reads
+     * @param read The read to run
+     * @param <T> The type the read returns
+     * @return A future completed with the result of the read, or with an OutOfFileException if it failed
+     */
+    static <T> CompletableFuture<T> blocking(Callable<T> read) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return read.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new OutOfFileException(e);
+            }
+        }, BLOCKING);
+    }
+
+    /**
+     * Run a set of blocking file tasks in parallel, on the threads set aside for blocking reads, and wait for them all.
+     * At most one task per processor runs at a time, so a large set never floods the pool with threads. If a task
+     * fails, no more are started, and the first failure is thrown once the running ones finish.
+     * @param count The number of tasks
+     * @param task Runs the task with a given index, from 0 to count - 1
+     * @param <T> The type each task returns
+     * @return The result of each task, in index order
+     */
+    static <T> List<T> parallel(int count, Task<T> task) throws IOException {
+        List<T> results = new ArrayList<>(Collections.nCopies(count, null));
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(count, Runtime.getRuntime().availableProcessors());
+        List<CompletableFuture<Void>> running = new ArrayList<>(workers);
+        for(int worker = 0; worker < workers; worker++) {
+            running.add(CompletableFuture.runAsync(() -> {
+                int index;
+                while((index = next.getAndIncrement()) < count) {
+                    try {
+                        results.set(index, task.run(index));
+                    } catch (IOException e) {
+                        next.set(count);
+                        throw new UncheckedIOException(e);
+                    } catch (RuntimeException | Error e) {
+                        next.set(count);
+                        throw e;
+                    }
+                }
+            }, BLOCKING));
+        }
+        try {
+            CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * A blocking file task, run as one of a set by parallel()
+     * @param <T> The type the task returns
+     */
+    @FunctionalInterface
+    interface Task<T> {
+        /**
+         * Run the task
+         * @param index The index of the task in its set
+         * @return The result of the task
+         */
+        T run(int index) throws IOException;
+    }
+
+    /**
+     * Reads into a buffer until it is full, issuing another read each time one completes short
+     */
+    private static class Reader implements CompletionHandler<Integer, ByteBuffer> {
+        private final AsynchronousFileChannel channel;
+        private final long position;
+        private final CompletableFuture<ByteBuffer> future;
+
+        Reader(AsynchronousFileChannel channel, long position, CompletableFuture<ByteBuffer> future) {
+            this.channel = channel;
+            this.position = position;
+            this.future = future;
+        }
+
+        void next(ByteBuffer buffer) {
+            try {
+                channel.read(buffer, position + buffer.position(), buffer, this);
+            } catch (RuntimeException e) {
+                // Such as a closed channel or a bad position; the handler is never called, so fail the read here
+                future.completeExceptionally(new OutOfFileException(e));
+            }
+        }
+
+        @Override
+        public void completed(Integer count, ByteBuffer attachment) {
+            if(count < 0) {
+                future.completeExceptionally(new OutOfFileException(new EOFException()));
+            } else if(attachment.hasRemaining()) {
+                next(attachment);
+            } else {
+                future.complete(attachment.flip());
+            }
+        }
+
+        @Override
+        public void failed(Throwable exc, ByteBuffer attachment) {
+            future.completeExceptionally(new OutOfFileException(exc));
+        }
+    }
+
+    private static class DaemonThreads implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "rom-read-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
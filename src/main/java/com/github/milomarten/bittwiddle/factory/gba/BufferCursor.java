@@ -0,0 +1,112 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.Architecture;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A cursor which reads from an in-memory buffer, such as a mapping of the ROM.
+ * The position is tracked by the cursor, and all reads use absolute indices, so the buffer's own position is never
+ * touched. Any number of cursors may share one buffer, across threads, as long as nothing writes to it.
+ */
+class BufferCursor implements RomCursor {
+    private final ByteBuffer buffer;
+    private int position;
+
+    BufferCursor(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = 0;
+    }
+
+    @Override
+    public void seek(long position) {
+        this.position = Math.toIntExact(position);
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int skipped = Math.max(0, Math.min(n, buffer.limit() - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public byte readByte() {
+        byte value = buffer.get(position);
+        position++;
+        return value;
+    }
+
+    @Override
+    public int readUnsignedByte() {
+        return Byte.toUnsignedInt(readByte());
+    }
+
+    @Override
+    public short readShort(Architecture arch) {
+        short value = arch.decodeShort(buffer, position);
+        position += Short.BYTES;
+        return value;
+    }
+
+    @Override
+    public int readInt(Architecture arch) {
+        int value = arch.decodeInt(buffer, position);
+        position += Integer.BYTES;
+        return value;
+    }
+
+    @Override
+    public void readFully(byte[] bites) {
+        buffer.get(position, bites);
+        position += bites.length;
+    }
+
+    @Override
+    public void readShorts(short[] shorts, Architecture arch) {
+        int length = shorts.length * Short.BYTES;
+        buffer.slice(position, length).order(arch.getByteOrder()).asShortBuffer().get(shorts);
+        position += length;
+    }
+
+    @Override
+    public void readInts(int[] ints, Architecture arch) {
+        int length = ints.length * Integer.BYTES;
+        buffer.slice(position, length).order(arch.getByteOrder()).asIntBuffer().get(ints);
+        position += length;
+    }
+
+    @Override
+    public ByteBuffer slice(int length) {
+        ByteBuffer slice = buffer.slice(position, length).asReadOnlyBuffer();
+        position += length;
+        return slice;
+    }
+
+    @Override
+    public int read(byte[] bites, int offset, int length) {
+        int remaining = buffer.limit() - position;
+        if(remaining <= 0) {
+            return -1;
+        }
+        int count = Math.min(length, remaining);
+        buffer.get(position, bites, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public RomCursor buffered() {
+        return this;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release; the buffer is owned by whoever created the cursor
+    }
+}
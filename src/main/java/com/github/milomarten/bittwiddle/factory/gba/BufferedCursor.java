@@ -0,0 +1,155 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.Architecture;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A cursor which reads ahead from another cursor in large blocks.
+ * Sequential reads are served from the read-ahead window, so a run of small reads costs one underlying read per block
+ * rather than one per field. Seeking within the window is free; seeking outside of it discards the window.
+ */
+class BufferedCursor implements RomCursor {
+    /**
+     * The number of bytes to read ahead at a time
+     */
+    static final int BLOCK_SIZE = 8192;
+
+    private final RomCursor delegate;
+    private final ByteBuffer window;
+    /**
+     * The absolute position of the delegate, which is the position just past the end of the window
+     */
+    private long end;
+
+    BufferedCursor(RomCursor delegate) {
+        this.delegate = delegate;
+        this.window = ByteBuffer.allocate(BLOCK_SIZE).limit(0);
+        this.end = 0;
+    }
+
+    @Override
+    public long position() {
+        return end - window.remaining();
+    }
+
+    /**
+     * Make sure at least n bytes are in the window, reading ahead from the delegate if needed
+     * @param n The number of bytes needed
+     * @return True if n bytes are available, false if the end of the file was reached first
+     */
+    private boolean fill(int n) throws IOException {
+        if(window.remaining() >= n) {
+            return true;
+        }
+        window.compact();
+        while(window.position() < n) {
+            int count = delegate.read(window.array(), window.position(), window.remaining());
+            if(count < 0) {
+                break;
+            }
+            window.position(window.position() + count);
+            end += count;
+        }
+        window.flip();
+        return window.remaining() >= n;
+    }
+
+    private void require(int n) throws IOException {
+        if(!fill(n)) {
+            throw new EOFException();
+        }
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        long start = end - window.limit();
+        if(position >= start && position <= end) {
+            window.position((int)(position - start));
+        } else {
+            delegate.seek(position);
+            end = position;
+            window.clear().limit(0);
+        }
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        seek(position() + n);
+        return n;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        require(Byte.BYTES);
+        return window.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return Byte.toUnsignedInt(readByte());
+    }
+
+    @Override
+    public short readShort(Architecture arch) throws IOException {
+        require(Short.BYTES);
+        int position = window.position();
+        short value = arch.decodeShort(window, position);
+        window.position(position + Short.BYTES);
+        return value;
+    }
+
+    @Override
+    public int readInt(Architecture arch) throws IOException {
+        require(Integer.BYTES);
+        int position = window.position();
+        int value = arch.decodeInt(window, position);
+        window.position(position + Integer.BYTES);
+        return value;
+    }
+
+    @Override
+    public void readFully(byte[] bites) throws IOException {
+        int offset = 0;
+        while(offset < bites.length) {
+            int count = read(bites, offset, bites.length - offset);
+            if(count < 0) {
+                throw new EOFException();
+            }
+            offset += count;
+        }
+    }
+
+    @Override
+    public int read(byte[] bites, int offset, int length) throws IOException {
+        if(!window.hasRemaining()) {
+            if(length >= BLOCK_SIZE) {
+                // Large reads gain nothing from the window, so skip the extra copy
+                window.clear().limit(0);
+                int count = delegate.read(bites, offset, length);
+                if(count > 0) {
+                    end += count;
+                }
+                return count;
+            }
+            if(!fill(1)) {
+                return -1;
+            }
+        }
+        int count = Math.min(length, window.remaining());
+        window.get(bites, offset, count);
+        return count;
+    }
+
+    @Override
+    public RomCursor buffered() {
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
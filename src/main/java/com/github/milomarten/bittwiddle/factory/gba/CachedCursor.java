@@ -0,0 +1,172 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.Architecture;
+import com.github.milomarten.bittwiddle.factory.PageCache;
+import com.github.milomarten.bittwiddle.factory.PageLoader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A cursor which reads through a shared PageCache, only going to disk on a miss
+ */
+class CachedCursor implements RomCursor {
+    private final PageCache cache;
+    private final Path file;
+    private final PageLoader loader;
+    private final byte[] scratch = new byte[Integer.BYTES];
+    private long position;
+
+    private byte[] page;
+    private long pageIndex = -1;
+
+    CachedCursor(PageCache cache, Path file, PageLoader loader) {
+        this.cache = cache;
+        this.file = file;
+        this.loader = loader;
+        this.position = 0;
+    }
+
+    /**
+     * Load a page from a channel, for use as a PageLoader
+     * @param channel The channel to read from
+     * @param position The position of the start of the page
+     * @param length The size of a page
+     * @return The bytes of the page, which may be short at the end of the file
+     */
+    static byte[] load(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position()) : buffer.array();
+    }
+
+    private byte[] page() throws IOException {
+        long index = position / cache.getPageSize();
+        if(index != pageIndex) {
+            page = cache.getPage(file, index, loader);
+            pageIndex = index;
+        }
+        return page;
+    }
+
+    private int offsetInPage() {
+        return (int)(position % cache.getPageSize());
+    }
+
+    @Override
+    public void seek(long position) {
+        this.position = position;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        position += n;
+        return n;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        byte[] page = page();
+        int offset = offsetInPage();
+        if(offset >= page.length) {
+            throw new EOFException();
+        }
+        position++;
+        return page[offset];
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return Byte.toUnsignedInt(readByte());
+    }
+
+    @Override
+    public short readShort(Architecture arch) throws IOException {
+        byte[] page = page();
+        int offset = offsetInPage();
+        if(offset + Short.BYTES <= page.length) {
+            position += Short.BYTES;
+            return arch.decodeShort(page, offset);
+        }
+        // Straddles two pages
+        readFully(scratch, Short.BYTES);
+        return arch.decodeShort(scratch, 0);
+    }
+
+    @Override
+    public int readInt(Architecture arch) throws IOException {
+        byte[] page = page();
+        int offset = offsetInPage();
+        if(offset + Integer.BYTES <= page.length) {
+            position += Integer.BYTES;
+            return arch.decodeInt(page, offset);
+        }
+        // Straddles two pages
+        readFully(scratch, Integer.BYTES);
+        return arch.decodeInt(scratch, 0);
+    }
+
+    @Override
+    public void readFully(byte[] bites) throws IOException {
+        readFully(bites, bites.length);
+    }
+
+    private void readFully(byte[] bites, int length) throws IOException {
+        int offset = 0;
+        while(offset < length) {
+            int count = read(bites, offset, length - offset);
+            if(count < 0) {
+                throw new EOFException();
+            }
+            offset += count;
+        }
+    }
+
+    @Override
+    public ByteBuffer slice(int length) throws IOException {
+        byte[] page = page();
+        int offset = offsetInPage();
+        if(offset + length <= page.length) {
+            // Pages are never modified once cached, so a view of one is safe to hand out
+            position += length;
+            return ByteBuffer.wrap(page, offset, length).slice().asReadOnlyBuffer();
+        }
+        return RomCursor.super.slice(length);
+    }
+
+    @Override
+    public int read(byte[] bites, int offset, int length) throws IOException {
+        byte[] page = page();
+        int offsetInPage = offsetInPage();
+        if(offsetInPage >= page.length) {
+            return -1;
+        }
+        int count = Math.min(length, page.length - offsetInPage);
+        System.arraycopy(page, offsetInPage, bites, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public RomCursor buffered() {
+        return this;
+    }
+
+    @Override
+    public void close() {
+        // Pages are owned by the cache
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+import lombok.EqualsAndHashCode;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A compiled chain of cursor movements.
+ * Every advance between two pointer dereferences is folded into a single displacement when the chain is built, so
+ * a chain without any dereferences is just an absolute offset, and a chain with dereferences is a flat array of
+ * displacements rather than a stack of nested closures.
+ */
+@EqualsAndHashCode
+final class Chain {
+    /**
+     * The chain which points to the start of the ROM
+     */
+    static final Chain START = new Chain(new long[]{0});
+
+    /**
+     * The absolute offset to start at, followed by the displacement to apply after each pointer dereference
+     */
+    private final long[] displacements;
+
+    private Chain(long[] displacements) {
+        this.displacements = displacements;
+    }
+
+    /**
+     * Create a chain which points to an absolute offset
+     * @param offset The offset to point to
+     * @return The created chain
+     */
+    static Chain at(long offset) {
+        return new Chain(new long[]{offset});
+    }
+
+    /**
+     * Move forward n bytes
+     * @param n The number of bytes to advance
+     * @return A new chain, which ends n bytes further
+     */
+    Chain advance(long n) {
+        long[] next = displacements.clone();
+        next[next.length - 1] += n;
+        return new Chain(next);
+    }
+
+    /**
+     * Dereference the pointer at the end of this chain
+     * @return A new chain, which ends at the target of the pointer
+     */
+    Chain follow() {
+        long[] next = Arrays.copyOf(displacements, displacements.length + 1);
+        return new Chain(next);
+    }
+
+    /**
+     * Check if this chain can be resolved without reading the ROM
+     * @return True if this chain contains no pointer dereferences
+     */
+    boolean isStatic() {
+        return displacements.length == 1;
+    }
+
+    /**
+     * Get the absolute offset of a static chain
+     * @return The offset this chain points to
+     * @throws IllegalStateException The chain contains a pointer dereference
+     */
+    long offset() {
+        if(!isStatic()) {
+            throw new IllegalStateException("Chain contains a pointer dereference, and must be resolved against a ROM");
+        }
+        return displacements[0];
+    }
+
+    /**
+     * Move a cursor to the end of this chain, dereferencing pointers along the way
+     * @param cursor The cursor to move
+     */
+    void resolve(RomCursor cursor) throws IOException {
+        cursor.seek(locate(cursor));
+    }
+
+    /**
+     * Find the absolute offset at the end of this chain, dereferencing pointers along the way
+     * @param cursor A cursor to read pointers with
+     * @return The offset this chain points to
+     */
+    long locate(RomCursor cursor) throws IOException {
+        long position = displacements[0];
+        for(int i = 1; i < displacements.length; i++) {
+            cursor.seek(position);
+            position = readPointer(cursor) + displacements[i];
+        }
+        return position;
+    }
+
+    /**
+     * Find the end of this chain without blocking, dereferencing pointers along the way
+     * @param source The ROM to read pointers from
+     * @return A future completed with the absolute offset this chain points to
+     */
+    CompletableFuture<Long> resolveAsync(RomSource source) {
+        CompletableFuture<Long> position = CompletableFuture.completedFuture(displacements[0]);
+        for(int i = 1; i < displacements.length; i++) {
+            long displacement = displacements[i];
+            position = position
+                    .thenCompose(p -> source.readAsync(p, GBAPointer.PARSER.numberOfBytes()))
+                    .thenApply(buffer -> {
+                        try {
+                            return readPointer(new BufferCursor(buffer)) + displacement;
+                        } catch (IOException e) {
+                            throw new OutOfFileException(e);
+                        }
+                    });
+        }
+        return position;
+    }
+
+    /**
+     * Read the pointer at a cursor, and advance past it
+     * @param cursor The cursor to read from
+     * @return The offset in ROM the pointer points to
+     * @throws InvalidPointerException The pointer does not point to ROM
+     */
+    static long readPointer(RomCursor cursor) throws IOException {
+        byte[] bites = new byte[GBAPointer.PARSER.numberOfBytes()];
+        int byteCount = cursor.read(bites);
+        if(bites.length != byteCount) {
+            throw new InvalidPointerException("Expected " + bites.length + " bytes for a pointer, got " + byteCount);
+        }
+        GBAPointer p = GBAPointer.PARSER.read(bites);
+        if(p.getBank() != GBAPointer.Bank.ROM) {
+            throw new InvalidPointerException("Pointer " + p + " does not point to ROM memory");
+        }
+        return p.getOffset();
+    }
+}
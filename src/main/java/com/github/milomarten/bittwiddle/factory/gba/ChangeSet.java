@@ -0,0 +1,163 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A set of pending writes to a ROM, kept as sorted, non-overlapping ranges.
+ * Where a write overlaps an earlier one, the later write wins.
+ */
+class ChangeSet implements Layer {
+    private final TreeMap<Long, byte[]> ranges = new TreeMap<>();
+
+    /**
+     * The range arrays allocated by the change set itself, which later writes may patch in place
+     */
+    private final Set<byte[]> allocated = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Stage a write. The array is owned by the change set afterwards, and must not be modified.
+     * @param offset The offset to write at
+     * @param data The bytes to write
+     */
+    void put(long offset, byte[] data) {
+        if(data.length == 0) {
+            return;
+        }
+        long end = offset + data.length;
+        long start = offset;
+        Map.Entry<Long, byte[]> floor = ranges.floorEntry(offset);
+        if(floor != null && floor.getKey() + floor.getValue().length > offset) {
+            start = floor.getKey();
+        }
+        NavigableMap<Long, byte[]> overlapping = ranges.subMap(start, true, end, false);
+        if(overlapping.isEmpty()) {
+            ranges.put(offset, data);
+            return;
+        }
+        if(floor != null && start == floor.getKey() && end <= start + floor.getValue().length) {
+            // Inside a single staged range, so only that range is touched. It is copied the first time, since the
+            // array may still be shared with whoever staged it
+            byte[] range = floor.getValue();
+            if(!allocated.contains(range)) {
+                range = range.clone();
+                allocated.add(range);
+                ranges.put(start, range);
+            }
+            System.arraycopy(data, 0, range, (int)(offset - start), data.length);
+            return;
+        }
+        Map.Entry<Long, byte[]> last = overlapping.lastEntry();
+        long stop = Math.max(end, last.getKey() + last.getValue().length);
+        byte[] merged = new byte[Math.toIntExact(stop - start)];
+        for(Map.Entry<Long, byte[]> range : overlapping.entrySet()) {
+            System.arraycopy(range.getValue(), 0, merged, (int)(range.getKey() - start), range.getValue().length);
+        }
+        System.arraycopy(data, 0, merged, (int)(offset - start), data.length);
+        allocated.removeAll(overlapping.values());
+        overlapping.clear();
+        ranges.put(start, merged);
+        allocated.add(merged);
+    }
+
+    @Override
+    public void overlay(long offset, byte[] bites, int index, int length) {
+        long end = offset + length;
+        Map.Entry<Long, byte[]> floor = ranges.floorEntry(offset);
+        long from = floor == null ? offset : floor.getKey();
+        for(Map.Entry<Long, byte[]> range : ranges.subMap(from, true, end, false).entrySet()) {
+            long rangeStart = range.getKey();
+            long rangeEnd = rangeStart + range.getValue().length;
+            long copyStart = Math.max(rangeStart, offset);
+            long copyEnd = Math.min(rangeEnd, end);
+            if(copyStart < copyEnd) {
+                System.arraycopy(range.getValue(), (int)(copyStart - rangeStart),
+                        bites, index + (int)(copyStart - offset), (int)(copyEnd - copyStart));
+            }
+        }
+    }
+
+    @Override
+    public long end() {
+        Map.Entry<Long, byte[]> last = ranges.lastEntry();
+        return last == null ? 0 : last.getKey() + last.getValue().length;
+    }
+
+    /**
+     * Check if any staged write touches a range of bytes
+     * @param from The first byte of the range, inclusive
+     * @param to The last byte of the range, exclusive
+     * @return True if at least one byte of the range will be written
+     */
+    boolean touches(long from, long to) {
+        Map.Entry<Long, byte[]> floor = ranges.lowerEntry(to);
+        return floor != null && floor.getKey() + floor.getValue().length > from;
+    }
+
+    /**
+     * Check if anything is staged
+     * @return True if there are no staged writes
+     */
+    boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * Get the staged ranges, sorted by offset
+     * @return A view of the staged ranges, keyed by offset. Ranges never overlap, but may be adjacent
+     */
+    NavigableMap<Long, byte[]> getRanges() {
+        return Collections.unmodifiableNavigableMap(ranges);
+    }
+
+    /**
+     * Get the staged ranges, with adjacent ranges merged together, so each can be written in a single call
+     * @return The coalesced ranges, keyed by offset
+     */
+    NavigableMap<Long, byte[]> coalesce() {
+        NavigableMap<Long, byte[]> coalesced = new TreeMap<>();
+        List<byte[]> run = new ArrayList<>();
+        long runStart = 0;
+        long runEnd = 0;
+        for(Map.Entry<Long, byte[]> range : ranges.entrySet()) {
+            if(!run.isEmpty() && runEnd != range.getKey()) {
+                coalesced.put(runStart, join(run, runEnd - runStart));
+                run.clear();
+            }
+            if(run.isEmpty()) {
+                runStart = range.getKey();
+            }
+            run.add(range.getValue());
+            runEnd = range.getKey() + range.getValue().length;
+        }
+        if(!run.isEmpty()) {
+            coalesced.put(runStart, join(run, runEnd - runStart));
+        }
+        return coalesced;
+    }
+
+    /**
+     * Join a run of adjacent ranges into one array, copying each range once
+     * @param run The ranges, in order
+     * @param length The total length of the ranges
+     * @return The joined array, or the only range if there is just one
+     */
+    private static byte[] join(List<byte[]> run, long length) {
+        if(run.size() == 1) {
+            return run.get(0);
+        }
+        byte[] joined = new byte[Math.toIntExact(length)];
+        int index = 0;
+        for(byte[] range : run) {
+            System.arraycopy(range, 0, joined, index, range.length);
+            index += range.length;
+        }
+        return joined;
+    }
+}
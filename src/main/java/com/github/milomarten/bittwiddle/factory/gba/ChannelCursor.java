@@ -0,0 +1,121 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.Architecture;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A cursor which reads from a FileChannel.
+ * The position is tracked by the cursor, and all reads are positional, so the channel's own position is never
+ * touched. Any number of cursors may share one channel, across threads, without locking.
+ */
+class ChannelCursor implements RomCursor {
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES);
+    private long position;
+
+    /**
+     * Create a cursor over a shared channel, which is left open when the cursor is closed
+     * @param channel The channel to read from
+     */
+    ChannelCursor(FileChannel channel) {
+        this(channel, false);
+    }
+
+    /**
+     * Create a cursor over a channel
+     * @param channel The channel to read from
+     * @param ownsChannel If true, the channel is closed when the cursor is closed
+     */
+    ChannelCursor(FileChannel channel, boolean ownsChannel) {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.position = 0;
+    }
+
+    private ByteBuffer readFully(int n) throws IOException {
+        scratch.clear().limit(n);
+        while(scratch.hasRemaining()) {
+            int count = channel.read(scratch, position);
+            if(count < 0) {
+                throw new EOFException();
+            }
+            position += count;
+        }
+        return scratch.flip();
+    }
+
+    @Override
+    public void seek(long position) {
+        this.position = position;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        int skipped = (int)Math.max(0, Math.min(n, channel.size() - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return readFully(Byte.BYTES).get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return Byte.toUnsignedInt(readByte());
+    }
+
+    @Override
+    public short readShort(Architecture arch) throws IOException {
+        return arch.decodeShort(readFully(Short.BYTES), 0);
+    }
+
+    @Override
+    public int readInt(Architecture arch) throws IOException {
+        return arch.decodeInt(readFully(Integer.BYTES), 0);
+    }
+
+    @Override
+    public void readFully(byte[] bites) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bites);
+        while(buffer.hasRemaining()) {
+            int count = channel.read(buffer, position);
+            if(count < 0) {
+                throw new EOFException();
+            }
+            position += count;
+        }
+    }
+
+    @Override
+    public int read(byte[] bites, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bites, offset, length);
+        while(buffer.hasRemaining()) {
+            int count = channel.read(buffer, position);
+            if(count < 0) {
+                break;
+            }
+            position += count;
+        }
+        int read = buffer.position() - offset;
+        return read == 0 && length > 0 ? -1 : read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(ownsChannel) {
+            channel.close();
+        }
+    }
+}
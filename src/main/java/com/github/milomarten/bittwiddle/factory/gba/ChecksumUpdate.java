@@ -0,0 +1,55 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Keeps the remembered CRC-32 of a ROM current across a write.
+ * If no CRC-32 is remembered for the ROM, nothing is tracked, and the write costs nothing extra.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class ChecksumUpdate {
+    private static final ChecksumUpdate NONE = new ChecksumUpdate(null, 0, 0, 0, Collections.emptyMap());
+
+    private final Path file;
+    private final int crc;
+    private final long size;
+    private final long newSize;
+    private final Map<Long, byte[]> deltas;
+
+    /**
+     * Prepare to update the CRC-32 of a ROM, before its changes are written
+     * @param rom The ROM about to be changed
+     * @param changes The changes about to be written, keyed by offset
+     * @return The pending update
+     */
+    static ChecksumUpdate before(GBAFile rom, Map<Long, byte[]> changes) throws IOException {
+        Path file = rom.getFile().toPath();
+        Integer crc = Checksums.cached(file);
+        if(crc == null) {
+            return NONE;
+        }
+        long size = rom.getFile().length();
+        long newSize = size;
+        for(Map.Entry<Long, byte[]> range : changes.entrySet()) {
+            newSize = Math.max(newSize, range.getKey() + range.getValue().length);
+        }
+        try (RomCursor cursor = rom.open()) {
+            return new ChecksumUpdate(file, crc, size, newSize, Checksums.deltas(cursor, size, changes));
+        }
+    }
+
+    /**
+     * Remember the updated CRC-32, once the changes have been written
+     */
+    void after() throws IOException {
+        if(file != null) {
+            Checksums.remember(file, Checksums.update(crc, size, newSize, deltas));
+        }
+    }
+}
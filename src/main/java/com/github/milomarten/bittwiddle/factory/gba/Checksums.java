@@ -0,0 +1,243 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * CRC-32 helpers, for checksums which can be updated without reading a whole ROM again.
+ * A CRC is linear over GF(2), so the checksum of an edited ROM is the checksum of the original, combined with the
+ * checksum of just the bytes which changed.
+ */
+final class Checksums {
+    private static final int POLYNOMIAL = 0xEDB88320;
+    private static final int[] TABLE = new int[256];
+    private static final Map<Path, FileChecksum> FILE_CHECKSUMS = new ConcurrentHashMap<>();
+
+    static {
+        for(int n = 0; n < TABLE.length; n++) {
+            int c = n;
+            for(int k = 0; k < Byte.SIZE; k++) {
+                c = (c & 1) != 0 ? POLYNOMIAL ^ (c >>> 1) : c >>> 1;
+            }
+            TABLE[n] = c;
+        }
+    }
+
+    private Checksums() {
+    }
+
+    /**
+     * Get the CRC-32 of a file.
+     * The checksum is remembered until the file's size or modification time changes.
+     * @param file The file to checksum
+     * @return The CRC-32 of the file's contents
+     */
+    static int crc32(Path file) throws IOException {
+        Integer cached = cached(file);
+        if(cached != null) {
+            return cached;
+        }
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while(channel.read(buffer) >= 0) {
+                crc.update(buffer.flip());
+                buffer.clear();
+            }
+        }
+        int value = (int)crc.getValue();
+        remember(file, value);
+        return value;
+    }
+
+    /**
+     * Get the remembered CRC-32 of a file, if it is still current
+     * @param file The file
+     * @return The CRC-32 of the file, or null if it was never computed, or the file has changed since
+     */
+    static Integer cached(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        FileChecksum cached = FILE_CHECKSUMS.get(key);
+        if(cached != null && cached.size == Files.size(key) && cached.modified == Files.getLastModifiedTime(key).toMillis()) {
+            return cached.crc;
+        }
+        return null;
+    }
+
+    /**
+     * Remember the CRC-32 of a file, as it is now
+     * @param file The file
+     * @param crc The CRC-32 of its contents
+     */
+    static void remember(Path file, int crc) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        FILE_CHECKSUMS.put(key, new FileChecksum(Files.size(key), Files.getLastModifiedTime(key).toMillis(), crc));
+    }
+
+    /**
+     * Get the difference each of a set of changes makes
+     * @param cursor A cursor over the ROM before the changes
+     * @param size The size of the ROM before the changes
+     * @param changes The changes, keyed by offset
+     * @return The original bytes XOR the changed bytes, keyed by offset. Bytes past the end of the ROM count as zero
+     */
+    static NavigableMap<Long, byte[]> deltas(RomCursor cursor, long size, Map<Long, byte[]> changes) throws IOException {
+        NavigableMap<Long, byte[]> deltas = new TreeMap<>();
+        for(Map.Entry<Long, byte[]> range : changes.entrySet()) {
+            long offset = range.getKey();
+            byte[] delta = range.getValue().clone();
+            int available = (int)Math.max(0, Math.min(delta.length, size - offset));
+            if(available > 0) {
+                byte[] original = new byte[available];
+                cursor.seek(offset);
+                cursor.readFully(original);
+                for(int i = 0; i < available; i++) {
+                    delta[i] ^= original[i];
+                }
+            }
+            deltas.put(offset, delta);
+        }
+        return deltas;
+    }
+
+    /**
+     * Get the CRC-32 of a block of bytes after a set of changes, without reading the block again
+     * @param crc The CRC-32 of the block before the changes
+     * @param size The size of the block before the changes
+     * @param newSize The size of the block after the changes, which may only grow
+     * @param deltas The original bytes XOR the changed bytes, keyed by offset
+     * @return The CRC-32 of the changed block
+     */
+    static int update(int crc, long size, long newSize, Map<Long, byte[]> deltas) {
+        long padding = newSize - size;
+        crc = combine(crc, zeros(padding), padding);
+        for(Map.Entry<Long, byte[]> delta : deltas.entrySet()) {
+            crc = update(crc, delta.getValue(), newSize - delta.getKey() - delta.getValue().length);
+        }
+        return crc;
+    }
+
+    /**
+     * Get the CRC-32 of a run of zero bytes
+     * @param length The number of zero bytes
+     * @return The CRC-32 of length zero bytes
+     */
+    static int zeros(long length) {
+        return shift(0xFFFFFFFF, length) ^ 0xFFFFFFFF;
+    }
+
+    /**
+     * Get the CRC-32 of two blocks of bytes, one after the other
+     * @param first The CRC-32 of the first block
+     * @param second The CRC-32 of the second block
+     * @param secondLength The length of the second block
+     * @return The CRC-32 of both blocks together
+     */
+    static int combine(int first, int second, long secondLength) {
+        return shift(first, secondLength) ^ second;
+    }
+
+    /**
+     * Get the CRC-32 of a block of bytes, after some of its bytes were changed.
+     * @param crc The CRC-32 of the block before the change
+     * @param delta The original bytes XOR the changed bytes, for the changed region
+     * @param trailing The number of bytes in the block after the changed region
+     * @return The CRC-32 of the changed block
+     */
+    private static int update(int crc, byte[] delta, long trailing) {
+        return crc ^ shift(raw(delta), trailing);
+    }
+
+    /**
+     * Run bytes through the CRC register, starting from zero, with no final inversion.
+     * This is the linear part of the CRC; it is zero for any run of zero bytes.
+     * @param bites The bytes to run
+     * @return The register after running the bytes
+     */
+    private static int raw(byte[] bites) {
+        int c = 0;
+        for(byte bite : bites) {
+            c = TABLE[(c ^ bite) & 0xFF] ^ (c >>> 8);
+        }
+        return c;
+    }
+
+    /**
+     * Advance the CRC register past a run of zero bytes, in logarithmic time
+     * @param crc The register to advance
+     * @param length The number of zero bytes to advance past
+     * @return The advanced register
+     */
+    private static int shift(int crc, long length) {
+        if(length <= 0) {
+            return crc;
+        }
+        int[] even = new int[32];
+        int[] odd = new int[32];
+
+        // The operator for a single zero bit
+        odd[0] = POLYNOMIAL;
+        int row = 1;
+        for(int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        square(even, odd);
+        square(odd, even);
+
+        // Each square doubles the number of zero bits, starting from one byte
+        do {
+            square(even, odd);
+            if((length & 1) != 0) {
+                crc = times(even, crc);
+            }
+            length >>>= 1;
+            if(length == 0) {
+                break;
+            }
+            square(odd, even);
+            if((length & 1) != 0) {
+                crc = times(odd, crc);
+            }
+            length >>>= 1;
+        } while(length != 0);
+        return crc;
+    }
+
+    private static int times(int[] matrix, int vector) {
+        int sum = 0;
+        for(int i = 0; vector != 0; i++, vector >>>= 1) {
+            if((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void square(int[] result, int[] matrix) {
+        for(int n = 0; n < 32; n++) {
+            result[n] = times(matrix, matrix[n]);
+        }
+    }
+
+    private static class FileChecksum {
+        private final long size;
+        private final long modified;
+        private final int crc;
+
+        FileChecksum(long size, long modified, int crc) {
+            this.size = size;
+            this.modified = modified;
+            this.crc = crc;
+        }
+    }
+}
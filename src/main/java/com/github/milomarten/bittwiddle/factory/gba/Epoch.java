@@ -0,0 +1,91 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One version of a ROM, as seen by the cursors opened on it.
+ * While a write is in progress, the file on disk is a mix of the old and new versions. The epoch for the old version
+ * holds the bytes the write replaces, laid over the file, so cursors opened on it keep reading the old version until
+ * they are closed. Every cursor is counted against the epoch it was opened in, so a later write can wait until nobody
+ * is still reading a version it is about to change.
+ */
+class Epoch {
+    /**
+     * The bytes to lay over the file to see this version, or null if the file is this version
+     */
+    private final Layer undo;
+
+    /**
+     * The version before this one, whose readers must also finish before the file changes again
+     */
+    private volatile Epoch previous;
+
+    private final AtomicInteger readers = new AtomicInteger();
+
+    Epoch(Layer undo, Epoch previous) {
+        this.undo = undo;
+        this.previous = previous;
+    }
+
+    /**
+     * Create the epoch for a file no write has touched yet
+     * @return The created epoch
+     */
+    static Epoch initial() {
+        return new Epoch(null, null);
+    }
+
+    /**
+     * Get the bytes to lay over the file to see this version
+     * @return The layer, or null if the file on disk is this version
+     */
+    Layer getUndo() {
+        return undo;
+    }
+
+    /**
+     * Count a reader against this epoch
+     */
+    void enter() {
+        readers.incrementAndGet();
+    }
+
+    /**
+     * Stop counting a reader against this epoch, waking any write waiting for it
+     */
+    void exit() {
+        if(readers.decrementAndGet() == 0) {
+            synchronized(this) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until every reader of this epoch, and of every epoch before it, has finished.
+     * Readers which enter an older epoch after it has been replaced must leave again without reading, or this may
+     * return while they are still reading.
+     * @throws InterruptedIOException The thread was interrupted while waiting
+     */
+    void awaitReaders() throws InterruptedIOException {
+        Epoch epoch = this;
+        while(epoch != null) {
+            epoch.awaitOwnReaders();
+            Epoch before = epoch.previous;
+            epoch.previous = null;
+            epoch = before;
+        }
+    }
+
+    private synchronized void awaitOwnReaders() throws InterruptedIOException {
+        try {
+            while(readers.get() > 0) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for readers to finish");
+        }
+    }
+}
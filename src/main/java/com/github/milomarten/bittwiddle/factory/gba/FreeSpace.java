@@ -0,0 +1,249 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An index of the unused space in a ROM, for placing new data.
+ * Unused space is any long enough run of a filler byte, 0xFF or 0x00. The ROM is scanned once, in parallel, and from
+ * then on space is handed out and returned through the index, with no further reads. The index only tracks space; it
+ * never writes to the ROM, so freed space should be overwritten with filler by the caller if it needs to be found again
+ * by a later scan.
+ */
+public class FreeSpace {
+    /**
+     * The shortest run of filler which is counted as free, if no other length is given
+     */
+    public static final int DEFAULT_MINIMUM_RUN = 16;
+
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final byte[] FILLERS = {(byte)0xFF, 0x00};
+
+    private final TreeMap<Long, Run> byOffset = new TreeMap<>();
+    private final NavigableSet<Run> bySize = new TreeSet<>(
+            Comparator.comparingLong((Run run) -> run.length).thenComparingLong(run -> run.offset));
+    private long freeBytes = 0;
+
+    private FreeSpace() {
+    }
+
+    /**
+     * Create an empty index, with no free space
+     * @return The created index
+     */
+    public static FreeSpace empty() {
+        return new FreeSpace();
+    }
+
+    /**
+     * Scan a ROM for runs of filler bytes, counting runs of at least 16 bytes
+     * @param rom The ROM to scan
+     * @return An index of the free space in the ROM
+     */
+    public static FreeSpace scan(GBAFile rom) {
+        return scan(rom, DEFAULT_MINIMUM_RUN);
+    }
+
+    /**
+     * Scan a ROM for runs of filler bytes.
+     * The ROM is split into chunks, which are scanned in parallel on the threads set aside for blocking reads, and runs
+     * which cross from one chunk to the next are joined back together afterwards.
+     * @param rom The ROM to scan
+     * @param minimumRun The shortest run to count as free
+     * @return An index of the free space in the ROM
+     */
+    public static FreeSpace scan(GBAFile rom, int minimumRun) {
+        long size = rom.getFile().length();
+        List<List<Run>> chunks;
+        try {
+            chunks = AsyncReads.parallel(Math.toIntExact((size + CHUNK_SIZE - 1) / CHUNK_SIZE), chunk -> {
+                long offset = (long)chunk * CHUNK_SIZE;
+                return scanChunk(rom, offset, (int)Math.min(CHUNK_SIZE, size - offset));
+            });
+        } catch (IOException e) {
+            throw new OutOfFileException(e);
+        }
+
+        FreeSpace space = new FreeSpace();
+        Run pending = null;
+        for(List<Run> chunk : chunks) {
+            for(Run run : chunk) {
+                if(pending != null && pending.filler == run.filler && pending.end() == run.offset) {
+                    pending = new Run(pending.offset, pending.length + run.length, run.filler);
+                } else {
+                    if(pending != null && pending.length >= minimumRun) {
+                        space.free(pending.offset, pending.length);
+                    }
+                    pending = run;
+                }
+            }
+        }
+        if(pending != null && pending.length >= minimumRun) {
+            space.free(pending.offset, pending.length);
+        }
+        return space;
+    }
+
+    /**
+     * Find every run of filler in part of a ROM.
+     * Runs are kept no matter how short they are, since a short run at either end of the chunk may continue into the
+     * next one.
+     */
+    private static List<Run> scanChunk(GBAFile rom, long offset, int length) {
+        byte[] bites = new byte[length];
+        try (RomCursor cursor = rom.open()) {
+            cursor.seek(offset);
+            cursor.readFully(bites);
+        } catch (IOException e) {
+            throw new OutOfFileException(e);
+        }
+        List<Run> runs = new ArrayList<>();
+        int index = 0;
+        while(index < length) {
+            byte bite = bites[index];
+            int start = index;
+            while(index < length && bites[index] == bite) {
+                index++;
+            }
+            if(isFiller(bite)) {
+                runs.add(new Run(offset + start, index - start, bite));
+            }
+        }
+        return runs;
+    }
+
+    private static boolean isFiller(byte bite) {
+        for(byte filler : FILLERS) {
+            if(bite == filler) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Take space out of the index, using the smallest run it fits in
+     * @param size The number of bytes needed
+     * @param alignment The boundary the space must start on, such as 4 for word-aligned data
+     * @return The offset of the allocated space
+     * @throws NoFreeSpaceException No run is large enough
+     */
+    public synchronized long allocate(long size, int alignment) {
+        if(size <= 0 || alignment <= 0) {
+            throw new IllegalArgumentException("Size and alignment must be positive");
+        }
+        for(Run run : bySize.tailSet(new Run(-1, size, (byte)0), false)) {
+            long start = (run.offset + alignment - 1) / alignment * alignment;
+            if(start + size <= run.end()) {
+                remove(run);
+                if(start > run.offset) {
+                    add(new Run(run.offset, start - run.offset, run.filler));
+                }
+                if(start + size < run.end()) {
+                    add(new Run(start + size, run.end() - start - size, run.filler));
+                }
+                return start;
+            }
+        }
+        throw new NoFreeSpaceException("No free run of " + size + " bytes, aligned to " + alignment);
+    }
+
+    /**
+     * Take space out of the index, using the smallest run it fits in
+     * @param size The number of bytes needed
+     * @return The offset of the allocated space
+     * @throws NoFreeSpaceException No run is large enough
+     */
+    public long allocate(long size) {
+        return allocate(size, 1);
+    }
+
+    /**
+     * Return space to the index.
+     * The space is joined with any free space it touches or overlaps.
+     * @param offset The offset of the space
+     * @param size The number of bytes of space
+     */
+    public synchronized void free(long offset, long size) {
+        if(size <= 0) {
+            return;
+        }
+        long start = offset;
+        long end = offset + size;
+        Map.Entry<Long, Run> before = byOffset.floorEntry(offset);
+        if(before != null && before.getValue().end() >= offset) {
+            start = before.getKey();
+            end = Math.max(end, before.getValue().end());
+            remove(before.getValue());
+        }
+        Map.Entry<Long, Run> after;
+        while((after = byOffset.ceilingEntry(start)) != null && after.getKey() <= end) {
+            end = Math.max(end, after.getValue().end());
+            remove(after.getValue());
+        }
+        add(new Run(start, end - start, (byte)0));
+    }
+
+    /**
+     * Get the total amount of free space
+     * @return The number of free bytes
+     */
+    public synchronized long getFreeBytes() {
+        return freeBytes;
+    }
+
+    /**
+     * Get the longest run of free space
+     * @return The number of bytes in the longest run, or 0 if there is no free space
+     */
+    public synchronized long getLargestRun() {
+        return bySize.isEmpty() ? 0 : bySize.last().length;
+    }
+
+    /**
+     * Get the number of separate runs of free space
+     * @return The number of runs
+     */
+    public synchronized int getRunCount() {
+        return byOffset.size();
+    }
+
+    private void add(Run run) {
+        byOffset.put(run.offset, run);
+        bySize.add(run);
+        freeBytes += run.length;
+    }
+
+    private void remove(Run run) {
+        byOffset.remove(run.offset);
+        bySize.remove(run);
+        freeBytes -= run.length;
+    }
+
+    private static class Run {
+        private final long offset;
+        private final long length;
+        /**
+         * The byte the run was made of, when it was scanned. Once in the index, runs of any filler are alike
+         */
+        private final byte filler;
+
+        Run(long offset, long length, byte filler) {
+            this.offset = offset;
+            this.length = length;
+            this.filler = filler;
+        }
+
+        long end() {
+            return offset + length;
+        }
+    }
+}
@@ -1,29 +1,604 @@
 package com.github.milomarten.bittwiddle.factory.gba;
 
+import com.github.milomarten.bittwiddle.factory.Architecture;
+import com.github.milomarten.bittwiddle.factory.Endian;
+import com.github.milomarten.bittwiddle.factory.NoSuchFileException;
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+import com.github.milomarten.bittwiddle.factory.PageCache;
 import com.github.milomarten.bittwiddle.operation.ReadOp;
+import com.github.milomarten.bittwiddle.operation.WriteOp;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.Getter;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
-@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class GBAFile {
+    /**
+     * The GBA runs on a little-endian ARM processor
+     */
+    public static final Architecture ARCHITECTURE = Endian.LITTLE;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
     @Getter(AccessLevel.PACKAGE)
     private final File file;
 
+    /**
+     * A read-only mapping of the entire ROM, or null if reads should go to the file directly
+     */
+    private final ByteBuffer mapping;
+
+    /**
+     * A page cache to read through, or null if reads should go to the file directly
+     */
+    private final PageCache cache;
+
+    /**
+     * An index of the pointers in this ROM, built the first time it is needed
+     */
+    private volatile PointerIndex pointers;
+
+    /**
+     * The version of the ROM new cursors are opened on
+     */
+    private final AtomicReference<Epoch> epoch = new AtomicReference<>(Epoch.initial());
+
+    /**
+     * Held while a write is in progress, so writes to this file happen one at a time
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * The channel asynchronous reads are made through, or null if none have been made yet
+     */
+    private volatile AsynchronousFileChannel asyncChannel;
+
+    private final Object channelLock = new Object();
+
+    /**
+     * This file as the source of the reads and writes made from it, kept out of the public API
+     */
+    private final RomSource source = new RomSource() {
+        @Override
+        public RomCursor open() throws IOException {
+            return GBAFile.this.open();
+        }
+
+        @Override
+        public CompletableFuture<ByteBuffer> readAsync(long position, int length) {
+            return GBAFile.this.readAsync(position, length);
+        }
+    };
+
+    /**
+     * The file as it is on disk, ignoring any write in progress
+     */
+    private final RomSource disk = new RomSource() {
+        @Override
+        public RomCursor open() throws IOException {
+            return openFile();
+        }
+
+        @Override
+        public CompletableFuture<ByteBuffer> readAsync(long position, int length) {
+            return readFileAsync(position, length);
+        }
+    };
+
     public static GBAFile of(File file) {
-        return new GBAFile(file);
+        return new GBAFile(file, null, null);
+    }
+
+    /**
+     * Create a GBAFile whose ROM is mapped into memory once, up front.
+     * All reads are then decoded from the shared mapping, rather than opening the file each time. Reads are positional,
+     * so any number of threads may read from a mapped file at once.
+     * @param file The ROM file
+     * @return The created GBAFile
+     */
+    public static GBAFile mapped(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new GBAFile(file, mapping, null);
+        } catch (IOException e) {
+            throw new NoSuchFileException(e);
+        }
+    }
+
+    /**
+     * Create a GBAFile whose reads go through a page cache.
+     * The cache may be shared with any number of other files; every GBAFile created for the same ROM with the same
+     * cache shares its pages, so repeated lookups only go to disk on a miss.
+     * @param file The ROM file
+     * @param cache The cache to read through
+     * @return The created GBAFile
+     */
+    public static GBAFile cached(File file, PageCache cache) {
+        return new GBAFile(file, null, cache);
+    }
+
+    /**
+     * Finish any journaled write to this ROM which was interrupted, such as by a crash.
+     * This is done automatically before the next write to the ROM. Opening the ROM for reading never does it, so a ROM
+     * can be read from a read-only location, and another GBAFile's journaled write in progress is never disturbed.
+     * @return True if an interrupted write was found and finished
+     */
+    public boolean recover() throws IOException {
+        synchronized(writeLock) {
+            return Journal.recover(file.toPath(), this::install);
+        }
+    }
+
+    /**
+     * Check if this file is mapped into memory
+     * @return True if reads are served from a memory mapping
+     */
+    public boolean isMapped() {
+        return mapping != null;
+    }
+
+    /**
+     * Check if this file reads through a page cache
+     * @return True if reads are served from a page cache
+     */
+    public boolean isCached() {
+        return cache != null;
     }
 
     public ReadOp read() {
-        return new GBARead(this);
+        return new GBARead(source);
     }
 
     public ReadOp read(long offset) {
-        return new GBARead(this, offset);
+        return new GBARead(source, offset);
+    }
+
+    /**
+     * Start a batch of writes at the start of the ROM.
+     * Nothing is written until apply() is called, at which point every staged change is written in one pass. Large
+     * batches are split into regions of the file, which are written in parallel.
+     * @return Operations object for staging writes
+     */
+    public WriteOp write() {
+        return new GBAWrite(source, this::write);
+    }
+
+    /**
+     * Start a batch of writes at an offset in the ROM.
+     * Nothing is written until apply() is called, at which point every staged change is written in one pass. Large
+     * batches are split into regions of the file, which are written in parallel.
+     * @param offset The offset to start at
+     * @return Operations object for staging writes
+     */
+    public WriteOp write(long offset) {
+        return new GBAWrite(source, this::write, offset);
+    }
+
+    /**
+     * Get the CRC-32 of this ROM.
+     * The first call reads the entire ROM. After that, the checksum is remembered, and every write applied through this
+     * library updates it from the changed bytes alone, so it is never computed from scratch again unless the file is
+     * changed by something else.
+     * @return The CRC-32 of the ROM, from 0 to 2^32 - 1
+     */
+    public long getCrc32() {
+        try {
+            return Integer.toUnsignedLong(Checksums.crc32(file.toPath()));
+        } catch (IOException e) {
+            throw new NoSuchFileException(e);
+        }
+    }
+
+    /**
+     * Get the index of the pointers in this ROM.
+     * The index is built by scanning the ROM the first time this is called. After that, every write to this GBAFile
+     * keeps it up to date.
+     * @return The pointer index
+     */
+    public PointerIndex getPointerIndex() {
+        PointerIndex index = pointers;
+        if(index == null) {
+            synchronized(this) {
+                index = pointers;
+                if(index == null) {
+                    index = PointerIndex.build(this);
+                    pointers = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Change every pointer to one offset, so it points to another instead.
+     * The pointers are found through the pointer index, and rewritten in a single batch.
+     * @param oldOffset The offset the pointers point to now
+     * @param newOffset The offset they should point to
+     * @return The number of pointers changed
+     */
+    public int repoint(long oldOffset, long newOffset) throws IOException {
+        return repoint(Map.of(oldOffset, newOffset));
+    }
+
+    /**
+     * Change every pointer to several offsets at once.
+     * The pointers are found through the pointer index, and every one of them is rewritten in a single batch.
+     * @param moves The offsets the pointers point to now, mapped to the offsets they should point to
+     * @return The number of pointers changed
+     */
+    public int repoint(Map<Long, Long> moves) throws IOException {
+        PointerIndex index = getPointerIndex();
+        WriteOp batch = write();
+        int count = 0;
+        for(Map.Entry<Long, Long> move : moves.entrySet()) {
+            GBAPointer pointer = new GBAPointer(GBAPointer.Bank.ROM, Math.toIntExact(move.getValue()));
+            for(long referrer : index.getReferrers(move.getKey())) {
+                batch.advance(Math.toIntExact(referrer)).set(GBAPointer.PARSER, pointer);
+                count++;
+            }
+        }
+        batch.apply();
+        return count;
+    }
+
+    /**
+     * Start a batch of writes at the start of the ROM, which are journaled.
+     * When applied, the changes and the bytes they replace are first saved to a journal beside the ROM. If the apply is
+     * interrupted, the journal is replayed before the next write to the ROM, or by recover(); if the apply fails, the
+     * replaced bytes are put back.
+     * @return Operations object for staging writes
+     */
+    public WriteOp journaledWrite() {
+        return new GBAWrite(source, new JournalSink(this));
+    }
+
+    /**
+     * Start a batch of writes at an offset in the ROM, which are journaled.
+     * When applied, the changes and the bytes they replace are first saved to a journal beside the ROM. If the apply is
+     * interrupted, the journal is replayed before the next write to the ROM, or by recover(); if the apply fails, the
+     * replaced bytes are put back.
+     * @param offset The offset to start at
+     * @return Operations object for staging writes
+     */
+    public WriteOp journaledWrite(long offset) {
+        return new GBAWrite(source, new JournalSink(this), offset);
+    }
+
+    /**
+     * Start a batch of writes which are saved as a patch, rather than written to this ROM.
+     * The patch is built from the changed bytes alone, so its cost depends on the number of changes, not the size of
+     * the ROM.
+     * @param target The patch file to create. If it already exists, it is overwritten
+     * @param format The format of the patch
+     * @return Operations object for staging writes
+     */
+    public WriteOp patch(Path target, PatchFormat format) {
+        return new GBAWrite(source, new PatchSink(this, format, target));
+    }
+
+    /**
+     * Create an in-memory overlay over this ROM.
+     * Writes to the overlay are held in memory, and never change this file. Use commit() on the overlay to save the
+     * result to a new file.
+     * @return The created overlay
+     */
+    public GBAOverlay overlay() {
+        return new GBAOverlay(this);
+    }
+
+    /**
+     * Open a session on this ROM, which holds a single channel open for all of its reads.
+     * Sessions should be closed when no longer needed, preferably using try-with-resources.
+     * @return The opened session
+     */
+    public GBASession openSession() {
+        try {
+            return new GBASession(this, FileChannel.open(file.toPath(), StandardOpenOption.READ), cache,
+                    getCacheKey());
+        } catch (IOException e) {
+            throw new NoSuchFileException(e);
+        }
+    }
+
+    /**
+     * Open a cursor at the start of the ROM.
+     * The cursor sees the ROM as it was when the cursor was opened: a write applied while it is open is not visible
+     * through it, and cursors opened after the write finishes see all of it at once.
+     * @return A cursor, which must be closed by the caller
+     */
+    RomCursor open() throws IOException {
+        return open(disk);
+    }
+
+    /**
+     * Open a cursor at the start of the ROM, which reads the file through a given source.
+     * The cursor sees the ROM as it was when the cursor was opened, just as one from open() does.
+     * @param files Opens cursors over the file as it is on disk
+     * @return A cursor, which must be closed by the caller
+     */
+    RomCursor open(RomSource files) throws IOException {
+        Epoch current = enterEpoch();
+        try {
+            RomCursor cursor = files.open();
+            if(current.getUndo() != null) {
+                cursor = new OverlayCursor(cursor, current.getUndo());
+            }
+            return new SnapshotCursor(cursor, current);
+        } catch (IOException | RuntimeException e) {
+            current.exit();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a cursor over the file as it is on disk, ignoring any write in progress
+     * @return A cursor, which must be closed by the caller
+     */
+    private RomCursor openFile() throws IOException {
+        if(mapping != null) {
+            return new BufferCursor(mapping);
+        } else if(cache != null) {
+            return new CachedCursor(cache, getCacheKey(), this::loadPage);
+        }
+        return new ChannelCursor(FileChannel.open(file.toPath(), StandardOpenOption.READ), true);
+    }
+
+    /**
+     * Count a reader against the current epoch
+     * @return The epoch entered, which must be exited once the reader is done
+     */
+    private Epoch enterEpoch() {
+        while(true) {
+            Epoch current = epoch.get();
+            current.enter();
+            if(epoch.get() == current) {
+                return current;
+            }
+            // A write replaced the epoch in between, and may not have seen this reader
+            current.exit();
+        }
+    }
+
+    /**
+     * Read a region of the ROM without blocking the calling thread.
+     * The region is read as it was when the read was started, even if a write is applied before it completes.
+     * @param position The position of the region
+     * @param length The length of the region
+     * @return A future completed with a buffer over the region
+     */
+    CompletableFuture<ByteBuffer> readAsync(long position, int length) {
+        return readAsync(disk, position, length);
+    }
+
+    /**
+     * Read a region of the ROM without blocking the calling thread, reading the file through a given source.
+     * The region is read as it was when the read was started, just as one from readAsync() is.
+     * @param files Reads regions of the file as it is on disk
+     * @param position The position of the region
+     * @param length The length of the region
+     * @return A future completed with a buffer over the region
+     */
+    CompletableFuture<ByteBuffer> readAsync(RomSource files, long position, int length) {
+        Epoch current = enterEpoch();
+        CompletableFuture<ByteBuffer> read;
+        try {
+            read = files.readAsync(position, length);
+        } catch (RuntimeException e) {
+            read = CompletableFuture.failedFuture(e);
+        }
+        return read.thenApply(buffer -> {
+                    Layer undo = current.getUndo();
+                    if(undo == null) {
+                        return buffer.asReadOnlyBuffer();
+                    }
+                    byte[] bites = new byte[buffer.remaining()];
+                    buffer.duplicate().get(bites);
+                    undo.overlay(position, bites, 0, bites.length);
+                    return ByteBuffer.wrap(bites).asReadOnlyBuffer();
+                })
+                .whenComplete((buffer, error) -> current.exit());
+    }
+
+    /**
+     * Read a region of the file as it is on disk without blocking the calling thread, ignoring any write in progress
+     * @param position The position of the region
+     * @param length The length of the region
+     * @return A future completed with a buffer over the region
+     */
+    private CompletableFuture<ByteBuffer> readFileAsync(long position, int length) {
+        if(mapping != null) {
+            try {
+                // Copied, since a view of the mapping would change with the next write
+                ByteBuffer copy = ByteBuffer.allocate(length).put(mapping.slice(Math.toIntExact(position), length)).flip();
+                return CompletableFuture.completedFuture(copy);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(new OutOfFileException(e));
+            }
+        } else if(cache != null) {
+            return AsyncReads.blocking(() -> {
+                try (RomCursor cursor = openFile()) {
+                    cursor.seek(position);
+                    return cursor.slice(length);
+                }
+            });
+        }
+        try {
+            return AsyncReads.read(getAsyncChannel(), position, length);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new NoSuchFileException(e));
+        }
+    }
+
+    /**
+     * Get the channel asynchronous reads are made through.
+     * It is opened by the first asynchronous read, and shared by every one after it. Since a GBAFile is never closed,
+     * the channel is closed once this GBAFile is no longer reachable.
+     * @return The channel
+     */
+    private AsynchronousFileChannel getAsyncChannel() throws IOException {
+        AsynchronousFileChannel channel = asyncChannel;
+        if(channel == null) {
+            synchronized(channelLock) {
+                channel = asyncChannel;
+                if(channel == null) {
+                    channel = AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.READ);
+                    CLEANER.register(this, new ChannelCloser(channel));
+                    asyncChannel = channel;
+                }
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Write every change in the set, in a single ordered pass
+     * @param changes The changes to write
+     */
+    void write(ChangeSet changes) throws IOException {
+        Map<Long, byte[]> ranges = changes.coalesce();
+        commit(ranges, channel -> {
+            ChecksumUpdate checksum = ChecksumUpdate.before(this, ranges);
+            RegionWriter.write(channel, ranges);
+            checksum.after();
+        });
+    }
+
+    /**
+     * Write a set of ranges to this ROM, without disturbing anyone reading it.
+     * Before the file is touched, a new epoch is installed which lays the bytes being replaced over the file, so
+     * cursors opened during the write still see the old version. Once every reader from before that epoch has
+     * finished, the ranges are written, and a final epoch with nothing laid over the file is swapped in, so the new
+     * version becomes visible all at once. Cached pages and indexes are brought up to date along the way.
+     * @param ranges The ranges to be written, keyed by offset
+     * @param writer Writes the ranges to the file
+     */
+    void commit(Map<Long, byte[]> ranges, Writer writer) throws IOException {
+        synchronized(writeLock) {
+            // An interrupted journaled write is finished first, so it can never be replayed over this one later
+            Journal.recover(file.toPath(), this::install);
+            install(ranges, writer);
+        }
+    }
+
+    /**
+     * Carry out a commit, while holding the write lock
+     * @param ranges The ranges to be written, keyed by offset
+     * @param writer Writes the ranges to the file
+     */
+    private void install(Map<Long, byte[]> ranges, Writer writer) throws IOException {
+        Epoch before = epoch.get();
+        Epoch writing = new Epoch(readOriginals(ranges), before);
+        epoch.set(writing);
+        try {
+            before.awaitReaders();
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                writer.write(channel);
+            }
+        } finally {
+            if(cache != null) {
+                for(Map.Entry<Long, byte[]> range : ranges.entrySet()) {
+                    cache.invalidate(getCacheKey(), range.getKey(), range.getKey() + range.getValue().length);
+                }
+            }
+            epoch.set(new Epoch(null, writing));
+        }
+        PointerIndex index = pointers;
+        if(index != null) {
+            index.update(this, ranges);
+        }
+    }
+
+    /**
+     * Read the bytes a set of ranges will replace, as they are on disk now
+     * @param ranges The ranges to be written, keyed by offset
+     * @return The bytes they replace. Bytes past the end of the file are left out
+     */
+    private ChangeSet readOriginals(Map<Long, byte[]> ranges) throws IOException {
+        ChangeSet originals = new ChangeSet();
+        long size = file.length();
+        try (RomCursor cursor = openFile()) {
+            for(Map.Entry<Long, byte[]> range : ranges.entrySet()) {
+                long end = Math.min(size, range.getKey() + range.getValue().length);
+                if(range.getKey() < end) {
+                    byte[] original = new byte[(int)(end - range.getKey())];
+                    cursor.seek(range.getKey());
+                    cursor.readFully(original);
+                    originals.put(range.getKey(), original);
+                }
+            }
+        }
+        return originals;
+    }
+
+    /**
+     * Write an array to a channel at a position, without moving the channel
+     * @param channel The channel to write to
+     * @param position The position to write at
+     * @param bites The bytes to write
+     */
+    static void writeRange(FileChannel channel, long position, byte[] bites) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bites);
+        while(buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * The key this file's pages are stored under in a page cache
+     * @return The normalized, absolute path of the file
+     */
+    Path getCacheKey() {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * The actual writing half of a commit
+     */
+    @FunctionalInterface
+    interface Writer {
+        /**
+         * Write changes to the ROM
+         * @param channel A channel open for writing to the ROM
+         */
+        void write(FileChannel channel) throws IOException;
+    }
+
+    private byte[] loadPage(long position, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return CachedCursor.load(channel, position, length);
+        }
+    }
+
+    /**
+     * Closes an asynchronous channel once the GBAFile it belongs to is gone.
+     * This must not refer back to the GBAFile, or it would never become unreachable.
+     */
+    private static class ChannelCloser implements Runnable {
+        private final AsynchronousFileChannel channel;
+
+        ChannelCloser(AsynchronousFileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void run() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing is left to read through it
+            }
+        }
     }
 }
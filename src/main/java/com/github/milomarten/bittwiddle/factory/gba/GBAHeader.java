@@ -1,13 +1,24 @@
 package com.github.milomarten.bittwiddle.factory.gba;
 
 import com.github.milomarten.bittwiddle.model.UnsignedByte;
+import com.github.milomarten.bittwiddle.model.UnsignedByteArray;
 import com.github.milomarten.bittwiddle.model.UnsignedWord;
 import lombok.Data;
 
 @Data
 public class GBAHeader {
+    /**
+     * The offset of the first byte covered by the complement check
+     */
+    public static final int CHECKED_START = 0xA0;
+
+    /**
+     * The offset of the complement check, which is also the end of the bytes it covers
+     */
+    public static final int COMPLEMENT_CHECK_OFFSET = 0xBD;
+
     private UnsignedWord entryPoint;
-    private UnsignedByte[] logo;
+    private UnsignedByteArray logo;
     private String title;
     private String gameCode;
     private String makerCode;
@@ -16,4 +27,17 @@ public class GBAHeader {
     private UnsignedByte deviceType;
     private UnsignedByte softwareVersion;
     private UnsignedByte complementCheck;
+
+    /**
+     * Compute the complement check of a header
+     * @param header The bytes of the header, from the start of the ROM through at least 0xBC
+     * @return The complement check, which makes the checked bytes plus 0x19 plus the check sum to zero
+     */
+    public static UnsignedByte computeComplementCheck(byte[] header) {
+        int sum = 0;
+        for(int i = CHECKED_START; i < COMPLEMENT_CHECK_OFFSET; i++) {
+            sum += header[i];
+        }
+        return UnsignedByte.from(-(sum + 0x19) & 0xFF);
+    }
 }
@@ -0,0 +1,216 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.NoSuchFileException;
+import com.github.milomarten.bittwiddle.operation.ReadOp;
+import com.github.milomarten.bittwiddle.operation.WriteOp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A mutable, in-memory view over a ROM, which never modifies the ROM itself.
+ * Writes are copied into sparse pages which shadow the base ROM; any page which has not been written to is read from
+ * the base. Any number of overlays can be made over one base ROM, and each only holds the pages it has changed.
+ */
+public class GBAOverlay {
+    /**
+     * The size of a page of changes, in bytes
+     */
+    public static final int PAGE_SIZE = 4096;
+
+    private final GBAFile base;
+    private final Map<Long, byte[]> pages;
+    private long size;
+
+    /**
+     * The changes in this overlay, as laid over the base ROM by its cursors
+     */
+    private final Layer layer = new Layer() {
+        @Override
+        public void overlay(long offset, byte[] bites, int index, int length) {
+            GBAOverlay.this.overlay(offset, bites, index, length);
+        }
+
+        @Override
+        public long end() {
+            synchronized(GBAOverlay.this) {
+                return size;
+            }
+        }
+    };
+
+    GBAOverlay(GBAFile base) {
+        this.base = base;
+        this.pages = new HashMap<>();
+        this.size = base.getFile().length();
+    }
+
+    public ReadOp read() {
+        return new GBARead(this::open);
+    }
+
+    public ReadOp read(long offset) {
+        return new GBARead(this::open, offset);
+    }
+
+    /**
+     * Start a batch of writes at the start of the overlay.
+     * The base ROM is never changed; applying the batch only changes this overlay.
+     * @return Operations object for staging writes
+     */
+    public WriteOp write() {
+        return new GBAWrite(this::open, this::write);
+    }
+
+    /**
+     * Start a batch of writes at an offset in the overlay.
+     * The base ROM is never changed; applying the batch only changes this overlay.
+     * @param offset The offset to start at
+     * @return Operations object for staging writes
+     */
+    public WriteOp write(long offset) {
+        return new GBAWrite(this::open, this::write, offset);
+    }
+
+    /**
+     * Get the number of pages which have been written to
+     * @return The number of pages held by this overlay
+     */
+    public synchronized int getDirtyPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Throw away every change made in this overlay
+     */
+    public synchronized void discard() {
+        pages.clear();
+        size = base.getFile().length();
+    }
+
+    /**
+     * Write the base ROM, with every change in this overlay, to a new file.
+     * Unchanged pages are transferred directly from the base file, so only changed pages pass through memory.
+     * @param target The file to write to. If it already exists, it is overwritten
+     */
+    public synchronized void commit(Path target) {
+        try (FileChannel in = FileChannel.open(base.getFile().toPath(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long baseSize = in.size();
+            long position = 0;
+            while(position < size) {
+                long pageIndex = position / PAGE_SIZE;
+                // Never run past the page position is in, since the next page may be dirty
+                long end = Math.min(size, (pageIndex + 1) * PAGE_SIZE);
+                byte[] page = pages.get(pageIndex);
+                if(page != null) {
+                    int offset = (int)(position % PAGE_SIZE);
+                    writeFully(out, ByteBuffer.wrap(page, offset, (int)(end - position)).slice(), position);
+                } else if(position >= baseSize) {
+                    // Written past the end of the base ROM, but not on this page
+                    writeFully(out, ByteBuffer.allocate((int)(end - position)), position);
+                } else {
+                    // Transfer the whole run of clean pages at once, stopping at the end of the base ROM
+                    end = Math.min(end, baseSize);
+                    while(end < size && end < baseSize && !pages.containsKey(end / PAGE_SIZE)) {
+                        end = Math.min(baseSize, end + PAGE_SIZE);
+                    }
+                    out.position(position);
+                    for(long transferred = position; transferred < end; ) {
+                        transferred += in.transferTo(transferred, end - transferred, out);
+                    }
+                }
+                position = end;
+            }
+        } catch (IOException e) {
+            throw new NoSuchFileException(e);
+        }
+    }
+
+    /**
+     * Open a cursor over the base ROM, with the changes in this overlay laid over it
+     * @return A cursor, which must be closed by the caller
+     */
+    RomCursor open() throws IOException {
+        return new OverlayCursor(base.open(), layer);
+    }
+
+    /**
+     * Copy a set of changes into this overlay
+     * @param changes The changes to copy
+     */
+    synchronized void write(ChangeSet changes) throws IOException {
+        for(Map.Entry<Long, byte[]> range : changes.getRanges().entrySet()) {
+            long offset = range.getKey();
+            byte[] bites = range.getValue();
+            int index = 0;
+            while(index < bites.length) {
+                long position = offset + index;
+                byte[] page = getOrCopyPage(position / PAGE_SIZE);
+                int pageOffset = (int)(position % PAGE_SIZE);
+                int count = Math.min(bites.length - index, PAGE_SIZE - pageOffset);
+                System.arraycopy(bites, index, page, pageOffset, count);
+                index += count;
+            }
+            size = Math.max(size, offset + bites.length);
+        }
+    }
+
+    /**
+     * Copy any bytes changed in this overlay over part of an array, which was read from the base ROM
+     * @param offset The offset in ROM the array was read from
+     * @param bites The array to patch
+     * @param index The index in the array which corresponds to offset
+     * @param length The number of bytes of the array to patch
+     */
+    synchronized void overlay(long offset, byte[] bites, int index, int length) {
+        if(pages.isEmpty()) {
+            return;
+        }
+        long end = offset + length;
+        for(long pageIndex = offset / PAGE_SIZE; pageIndex * PAGE_SIZE < end; pageIndex++) {
+            byte[] page = pages.get(pageIndex);
+            if(page != null) {
+                long pageStart = pageIndex * PAGE_SIZE;
+                long copyStart = Math.max(pageStart, offset);
+                long copyEnd = Math.min(pageStart + PAGE_SIZE, end);
+                System.arraycopy(page, (int)(copyStart - pageStart), bites, index + (int)(copyStart - offset),
+                        (int)(copyEnd - copyStart));
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Get a changed page, copying it from the base ROM the first time it is changed
+     * @param index The index of the page
+     * @return The page
+     */
+    private byte[] getOrCopyPage(long index) throws IOException {
+        byte[] page = pages.get(index);
+        if(page == null) {
+            page = new byte[PAGE_SIZE];
+            try (RomCursor cursor = base.open()) {
+                cursor.seek(index * PAGE_SIZE);
+                int read = 0;
+                int count;
+                while(read < PAGE_SIZE && (count = cursor.read(page, read, PAGE_SIZE - read)) > 0) {
+                    read += count;
+                }
+            }
+            pages.put(index, page);
+        }
+        return page;
+    }
+}
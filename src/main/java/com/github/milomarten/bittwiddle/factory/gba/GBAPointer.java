@@ -13,19 +13,21 @@ public class GBAPointer {
 
         @Override
         public GBAPointer read(byte[] bites) {
-            Bank bank = Bank.byByte(bites[0]);
-            int offset = (bites[1] << 16) | (bites[2] << 8) | bites[3];
+            int word = GBAFile.ARCHITECTURE.decodeInt(bites, 0);
+            Bank bank = Bank.byByte((byte)(word >>> 24));
+            int offset = word & bank.offsetMask;
             return new GBAPointer(bank, offset);
         }
 
         @Override
         public byte[] write(GBAPointer object) {
-            return new byte[] {
-                    object.bank.bite,
-                    (byte)(object.offset >>> 16),
-                    (byte)(object.offset >>> 8),
-                    (byte)(object.offset)
-            };
+            if((object.offset & ~object.bank.offsetMask) != 0) {
+                throw new InvalidPointerException("Offset " + Integer.toHexString(object.offset) + " is outside bank " +
+                        object.bank);
+            }
+            byte[] bites = new byte[numberOfBytes()];
+            GBAFile.ARCHITECTURE.encodeInt(bites, 0, (object.bank.bite << 24) | object.offset);
+            return bites;
         }
     };
 
@@ -33,7 +35,9 @@ public class GBAPointer {
     private final int offset;
 
     /**
-     * The Memory Bank this pointer points to
+     * The Memory Bank this pointer points to.
+     * ROM spans two banks, 0x08 and 0x09, so a ROM pointer's offset has 25 bits and can reach the full 32MB. Pointers
+     * into the second half are read as ROM with an offset past 16MB, and written back with the 0x09 bank byte.
      */
     public enum Bank {
         BIOS(0),
@@ -43,18 +47,33 @@ public class GBAPointer {
         PALETTE(5),
         VRAM(6),
         OAM(7),
-        ROM(8),
+        ROM(8, 0x1FFFFFF),
         SRAM(14);
 
         byte bite;
+        int offsetMask;
 
         Bank(int bite) {
+            this(bite, 0xFFFFFF);
+        }
+
+        Bank(int bite, int offsetMask) {
             this.bite = (byte)bite;
+            this.offsetMask = offsetMask;
+        }
+
+        /**
+         * Check if a bank byte points into this bank, including any mirrors the bank's offset spills into
+         * @param bite The top byte of a pointer
+         * @return True if the pointer is in this bank
+         */
+        boolean contains(int bite) {
+            return (bite & ~(offsetMask >>> 24) & 0xFF) == this.bite;
         }
 
         public static Bank byByte(byte bite) {
             for(Bank b : Bank.values()) {
-                if(b.bite == bite) {
+                if(b.contains(bite)) {
                     return b;
                 }
             }
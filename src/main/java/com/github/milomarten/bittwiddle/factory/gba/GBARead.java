@@ -7,64 +7,63 @@ import com.github.milomarten.bittwiddle.operation.DynamicByteParser;
 import com.github.milomarten.bittwiddle.operation.ReadOp;
 import com.github.milomarten.bittwiddle.operation.StaticByteParser;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 
 public class GBARead implements ReadOp {
-    public GBAFile handler;
-    public Pipe steps;
+    protected final RomSource source;
+    protected final Chain chain;
 
-    GBARead(GBAFile file) {
-        this.handler = file;
-        this.steps = Empty.INSTANCE;
+    GBARead(RomSource source) {
+        this(source, Chain.START);
     }
 
-    GBARead(GBAFile file, long offset) {
-        this.handler = file;
-        this.steps = raf -> raf.seek(offset);
+    GBARead(RomSource source, long offset) {
+        this(source, Chain.at(offset));
     }
 
-    GBARead(GBAFile file, Pipe steps) {
-        this.handler = file;
-        this.steps = steps;
+    GBARead(RomSource source, Chain chain) {
+        this.source = source;
+        this.chain = chain;
     }
 
-    protected <T> T doTerminalAction(CheckedFunction<RandomAccessFile, T> retriever) {
-        try {
-            RandomAccessFile raf = new RandomAccessFile(handler.getFile(), "r");
-            steps.apply(raf);
-            T object = retriever.apply(raf);
-            raf.close();
-            return object;
+    protected <T> T doTerminalAction(CheckedFunction<RomCursor, T> retriever) {
+        try (RomCursor cursor = source.open()) {
+            chain.resolve(cursor);
+            return retriever.apply(cursor);
         } catch (Exception e) {
             throw new OutOfFileException(e);
         }
     }
 
+    protected <T> CompletableFuture<T> doAsyncTerminalAction(int length, CheckedFunction<RomCursor, T> retriever) {
+        return chain.resolveAsync(source)
+                .thenCompose(position -> source.readAsync(position, length))
+                .thenApply(buffer -> {
+                    try {
+                        return retriever.apply(new BufferCursor(buffer));
+                    } catch (Exception e) {
+                        throw new OutOfFileException(e);
+                    }
+                });
+    }
+
     @Override
     public ReadOp advance(int n) {
-        Pipe nextStep = steps.then(file -> file.skipBytes(n));
-        return new GBARead(this.handler, nextStep);
+        return new GBARead(this.source, chain.advance(n));
     }
 
     @Override
     public ReadOp follow() {
-        Pipe nextStep = steps.then(file -> {
-            byte[] bites = new byte[GBAPointer.PARSER.numberOfBytes()];
-            file.read(bites);
-            GBAPointer p = GBAPointer.PARSER.read(bites);
-            if(p.getBank() == GBAPointer.Bank.ROM) {
-                file.seek(p.getOffset());
-            }
-            throw new InvalidPointerException("Pointer " + p + " does not point to ROM memory");
-        });
-        return new GBARead(this.handler, nextStep);
+        return new GBARead(this.source, chain.follow());
     }
 
     @Override
     public Bit bit(int index) {
-        return null;
+        int shift = Math.floorMod(index, Byte.SIZE);
+        GBARead at = new GBARead(this.source, chain.advance(Math.floorDiv(index, Byte.SIZE)));
+        return at.doTerminalAction(raf -> Bit.from(((raf.readUnsignedByte() >>> shift) & 1) != 0));
     }
 
     @Override
@@ -79,22 +78,63 @@ public class GBARead implements ReadOp {
 
     @Override
     public SignedShort signedShort() {
-        return doTerminalAction(raf -> SignedShort.from(raf.readShort()));
+        return doTerminalAction(raf -> SignedShort.from(raf.readShort(GBAFile.ARCHITECTURE)));
     }
 
     @Override
     public UnsignedShort unsignedShort() {
-        return doTerminalAction(raf -> UnsignedShort.from(raf.readUnsignedShort()));
+        return doTerminalAction(raf -> UnsignedShort.from(Short.toUnsignedInt(raf.readShort(GBAFile.ARCHITECTURE))));
     }
 
     @Override
     public SignedWord signedWord() {
-        return doTerminalAction(raf -> SignedWord.from(raf.readInt()));
+        return doTerminalAction(raf -> SignedWord.from(raf.readInt(GBAFile.ARCHITECTURE)));
     }
 
     @Override
     public UnsignedWord unsignedWord() {
-        return doTerminalAction(raf -> UnsignedWord.from(Integer.toUnsignedLong(raf.readInt())));
+        return doTerminalAction(raf -> UnsignedWord.from(Integer.toUnsignedLong(raf.readInt(GBAFile.ARCHITECTURE))));
+    }
+
+    @Override
+    public byte[] unsignedBytes(int n) {
+        return doTerminalAction(raf -> {
+            byte[] bites = new byte[n];
+            raf.readFully(bites);
+            return bites;
+        });
+    }
+
+    @Override
+    public BitVector bits(int n) {
+        return doTerminalAction(raf -> {
+            byte[] bites = new byte[(int)(((long)n + Byte.SIZE - 1) / Byte.SIZE)];
+            raf.readFully(bites);
+            return BitVector.fromBytes(bites, n);
+        });
+    }
+
+    @Override
+    public short[] unsignedShorts(int n) {
+        return doTerminalAction(raf -> {
+            short[] shorts = new short[n];
+            raf.readShorts(shorts, GBAFile.ARCHITECTURE);
+            return shorts;
+        });
+    }
+
+    @Override
+    public int[] unsignedWords(int n) {
+        return doTerminalAction(raf -> {
+            int[] words = new int[n];
+            raf.readInts(words, GBAFile.ARCHITECTURE);
+            return words;
+        });
+    }
+
+    @Override
+    public ByteBuffer slice(int length) {
+        return doTerminalAction(raf -> raf.slice(length).order(GBAFile.ARCHITECTURE.getByteOrder()));
     }
 
     @Override
@@ -111,66 +151,137 @@ public class GBARead implements ReadOp {
 
     @Override
     public <T> T get(DynamicByteParser<T> parser) {
-        try {
-            Naive naive = new Naive(this.handler, this.steps);
-            T object = parser.read(naive);
-            naive.close();
-            return object;
+        try (RomCursor cursor = source.open().buffered()) {
+            try {
+                chain.resolve(cursor);
+            } catch (IOException e) {
+                throw new OutOfFileException(e);
+            }
+            return parser.read(new Streaming(this.source, cursor));
         } catch (IOException e) {
             throw new NoSuchFileException(e);
         }
     }
 
-    private interface Pipe {
-        void apply(RandomAccessFile file) throws Exception;
+    @Override
+    public CompletableFuture<SignedByte> signedByteAsync() {
+        return doAsyncTerminalAction(Byte.BYTES, raf -> SignedByte.from(raf.readByte()));
+    }
 
-        default Pipe then(Pipe after) {
-            Pipe me = this;
-            return file -> {
-                me.apply(file);
-                after.apply(file);
-            };
-        }
+    @Override
+    public CompletableFuture<UnsignedByte> unsignedByteAsync() {
+        return doAsyncTerminalAction(Byte.BYTES, raf -> UnsignedByte.from(raf.readUnsignedByte()));
     }
 
-    private enum Empty implements Pipe {
-        INSTANCE;
+    @Override
+    public CompletableFuture<SignedShort> signedShortAsync() {
+        return doAsyncTerminalAction(Short.BYTES, raf -> SignedShort.from(raf.readShort(GBAFile.ARCHITECTURE)));
+    }
 
-        @Override
-        public void apply(RandomAccessFile file) throws Exception {
-            // Do nothing
-        }
+    @Override
+    public CompletableFuture<UnsignedShort> unsignedShortAsync() {
+        return doAsyncTerminalAction(Short.BYTES, raf -> UnsignedShort.from(Short.toUnsignedInt(raf.readShort(GBAFile.ARCHITECTURE))));
+    }
 
-        @Override
-        public Pipe then(Pipe after) {
-            return after;
-        }
+    @Override
+    public CompletableFuture<SignedWord> signedWordAsync() {
+        return doAsyncTerminalAction(Integer.BYTES, raf -> SignedWord.from(raf.readInt(GBAFile.ARCHITECTURE)));
+    }
+
+    @Override
+    public CompletableFuture<UnsignedWord> unsignedWordAsync() {
+        return doAsyncTerminalAction(Integer.BYTES, raf -> UnsignedWord.from(Integer.toUnsignedLong(raf.readInt(GBAFile.ARCHITECTURE))));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(StaticByteParser<T> parser) {
+        return doAsyncTerminalAction(parser.numberOfBytes(), raf -> {
+            byte[] bites = new byte[parser.numberOfBytes()];
+            raf.readFully(bites);
+            return parser.read(bites);
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(DynamicByteParser<T> parser) {
+        // How much a dynamic parser reads is not known up front, so it streams through a cursor on a blocking thread
+        return AsyncReads.blocking(() -> get(parser));
     }
 
     private interface CheckedFunction<T, R> {
         R apply(T input) throws Exception;
     }
 
-    private static class Naive extends GBARead {
-        private final RandomAccessFile raf;
+    /**
+     * A ReadOp which consumes the ROM sequentially, for dynamic parsing.
+     * The cursor is positioned once, and each terminal action reads from where the last one left off. Single bits are
+     * the exception: like bits staged by a streaming write, they are found relative to where the stream is, without
+     * moving it, so several bits of the same flags can be read before advancing past them.
+     */
+    private static class Streaming extends GBARead {
+        private final RomCursor cursor;
 
-        Naive(GBAFile file, Pipe steps) throws FileNotFoundException {
-            super(null, steps);
-            raf = new RandomAccessFile(file.getFile(), "r");
+        Streaming(RomSource source, RomCursor cursor) {
+            super(source, Chain.START);
+            this.cursor = cursor;
         }
 
         @Override
-        protected <T> T doTerminalAction(CheckedFunction<RandomAccessFile, T> retriever) {
+        protected <T> T doTerminalAction(CheckedFunction<RomCursor, T> retriever) {
             try {
-                steps.apply(raf);
-                return retriever.apply(raf);
+                return retriever.apply(cursor);
             } catch (Exception e) {
                 throw new OutOfFileException(e);
             }
         }
 
-        public void close() throws IOException {
-            raf.close();
+        @Override
+        protected <T> CompletableFuture<T> doAsyncTerminalAction(int length, CheckedFunction<RomCursor, T> retriever) {
+            // The stream is already positioned, and reads from memory or its read-ahead window
+            try {
+                return CompletableFuture.completedFuture(doTerminalAction(retriever));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        @Override
+        public Bit bit(int index) {
+            int shift = Math.floorMod(index, Byte.SIZE);
+            return doTerminalAction(raf -> {
+                long position = raf.position();
+                raf.seek(position + Math.floorDiv(index, Byte.SIZE));
+                int bite = raf.readUnsignedByte();
+                raf.seek(position);
+                return Bit.from(((bite >>> shift) & 1) != 0);
+            });
+        }
+
+        @Override
+        public ReadOp advance(int n) {
+            doTerminalAction(raf -> raf.skipBytes(n));
+            return this;
+        }
+
+        @Override
+        public ReadOp follow() {
+            long target = doTerminalAction(Chain::readPointer);
+            return new GBARead(this.source, Chain.at(target));
+        }
+
+        @Override
+        public <T> T get(DynamicByteParser<T> parser) {
+            return parser.read(this);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> getAsync(DynamicByteParser<T> parser) {
+            // Must run in order with the rest of the stream, so this is done immediately
+            try {
+                return CompletableFuture.completedFuture(get(parser));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
         }
     }
 }
@@ -0,0 +1,126 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+import com.github.milomarten.bittwiddle.factory.PageCache;
+import com.github.milomarten.bittwiddle.operation.ReadOp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A handle on a ROM which keeps a single FileChannel open until closed.
+ * Every ReadOp created from a session reuses the same channel, rather than opening the file for each read.
+ * If the session was opened from a cached GBAFile, pages missing from the cache are loaded through the channel.
+ * ReadOps created from a session must not be used once it is closed.
+ * <p>
+ * Sessions are thread-safe. Each ReadOp tracks its own position and reads the channel positionally, so any number of
+ * threads may read through one session at once, without locking. Reads through a session see the ROM as it was when
+ * they started, even if a write to the GBAFile it was opened from is applied meanwhile.
+ */
+public class GBASession implements AutoCloseable {
+    private final GBAFile rom;
+    private final FileChannel channel;
+    private final PageCache cache;
+    private final Path path;
+    private AsynchronousFileChannel asyncChannel;
+
+    /**
+     * This session as the source of the reads made from it, kept out of the public API
+     */
+    private final RomSource source = new RomSource() {
+        @Override
+        public RomCursor open() throws IOException {
+            return GBASession.this.open();
+        }
+
+        @Override
+        public CompletableFuture<ByteBuffer> readAsync(long position, int length) {
+            return rom.readAsync(channelSource, position, length);
+        }
+    };
+
+    /**
+     * The file as it is on disk, read through this session's channels
+     */
+    private final RomSource channelSource = new RomSource() {
+        @Override
+        public RomCursor open() {
+            if(cache != null) {
+                return new CachedCursor(cache, path,
+                        (position, length) -> CachedCursor.load(channel, position, length));
+            }
+            return new ChannelCursor(channel);
+        }
+
+        @Override
+        public CompletableFuture<ByteBuffer> readAsync(long position, int length) {
+            if(cache != null) {
+                return RomSource.super.readAsync(position, length);
+            }
+            try {
+                return AsyncReads.read(getAsyncChannel(), position, length);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(new OutOfFileException(e));
+            }
+        }
+    };
+
+    GBASession(GBAFile rom, FileChannel channel, PageCache cache, Path path) {
+        this.rom = rom;
+        this.channel = channel;
+        this.cache = cache;
+        this.path = path;
+    }
+
+    /**
+     * Start reading at the beginning of the ROM
+     * @return Operations object for reading
+     */
+    public ReadOp read() {
+        return new GBARead(source);
+    }
+
+    /**
+     * Start reading at a specific offset in the ROM
+     * @param offset The offset to start at
+     * @return Operations object for reading
+     */
+    public ReadOp read(long offset) {
+        return new GBARead(source, offset);
+    }
+
+    /**
+     * Open a cursor at the start of the ROM, which reads through this session's channel.
+     * Like one opened on the GBAFile itself, the cursor sees the ROM as it was when the cursor was opened.
+     * @return A cursor, which must be closed by the caller
+     */
+    RomCursor open() throws IOException {
+        return rom.open(channelSource);
+    }
+
+    // Only opened once an asynchronous read is actually made
+    private synchronized AsynchronousFileChannel getAsyncChannel() throws IOException {
+        if(asyncChannel == null) {
+            asyncChannel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+        }
+        return asyncChannel;
+    }
+
+    /**
+     * Close the underlying channels
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        synchronized(this) {
+            if(asyncChannel != null) {
+                asyncChannel.close();
+            }
+        }
+    }
+}
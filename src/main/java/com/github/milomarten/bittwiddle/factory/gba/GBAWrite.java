@@ -0,0 +1,498 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+import com.github.milomarten.bittwiddle.model.*;
+import com.github.milomarten.bittwiddle.operation.DynamicByteParser;
+import com.github.milomarten.bittwiddle.operation.StaticByteParser;
+import com.github.milomarten.bittwiddle.operation.WriteOp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * A WriteOp which stages every change, and writes them all at once when applied.
+ * Staged changes are shared by every WriteOp derived from the same write() call. On apply, each change is carried out
+ * in the order it was staged, against a view of the ROM which already includes the changes before it. The changed
+ * ranges are then sorted and merged, and written in a single pass over the file.
+ */
+public class GBAWrite implements WriteOp {
+    protected final RomSource source;
+    protected final RomSink sink;
+    private final List<Staged> staged;
+    protected final Chain chain;
+
+    GBAWrite(RomSource source, RomSink sink) {
+        this(source, sink, Chain.START);
+    }
+
+    GBAWrite(RomSource source, RomSink sink, long offset) {
+        this(source, sink, Chain.at(offset));
+    }
+
+    GBAWrite(RomSource source, RomSink sink, Chain chain) {
+        this(source, sink, new ArrayList<>(), chain);
+    }
+
+    private GBAWrite(RomSource source, RomSink sink, List<Staged> staged, Chain chain) {
+        this.source = source;
+        this.sink = sink;
+        this.staged = staged;
+        this.chain = chain;
+    }
+
+    /**
+     * Stage an edit at this cursor
+     * @param edit The edit to carry out
+     * @return Operations object for further modification
+     */
+    protected WriteOp stage(Edit edit) {
+        staged.add(new Staged(chain, edit));
+        return this;
+    }
+
+    @Override
+    public WriteOp advance(int n) {
+        return new GBAWrite(source, sink, staged, chain.advance(n));
+    }
+
+    @Override
+    public WriteOp follow() {
+        return new GBAWrite(source, sink, staged, chain.follow());
+    }
+
+    @Override
+    public WriteOp followAndDo(Consumer<WriteOp> block) {
+        block.accept(follow());
+        return this;
+    }
+
+    @Override
+    public WriteOp setBit(int index) {
+        return stageBit(index, bits -> bits.set(index, true));
+    }
+
+    @Override
+    public WriteOp clearBit(int index) {
+        return stageBit(index, bits -> bits.set(index, false));
+    }
+
+    @Override
+    public WriteOp setBit(int index, Bit bit) {
+        return stageBit(index, bits -> bits.set(index, bit.toBoolean()));
+    }
+
+    @Override
+    public WriteOp replaceBit(int index, UnaryOperator<Bit> func) {
+        return stageBit(index, bits -> bits.replace(index, func));
+    }
+
+    /**
+     * Stage a change to a bit.
+     * If the last edit staged was to a bit in the same word at the same cursor, the change is merged into it, so the
+     * word is only read and written once.
+     * @param index The index of the bit
+     * @param change The change to make to the word's bit edit
+     * @return Operations object for further modification
+     */
+    private WriteOp stageBit(int index, Consumer<BitEdit> change) {
+        int word = Math.floorDiv(index, Integer.SIZE);
+        if(!staged.isEmpty()) {
+            Staged last = staged.get(staged.size() - 1);
+            if(last.edit instanceof BitEdit && ((BitEdit)last.edit).word == word && last.chain.equals(chain)) {
+                change.accept((BitEdit)last.edit);
+                return this;
+            }
+        }
+        BitEdit edit = new BitEdit(word);
+        change.accept(edit);
+        return stage(edit);
+    }
+
+    @Override
+    public WriteOp setSignedByte(SignedByte bite) {
+        return stage((batch, position) -> batch.putByte(position, bite.toByte()));
+    }
+
+    @Override
+    public WriteOp replaceSignedByte(UnaryOperator<SignedByte> func) {
+        return stage((batch, position) -> {
+            SignedByte old = SignedByte.from(batch.read(position, Byte.BYTES)[0]);
+            return batch.putByte(position, func.apply(old).toByte());
+        });
+    }
+
+    @Override
+    public WriteOp setUnsignedByte(UnsignedByte bite) {
+        return stage((batch, position) -> batch.putByte(position, (byte)bite.toInt()));
+    }
+
+    @Override
+    public WriteOp replaceUnsignedByte(UnaryOperator<UnsignedByte> func) {
+        return stage((batch, position) -> {
+            UnsignedByte old = UnsignedByte.from(Byte.toUnsignedInt(batch.read(position, Byte.BYTES)[0]));
+            return batch.putByte(position, (byte)func.apply(old).toInt());
+        });
+    }
+
+    @Override
+    public WriteOp setSignedShort(SignedShort shorp) {
+        return stage((batch, position) -> batch.putShort(position, shorp.toShort()));
+    }
+
+    @Override
+    public WriteOp replaceSignedShort(UnaryOperator<SignedShort> func) {
+        return stage((batch, position) -> {
+            SignedShort old = SignedShort.from(GBAFile.ARCHITECTURE.decodeShort(batch.read(position, Short.BYTES), 0));
+            return batch.putShort(position, func.apply(old).toShort());
+        });
+    }
+
+    @Override
+    public WriteOp setUnsignedShort(UnsignedShort shorp) {
+        return stage((batch, position) -> batch.putShort(position, (short)shorp.toInt()));
+    }
+
+    @Override
+    public WriteOp replaceUnsignedShort(UnaryOperator<UnsignedShort> func) {
+        return stage((batch, position) -> {
+            short value = GBAFile.ARCHITECTURE.decodeShort(batch.read(position, Short.BYTES), 0);
+            UnsignedShort old = UnsignedShort.from(Short.toUnsignedInt(value));
+            return batch.putShort(position, (short)func.apply(old).toInt());
+        });
+    }
+
+    @Override
+    public WriteOp setSignedWord(SignedWord word) {
+        return stage((batch, position) -> batch.putInt(position, word.toInt()));
+    }
+
+    @Override
+    public WriteOp replaceSignedWord(UnaryOperator<SignedWord> func) {
+        return stage((batch, position) -> {
+            SignedWord old = SignedWord.from(GBAFile.ARCHITECTURE.decodeInt(batch.read(position, Integer.BYTES), 0));
+            return batch.putInt(position, func.apply(old).toInt());
+        });
+    }
+
+    @Override
+    public WriteOp setSignedWord(UnsignedWord word) {
+        return stage((batch, position) -> batch.putInt(position, (int)word.toLong()));
+    }
+
+    @Override
+    public WriteOp replaceUnsignedWord(UnaryOperator<UnsignedWord> func) {
+        return stage((batch, position) -> {
+            int value = GBAFile.ARCHITECTURE.decodeInt(batch.read(position, Integer.BYTES), 0);
+            UnsignedWord old = UnsignedWord.from(Integer.toUnsignedLong(value));
+            return batch.putInt(position, (int)func.apply(old).toLong());
+        });
+    }
+
+    @Override
+    public <T> WriteOp set(StaticByteParser<T> parser, T object) {
+        return stage((batch, position) -> batch.put(position, parser.write(object)));
+    }
+
+    @Override
+    public <T> WriteOp replace(StaticByteParser<T> parser, UnaryOperator<T> func) {
+        return stage((batch, position) -> {
+            T old = parser.read(batch.read(position, parser.numberOfBytes()));
+            return batch.put(position, parser.write(func.apply(old)));
+        });
+    }
+
+    @Override
+    public <T> WriteOp set(DynamicByteParser<T> parser, T object) {
+        return stage((batch, position) -> {
+            Streaming stream = new Streaming(batch, position);
+            parser.write(object, stream);
+            return Math.toIntExact(stream.position - position);
+        });
+    }
+
+    @Override
+    public <T> WriteOp replace(DynamicByteParser<T> parser, UnaryOperator<T> func) {
+        return stage((batch, position) -> {
+            T old = new GBARead(batch, Chain.at(position)).get(parser);
+            Streaming stream = new Streaming(batch, position);
+            parser.write(func.apply(old), stream);
+            return Math.toIntExact(stream.position - position);
+        });
+    }
+
+    @Override
+    public void apply() throws IOException {
+        if(staged.isEmpty()) {
+            return;
+        }
+        ChangeSet changes = new ChangeSet();
+        try (Batch batch = new Batch(source, changes)) {
+            for(Staged change : staged) {
+                change.edit.apply(batch, change.chain.locate(batch.cursor));
+            }
+        }
+        updateComplementCheck(changes);
+        sink.write(changes);
+        staged.clear();
+    }
+
+    /**
+     * Keep the header's complement check correct, if any of the bytes it covers were changed.
+     * The check is adjusted by the difference the changes make to the sum of those bytes, so the rest of the header
+     * is never summed again. If the changes set the complement check themselves, or the ROM is too short to have one,
+     * it is left alone.
+     * @param changes The changes about to be written
+     */
+    private void updateComplementCheck(ChangeSet changes) throws IOException {
+        int start = GBAHeader.CHECKED_START;
+        int check = GBAHeader.COMPLEMENT_CHECK_OFFSET;
+        if(!changes.touches(start, check) || changes.touches(check, check + 1)) {
+            return;
+        }
+        // Bytes past the end of a short ROM count as zero, as they are once the changes extend it
+        byte[] original = new byte[check - start + 1];
+        int count;
+        try (RomCursor cursor = source.open()) {
+            cursor.seek(start);
+            count = Math.max(0, cursor.read(original));
+        }
+        boolean hasCheck = start + count > check;
+        if(!hasCheck && changes.end() <= check) {
+            // Too short to have a header, and the changes do not make it long enough, so there is no check to keep
+            return;
+        }
+        byte[] changed = original.clone();
+        changes.overlay(start, changed, 0, check - start);
+        if(!hasCheck) {
+            // There is no check yet to adjust, so the changes are extending the ROM into one, and it is computed whole
+            byte[] header = new byte[check];
+            System.arraycopy(changed, 0, header, start, check - start);
+            changes.put(check, new byte[]{(byte)GBAHeader.computeComplementCheck(header).toInt()});
+            return;
+        }
+        int difference = 0;
+        for(int i = 0; i < check - start; i++) {
+            difference += changed[i] - original[i];
+        }
+        changes.put(check, new byte[]{(byte)(original[check - start] - difference)});
+    }
+
+    /**
+     * A single change to the ROM, carried out when applied
+     */
+    private interface Edit {
+        /**
+         * Carry out the change
+         * @param batch The batch to read the current ROM from, and stage changed bytes in
+         * @param position The absolute position the change was made at
+         * @return The number of bytes the change covers, starting at position
+         */
+        int apply(Batch batch, long position) throws IOException;
+    }
+
+    /**
+     * Any number of changes to the bits of one word, carried out with a single read and write.
+     * Bits are numbered from the least significant bit of the first byte, so bit 8 is the least significant bit of
+     * the second byte. Bits which are set or cleared outright are folded into an AND and OR mask; bits which are
+     * replaced based on their old value are kept as steps, run in order.
+     */
+    private static class BitEdit implements Edit {
+        private final int word;
+        private final List<IntUnaryOperator> steps = new ArrayList<>();
+        private int touched = 0;
+        private int and = -1;
+        private int or = 0;
+
+        BitEdit(int word) {
+            this.word = word;
+        }
+
+        void set(int index, boolean value) {
+            int mask = 1 << Math.floorMod(index, Integer.SIZE);
+            touched |= mask;
+            and &= ~mask;
+            or = value ? or | mask : or & ~mask;
+        }
+
+        void replace(int index, UnaryOperator<Bit> func) {
+            int mask = 1 << Math.floorMod(index, Integer.SIZE);
+            touched |= mask;
+            if(and != -1 || or != 0) {
+                int stepAnd = and;
+                int stepOr = or;
+                steps.add(value -> value & stepAnd | stepOr);
+                and = -1;
+                or = 0;
+            }
+            steps.add(value -> func.apply(Bit.from((value & mask) != 0)).toBoolean() ? value | mask : value & ~mask);
+        }
+
+        @Override
+        public int apply(Batch batch, long position) throws IOException {
+            int first = Integer.numberOfTrailingZeros(touched) / Byte.SIZE;
+            int last = (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(touched)) / Byte.SIZE;
+            long start = position + (long)word * Integer.BYTES + first;
+            byte[] bites = batch.read(start, last - first + 1);
+            int value = 0;
+            for(int i = 0; i < bites.length; i++) {
+                value |= (bites[i] & 0xFF) << (Byte.SIZE * (first + i));
+            }
+            for(IntUnaryOperator step : steps) {
+                value = step.applyAsInt(value);
+            }
+            value = value & and | or;
+            for(int i = 0; i < bites.length; i++) {
+                bites[i] = (byte)(value >>> (Byte.SIZE * (first + i)));
+            }
+            batch.put(start, bites);
+            return 0;
+        }
+    }
+
+    private static class Staged {
+        private final Chain chain;
+        private final Edit edit;
+
+        Staged(Chain chain, Edit edit) {
+            this.chain = chain;
+            this.edit = edit;
+        }
+    }
+
+    /**
+     * The state of a write as it is applied.
+     * Reads made through a batch see every change staged in it so far.
+     */
+    private static class Batch implements RomSource, AutoCloseable {
+        private final RomSource source;
+        private final ChangeSet changes;
+        private final RomCursor cursor;
+
+        Batch(RomSource source, ChangeSet changes) throws IOException {
+            this.source = source;
+            this.changes = changes;
+            this.cursor = open();
+        }
+
+        @Override
+        public RomCursor open() throws IOException {
+            return new OverlayCursor(source.open(), changes);
+        }
+
+        byte[] read(long position, int length) throws IOException {
+            byte[] bites = new byte[length];
+            cursor.seek(position);
+            cursor.readFully(bites);
+            return bites;
+        }
+
+        int put(long position, byte[] bites) {
+            changes.put(position, bites);
+            return bites.length;
+        }
+
+        int putByte(long position, byte value) {
+            return put(position, new byte[]{value});
+        }
+
+        int putShort(long position, short value) {
+            byte[] bites = new byte[Short.BYTES];
+            GBAFile.ARCHITECTURE.encodeShort(bites, 0, value);
+            return put(position, bites);
+        }
+
+        int putInt(long position, int value) {
+            byte[] bites = new byte[Integer.BYTES];
+            GBAFile.ARCHITECTURE.encodeInt(bites, 0, value);
+            return put(position, bites);
+        }
+
+        @Override
+        public void close() throws IOException {
+            cursor.close();
+        }
+    }
+
+    /**
+     * A WriteOp which carries out changes immediately, as part of a batch being applied.
+     * Used to write objects with a dynamic parser.
+     */
+    private static class Immediate extends GBAWrite {
+        protected final Batch batch;
+
+        Immediate(Batch batch, Chain chain) {
+            super(batch, null, chain);
+            this.batch = batch;
+        }
+
+        @Override
+        protected WriteOp stage(Edit edit) {
+            try {
+                edit.apply(batch, chain.locate(batch.cursor));
+            } catch (IOException e) {
+                throw new OutOfFileException(e);
+            }
+            return this;
+        }
+
+        @Override
+        public WriteOp advance(int n) {
+            return new Immediate(batch, chain.advance(n));
+        }
+
+        @Override
+        public WriteOp follow() {
+            return new Immediate(batch, chain.follow());
+        }
+
+        @Override
+        public void apply() {
+            // Changes are part of the enclosing batch, which is written once it has been applied
+        }
+    }
+
+    /**
+     * A WriteOp which writes sequentially, for dynamic parsing.
+     * Each change advances past the bytes it wrote, so the next change is made directly after it.
+     */
+    private static class Streaming extends Immediate {
+        private long position;
+
+        Streaming(Batch batch, long position) {
+            super(batch, Chain.at(position));
+            this.position = position;
+        }
+
+        @Override
+        protected WriteOp stage(Edit edit) {
+            try {
+                position += edit.apply(batch, position);
+            } catch (IOException e) {
+                throw new OutOfFileException(e);
+            }
+            return this;
+        }
+
+        @Override
+        public WriteOp advance(int n) {
+            position += n;
+            return this;
+        }
+
+        @Override
+        public WriteOp follow() {
+            try {
+                batch.cursor.seek(position);
+                long target = Chain.readPointer(batch.cursor);
+                position += Integer.BYTES;
+                return new Immediate(batch, Chain.at(target));
+            } catch (IOException e) {
+                throw new OutOfFileException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A record of one apply, kept in a file beside the ROM while the apply is in progress.
+ * The journal holds every changed range, along with the bytes it replaces, and ends in a checksum. A journal is only
+ * acted on if its checksum matches, so a journal which was itself cut short is ignored.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class Journal {
+    private static final int MAGIC = 0x42544A31;
+
+    private final long originalSize;
+    private final NavigableMap<Long, byte[]> changes;
+    private final NavigableMap<Long, byte[]> originals;
+
+    /**
+     * Get the journal file for a ROM
+     * @param rom The ROM file
+     * @return The path of its journal, which may not exist
+     */
+    static Path pathFor(Path rom) {
+        return rom.resolveSibling(rom.getFileName() + ".journal");
+    }
+
+    /**
+     * Create a journal for a set of changes, reading the bytes they replace
+     * @param rom The ROM being changed
+     * @param changes The changes to make, which must not overlap
+     * @return The journal
+     */
+    static Journal of(GBAFile rom, NavigableMap<Long, byte[]> changes) throws IOException {
+        long originalSize = rom.getFile().length();
+        NavigableMap<Long, byte[]> originals = new TreeMap<>();
+        try (RomCursor cursor = rom.open()) {
+            for(Map.Entry<Long, byte[]> range : changes.entrySet()) {
+                long end = Math.min(originalSize, range.getKey() + range.getValue().length);
+                if(range.getKey() < end) {
+                    byte[] original = new byte[(int)(end - range.getKey())];
+                    cursor.seek(range.getKey());
+                    cursor.readFully(original);
+                    originals.put(range.getKey(), original);
+                }
+            }
+        }
+        return new Journal(originalSize, changes, originals);
+    }
+
+    /**
+     * Open a journal file for an apply, and lock it.
+     * While the lock is held, recover() leaves the journal alone, even from another GBAFile or process. Closing the
+     * channel releases the lock.
+     * @param path The journal file
+     * @return The locked channel
+     */
+    static FileChannel openLocked(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Write this journal to disk, and wait until it is durable
+     * @param path The journal file
+     */
+    void save(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            save(channel);
+        }
+    }
+
+    /**
+     * Write this journal to an open journal file, and wait until it is durable
+     * @param channel The journal file
+     */
+    void save(FileChannel channel) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bytes, crc))) {
+            out.writeInt(MAGIC);
+            out.writeLong(originalSize);
+            writeRanges(out, changes);
+            writeRanges(out, originals);
+            out.flush();
+            bytes.write(ByteBuffer.allocate(Integer.BYTES).putInt((int)crc.getValue()).array());
+        }
+        channel.truncate(0);
+        GBAFile.writeRange(channel, 0, bytes.toByteArray());
+        channel.force(true);
+    }
+
+    /**
+     * Read a journal from disk
+     * @param path The journal file
+     * @return The journal, or null if there is no journal, or it was not completely written
+     */
+    static Journal load(Path path) throws IOException {
+        if(!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return load(channel);
+        }
+    }
+
+    /**
+     * Read a journal from an open journal file
+     * @param channel The journal file
+     * @return The journal, or null if it was not completely written
+     */
+    static Journal load(FileChannel channel) throws IOException {
+        if(channel.size() < Integer.BYTES) {
+            return null;
+        }
+        byte[] bites = new byte[Math.toIntExact(channel.size())];
+        ByteBuffer buffer = ByteBuffer.wrap(bites);
+        while(buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // Keep reading until the whole journal is in memory
+        }
+        int length = bites.length - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(bites, 0, length);
+        if((int)crc.getValue() != ByteBuffer.wrap(bites, length, Integer.BYTES).getInt()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bites, 0, length))) {
+            if(in.readInt() != MAGIC) {
+                return null;
+            }
+            long originalSize = in.readLong();
+            NavigableMap<Long, byte[]> changes = readRanges(in);
+            NavigableMap<Long, byte[]> originals = readRanges(in);
+            return new Journal(originalSize, changes, originals);
+        }
+    }
+
+    /**
+     * Empty an open journal file, once its apply has finished.
+     * An empty journal is the same as no journal at all, so the apply is done once this returns, even if the file is
+     * never deleted.
+     * @param channel The journal file
+     */
+    static void clear(FileChannel channel) throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+    }
+
+    /**
+     * Finish an apply which was interrupted, if there is one.
+     * An intact journal is replayed; writing the changes again is harmless if some of them were already written. A
+     * journal which was cut short is discarded, since the ROM is never touched until its journal is durable. Either
+     * way the journal file is deleted. If there is no journal, nothing is opened at all, and a journal which is locked
+     * belongs to an apply still in progress, so it is left alone.
+     * @param rom The ROM file
+     * @param replay Writes the changes of an intact journal to the ROM
+     * @return True if a journal was replayed
+     */
+    static boolean recover(Path rom, Replay replay) throws IOException {
+        Path path = pathFor(rom);
+        if(!Files.exists(path)) {
+            return false;
+        }
+        Journal journal;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock lock = tryLock(channel)) {
+            if(lock == null) {
+                return false;
+            }
+            journal = load(channel);
+            if(journal != null) {
+                replay.replay(journal.changes, romChannel -> {
+                    journal.redo(romChannel);
+                    romChannel.force(false);
+                });
+            }
+            clear(channel);
+        }
+        deleteIfEmpty(path);
+        return journal != null;
+    }
+
+    /**
+     * Delete a journal file, if it has been emptied
+     * @param path The journal file
+     */
+    static void deleteIfEmpty(Path path) throws IOException {
+        if(Files.exists(path) && Files.size(path) == 0) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Locked by another channel in this JVM
+            return null;
+        }
+    }
+
+    /**
+     * Write every change in this journal
+     * @param channel The ROM to write to
+     */
+    void redo(FileChannel channel) throws IOException {
+        RegionWriter.write(channel, changes);
+    }
+
+    /**
+     * Put back every byte this journal changes, and shrink the ROM back to its original size
+     * @param channel The ROM to write to
+     */
+    void undo(FileChannel channel) throws IOException {
+        for(Map.Entry<Long, byte[]> range : originals.entrySet()) {
+            GBAFile.writeRange(channel, range.getKey(), range.getValue());
+        }
+        channel.truncate(originalSize);
+    }
+
+    private static void writeRanges(DataOutputStream out, NavigableMap<Long, byte[]> ranges) throws IOException {
+        out.writeInt(ranges.size());
+        for(Map.Entry<Long, byte[]> range : ranges.entrySet()) {
+            out.writeLong(range.getKey());
+            out.writeInt(range.getValue().length);
+            out.write(range.getValue());
+        }
+    }
+
+    private static NavigableMap<Long, byte[]> readRanges(DataInputStream in) throws IOException {
+        NavigableMap<Long, byte[]> ranges = new TreeMap<>();
+        int count = in.readInt();
+        for(int i = 0; i < count; i++) {
+            long offset = in.readLong();
+            byte[] bites = new byte[in.readInt()];
+            in.readFully(bites);
+            ranges.put(offset, bites);
+        }
+        return ranges;
+    }
+
+    /**
+     * Writes the changes of a journal being recovered to its ROM
+     */
+    @FunctionalInterface
+    interface Replay {
+        /**
+         * Write a set of ranges to the ROM
+         * @param ranges The ranges to be written, keyed by offset
+         * @param writer Writes the ranges to the ROM
+         */
+        void replay(Map<Long, byte[]> ranges, GBAFile.Writer writer) throws IOException;
+    }
+}
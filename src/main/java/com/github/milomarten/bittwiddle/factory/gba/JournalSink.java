@@ -0,0 +1,49 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.NavigableMap;
+
+/**
+ * A sink which writes changes to a ROM through a journal, so an apply either happens completely or not at all.
+ * The journal is synced once per apply, no matter how many changes it holds.
+ */
+@AllArgsConstructor
+class JournalSink implements RomSink {
+    private final GBAFile rom;
+
+    @Override
+    public void write(ChangeSet changes) throws IOException {
+        NavigableMap<Long, byte[]> ranges = changes.coalesce();
+        Path journalPath = Journal.pathFor(rom.getFile().toPath());
+        rom.commit(ranges, channel -> {
+            Journal journal = Journal.of(rom, ranges);
+            ChecksumUpdate checksum = ChecksumUpdate.before(rom, ranges);
+            try (FileChannel journalChannel = Journal.openLocked(journalPath)) {
+                journal.save(journalChannel);
+                try {
+                    journal.redo(channel);
+                    channel.force(false);
+                } catch (IOException | RuntimeException e) {
+                    try {
+                        journal.undo(channel);
+                        channel.force(false);
+                    } catch (IOException | RuntimeException suppressed) {
+                        // Leave the journal in place, so the apply is finished by the next recovery
+                        e.addSuppressed(suppressed);
+                        throw e;
+                    }
+                    Journal.clear(journalChannel);
+                    throw e;
+                }
+                checksum.after();
+                Journal.clear(journalChannel);
+            } finally {
+                Journal.deleteIfEmpty(journalPath);
+            }
+        });
+    }
+}
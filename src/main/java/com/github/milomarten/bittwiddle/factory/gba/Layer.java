@@ -0,0 +1,21 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+/**
+ * Changed bytes which can be laid over the top of a ROM
+ */
+interface Layer {
+    /**
+     * Copy any changed bytes over part of an array, which was read from the ROM
+     * @param offset The offset in ROM the array was read from
+     * @param bites The array to patch
+     * @param index The index in the array which corresponds to offset
+     * @param length The number of bytes of the array to patch
+     */
+    void overlay(long offset, byte[] bites, int index, int length);
+
+    /**
+     * Get the end of the changed bytes, which may be past the end of the ROM
+     * @return The offset just past the last changed byte, or 0 if nothing is changed
+     */
+    long end();
+}
@@ -0,0 +1,19 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+public class NoFreeSpaceException extends RuntimeException {
+    public NoFreeSpaceException() {
+        super();
+    }
+
+    public NoFreeSpaceException(String message) {
+        super(message);
+    }
+
+    public NoFreeSpaceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public NoFreeSpaceException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.Architecture;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A cursor which reads from another cursor, with a layer of changes laid over the top.
+ * Reads see the ROM as it is with the changes applied. Where the changes go on past the end of the ROM, the bytes
+ * there are read from the changes alone, with any gaps between them read as zero.
+ */
+class OverlayCursor implements RomCursor {
+    private final RomCursor base;
+    private final Layer changes;
+    private long position;
+
+    OverlayCursor(RomCursor base, Layer changes) {
+        this.base = base;
+        this.changes = changes;
+        this.position = 0;
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        base.seek(position);
+        this.position = position;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        int skipped = base.skipBytes(n);
+        if(skipped < n) {
+            // The ROM ended, but the changes may go on past it
+            long target = Math.max(position + skipped, Math.min(position + n, changes.end()));
+            base.seek(target);
+            skipped = (int)(target - position);
+        }
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        byte[] bites = new byte[Byte.BYTES];
+        readFully(bites);
+        return bites[0];
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return Byte.toUnsignedInt(readByte());
+    }
+
+    @Override
+    public short readShort(Architecture arch) throws IOException {
+        byte[] bites = new byte[Short.BYTES];
+        readFully(bites);
+        return arch.decodeShort(bites, 0);
+    }
+
+    @Override
+    public int readInt(Architecture arch) throws IOException {
+        byte[] bites = new byte[Integer.BYTES];
+        readFully(bites);
+        return arch.decodeInt(bites, 0);
+    }
+
+    @Override
+    public void readFully(byte[] bites) throws IOException {
+        int offset = 0;
+        while(offset < bites.length) {
+            int count = read(bites, offset, bites.length - offset);
+            if(count < 0) {
+                throw new EOFException();
+            }
+            offset += count;
+        }
+    }
+
+    @Override
+    public int read(byte[] bites, int offset, int length) throws IOException {
+        if(length == 0) {
+            return 0;
+        }
+        int count = base.read(bites, offset, length);
+        if(count < 0) {
+            long remaining = changes.end() - position;
+            if(remaining <= 0) {
+                return -1;
+            }
+            count = (int)Math.min(length, remaining);
+            Arrays.fill(bites, offset, offset + count, (byte)0);
+            base.seek(position + count);
+        }
+        changes.overlay(position, bites, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        base.close();
+    }
+}
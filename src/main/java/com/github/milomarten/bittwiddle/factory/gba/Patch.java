@@ -0,0 +1,131 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The difference between a ROM and its edited version, as a list of changed ranges.
+ * Built from a change set, by reading only the original bytes under each change.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class Patch {
+    private final GBAFile source;
+    @Getter(AccessLevel.PACKAGE)
+    private final long sourceSize;
+    @Getter(AccessLevel.PACKAGE)
+    private final long targetSize;
+    private final List<Hunk> hunks;
+
+    /**
+     * Build a patch which applies a change set to a ROM
+     * @param source The ROM being changed
+     * @param changes The changes to make
+     * @return The patch
+     */
+    static Patch of(GBAFile source, ChangeSet changes) throws IOException {
+        long sourceSize = source.getFile().length();
+        long targetSize = sourceSize;
+        List<Hunk> hunks = new ArrayList<>();
+        try (RomCursor cursor = source.open()) {
+            for(Map.Entry<Long, byte[]> range : changes.coalesce().entrySet()) {
+                long offset = range.getKey();
+                byte[] changed = range.getValue();
+                hunks.add(new Hunk(offset, readOriginal(cursor, sourceSize, offset, changed.length), changed));
+                targetSize = Math.max(targetSize, offset + changed.length);
+            }
+        }
+        return new Patch(source, sourceSize, targetSize, hunks);
+    }
+
+    /**
+     * Read bytes from the unchanged ROM
+     * @param offset The offset to read from
+     * @param length The number of bytes to read
+     * @return The bytes read. Anything past the end of the ROM is zero
+     */
+    byte[] readOriginal(long offset, int length) throws IOException {
+        try (RomCursor cursor = source.open()) {
+            return readOriginal(cursor, sourceSize, offset, length);
+        }
+    }
+
+    private static byte[] readOriginal(RomCursor cursor, long sourceSize, long offset, int length) throws IOException {
+        byte[] original = new byte[length];
+        if(offset < sourceSize) {
+            cursor.seek(offset);
+            int read = 0;
+            int count;
+            while(read < length && (count = cursor.read(original, read, length - read)) > 0) {
+                read += count;
+            }
+        }
+        return original;
+    }
+
+    /**
+     * Get the CRC-32 of the unchanged ROM
+     * @return The CRC-32 of the unchanged ROM
+     */
+    int getSourceCrc() throws IOException {
+        return Checksums.crc32(source.getFile().toPath());
+    }
+
+    /**
+     * Get the CRC-32 of the edited ROM, without reading it.
+     * The source checksum is padded out to the target's size, then each changed range is folded in.
+     * @return The CRC-32 of the edited ROM
+     */
+    int getTargetCrc() throws IOException {
+        NavigableMap<Long, byte[]> deltas = new TreeMap<>();
+        for(Hunk hunk : hunks) {
+            deltas.put(hunk.getOffset(), hunk.getDelta());
+        }
+        return Checksums.update(getSourceCrc(), sourceSize, targetSize, deltas);
+    }
+
+    /**
+     * Get the changed ranges, sorted by offset. No two ranges are adjacent.
+     * @return The changed ranges
+     */
+    List<Hunk> getHunks() {
+        return Collections.unmodifiableList(hunks);
+    }
+
+    /**
+     * A single changed range
+     */
+    @AllArgsConstructor
+    static class Hunk {
+        @Getter(AccessLevel.PACKAGE)
+        private final long offset;
+        @Getter(AccessLevel.PACKAGE)
+        private final byte[] original;
+        @Getter(AccessLevel.PACKAGE)
+        private final byte[] changed;
+
+        long getEnd() {
+            return offset + changed.length;
+        }
+
+        /**
+         * Get the original bytes XOR the changed bytes
+         * @return The difference, which is zero wherever a byte was left the same
+         */
+        byte[] getDelta() {
+            byte[] delta = new byte[changed.length];
+            for(int i = 0; i < delta.length; i++) {
+                delta[i] = (byte)(original[i] ^ changed[i]);
+            }
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.Endian;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The formats a set of changes can be written out as, instead of being written to the ROM.
+ * Every format is built from the changed ranges alone; the unchanged parts of the ROM are never read.
+ */
+public enum PatchFormat {
+    /**
+     * International Patching System. Can only change the first 16 MiB of a ROM, and holds no checksums.
+     */
+    IPS {
+        @Override
+        void write(Patch patch, OutputStream out) throws IOException {
+            out.write("PATCH".getBytes(StandardCharsets.US_ASCII));
+            for(Patch.Hunk hunk : patch.getHunks()) {
+                long offset = hunk.getOffset();
+                byte[] bites = hunk.getChanged();
+                if(offset == IPS_EOF) {
+                    // A record here would be read as the end of the patch, so start a byte early and rewrite it as-is
+                    byte[] widened = new byte[bites.length + 1];
+                    widened[0] = patch.readOriginal(offset - 1, 1)[0];
+                    System.arraycopy(bites, 0, widened, 1, bites.length);
+                    bites = widened;
+                    offset--;
+                }
+                int index = 0;
+                while(index < bites.length) {
+                    int length = Math.min(IPS_MAX_LENGTH, bites.length - index);
+                    if(offset + index + length == IPS_EOF && index + length < bites.length) {
+                        length--;
+                    }
+                    long recordOffset = offset + index;
+                    if(recordOffset > IPS_MAX_OFFSET) {
+                        throw new IllegalArgumentException("IPS patches cannot change offset " + Long.toHexString(recordOffset));
+                    }
+                    out.write((int)(recordOffset >>> 16));
+                    out.write((int)(recordOffset >>> 8));
+                    out.write((int)recordOffset);
+                    out.write(length >>> 8);
+                    out.write(length);
+                    out.write(bites, index, length);
+                    index += length;
+                }
+            }
+            out.write("EOF".getBytes(StandardCharsets.US_ASCII));
+        }
+    },
+    /**
+     * Universal Patching System. Stores each change as the XOR of the old and new bytes, with checksums of the source,
+     * target, and patch.
+     */
+    UPS {
+        @Override
+        void write(Patch patch, OutputStream out) throws IOException {
+            CRC32 crc = new CRC32();
+            CheckedOutputStream checked = new CheckedOutputStream(out, crc);
+            checked.write("UPS1".getBytes(StandardCharsets.US_ASCII));
+            writeNumber(checked, patch.getSourceSize());
+            writeNumber(checked, patch.getTargetSize());
+            long position = 0;
+            for(Patch.Hunk hunk : patch.getHunks()) {
+                byte[] delta = hunk.getDelta();
+                int index = 0;
+                while(index < delta.length) {
+                    if(delta[index] == 0) {
+                        index++;
+                        continue;
+                    }
+                    int start = index;
+                    while(index < delta.length && delta[index] != 0) {
+                        index++;
+                    }
+                    // Each run ends with a zero, which also covers the unchanged byte after it
+                    writeNumber(checked, hunk.getOffset() + start - position);
+                    checked.write(delta, start, index - start);
+                    checked.write(0);
+                    position = hunk.getOffset() + index + 1;
+                }
+            }
+            writeInt(checked, patch.getSourceCrc());
+            writeInt(checked, patch.getTargetCrc());
+            writeInt(out, (int)crc.getValue());
+        }
+    },
+    /**
+     * Binary Patching System. Copies unchanged runs from the source, and stores changed runs as-is, with checksums of
+     * the source, target, and patch.
+     */
+    BPS {
+        private static final int SOURCE_READ = 0;
+        private static final int TARGET_READ = 1;
+
+        @Override
+        void write(Patch patch, OutputStream out) throws IOException {
+            CRC32 crc = new CRC32();
+            CheckedOutputStream checked = new CheckedOutputStream(out, crc);
+            checked.write("BPS1".getBytes(StandardCharsets.US_ASCII));
+            writeNumber(checked, patch.getSourceSize());
+            writeNumber(checked, patch.getTargetSize());
+            writeNumber(checked, 0);
+            long position = 0;
+            for(Patch.Hunk hunk : patch.getHunks()) {
+                writeUnchanged(checked, patch, position, hunk.getOffset());
+                writeNumber(checked, (hunk.getChanged().length - 1L) << 2 | TARGET_READ);
+                checked.write(hunk.getChanged());
+                position = hunk.getEnd();
+            }
+            writeUnchanged(checked, patch, position, patch.getTargetSize());
+            writeInt(checked, patch.getSourceCrc());
+            writeInt(checked, patch.getTargetCrc());
+            writeInt(out, (int)crc.getValue());
+        }
+
+        private void writeUnchanged(OutputStream out, Patch patch, long from, long to) throws IOException {
+            long sourceEnd = Math.min(to, patch.getSourceSize());
+            if(from < sourceEnd) {
+                writeNumber(out, (sourceEnd - from - 1) << 2 | SOURCE_READ);
+                from = sourceEnd;
+            }
+            if(from < to) {
+                // Unchanged bytes past the end of the source are zero
+                writeNumber(out, (to - from - 1) << 2 | TARGET_READ);
+                byte[] zeros = new byte[(int)Math.min(to - from, 4096)];
+                for(long remaining = to - from; remaining > 0; remaining -= zeros.length) {
+                    out.write(zeros, 0, (int)Math.min(remaining, zeros.length));
+                }
+            }
+        }
+    };
+
+    private static final int IPS_MAX_OFFSET = 0xFFFFFF;
+    private static final int IPS_MAX_LENGTH = 0xFFFF;
+    private static final int IPS_EOF = 0x454F46;
+
+    /**
+     * Write a patch in this format
+     * @param patch The patch to write
+     * @param out The stream to write to
+     */
+    abstract void write(Patch patch, OutputStream out) throws IOException;
+
+    /**
+     * Write a variable-length number, as used by UPS and BPS
+     * @param out The stream to write to
+     * @param number The number to write
+     */
+    private static void writeNumber(OutputStream out, long number) throws IOException {
+        while(true) {
+            int bits = (int)(number & 0x7F);
+            number >>>= 7;
+            if(number == 0) {
+                out.write(0x80 | bits);
+                return;
+            }
+            out.write(bits);
+            number--;
+        }
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        byte[] bites = new byte[Integer.BYTES];
+        Endian.LITTLE.encodeInt(bites, 0, value);
+        out.write(bites);
+    }
+}
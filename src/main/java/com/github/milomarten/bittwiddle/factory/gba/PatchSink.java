@@ -0,0 +1,27 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import lombok.AllArgsConstructor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A sink which writes changes out as a patch file, leaving the ROM untouched
+ */
+@AllArgsConstructor
+class PatchSink implements RomSink {
+    private final GBAFile source;
+    private final PatchFormat format;
+    private final Path target;
+
+    @Override
+    public void write(ChangeSet changes) throws IOException {
+        Patch patch = Patch.of(source, changes);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+            format.write(patch, out);
+        }
+    }
+}
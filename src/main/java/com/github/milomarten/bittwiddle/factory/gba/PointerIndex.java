@@ -0,0 +1,154 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * An index of the pointers in a ROM, from the offset pointed to, to the offsets of the pointers which point there.
+ * A pointer is any word-aligned word whose bank is ROM, and whose offset is inside the ROM. Both ROM bank bytes, 0x08
+ * and 0x09, are indexed, so pointers anywhere in a ROM of up to 32MB are found. This will pick up some
+ * data which only looks like a pointer, so the index is best used to find the pointers to an offset which is already
+ * known to be the start of something, such as a table.
+ */
+public class PointerIndex {
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final Map<Long, NavigableSet<Long>> referrers = new HashMap<>();
+    private final Map<Long, Long> targets = new HashMap<>();
+
+    private PointerIndex() {
+    }
+
+    /**
+     * Scan a ROM for pointers.
+     * The ROM is split into chunks, which are scanned in parallel on the threads set aside for blocking reads.
+     * @param rom The ROM to scan
+     * @return The index of every pointer in the ROM
+     */
+    public static PointerIndex build(GBAFile rom) {
+        long size = rom.getFile().length();
+        List<long[]> chunks;
+        try {
+            chunks = AsyncReads.parallel(Math.toIntExact((size + CHUNK_SIZE - 1) / CHUNK_SIZE), chunk -> {
+                long offset = (long)chunk * CHUNK_SIZE;
+                return scanChunk(rom, size, offset, (int)Math.min(CHUNK_SIZE, size - offset));
+            });
+        } catch (IOException e) {
+            throw new OutOfFileException(e);
+        }
+        PointerIndex index = new PointerIndex();
+        for(long[] pointers : chunks) {
+            for(int i = 0; i < pointers.length; i += 2) {
+                index.add(pointers[i], pointers[i + 1]);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Find every pointer in part of a ROM
+     * @return Pairs of the offset of each pointer, followed by the offset it points to
+     */
+    private static long[] scanChunk(GBAFile rom, long size, long offset, int length) {
+        int[] words = new int[length / Integer.BYTES];
+        try (RomCursor cursor = rom.open()) {
+            cursor.seek(offset);
+            cursor.readInts(words, GBAFile.ARCHITECTURE);
+        } catch (IOException e) {
+            throw new OutOfFileException(e);
+        }
+        long[] pointers = new long[16];
+        int count = 0;
+        for(int i = 0; i < words.length; i++) {
+            long target = decode(words[i], size);
+            if(target >= 0) {
+                if(count == pointers.length) {
+                    pointers = Arrays.copyOf(pointers, count * 2);
+                }
+                pointers[count++] = offset + (long)i * Integer.BYTES;
+                pointers[count++] = target;
+            }
+        }
+        return Arrays.copyOf(pointers, count);
+    }
+
+    /**
+     * Decode a word as a pointer into the ROM
+     * @param word The word
+     * @param size The size of the ROM
+     * @return The offset it points to, or -1 if the word is not a pointer into the ROM
+     */
+    private static long decode(int word, long size) {
+        if(!GBAPointer.Bank.ROM.contains(word >>> 24)) {
+            return -1;
+        }
+        long target = word & GBAPointer.Bank.ROM.offsetMask;
+        return target < size ? target : -1;
+    }
+
+    /**
+     * Get the pointers to an offset
+     * @param offset The offset pointed to
+     * @return The offsets of every pointer to it, in ascending order
+     */
+    public synchronized NavigableSet<Long> getReferrers(long offset) {
+        NavigableSet<Long> found = referrers.get(offset);
+        return found == null ? Collections.emptyNavigableSet() : Collections.unmodifiableNavigableSet(new TreeSet<>(found));
+    }
+
+    /**
+     * Get the number of pointers in the index
+     * @return The number of pointers
+     */
+    public synchronized int size() {
+        return targets.size();
+    }
+
+    /**
+     * Bring the index up to date after part of the ROM was written.
+     * Only the words the written ranges touch are read again.
+     * @param rom The ROM, after the write
+     * @param ranges The ranges which were written, keyed by offset
+     */
+    synchronized void update(GBAFile rom, Map<Long, byte[]> ranges) throws IOException {
+        long size = rom.getFile().length();
+        try (RomCursor cursor = rom.open()) {
+            for(Map.Entry<Long, byte[]> range : ranges.entrySet()) {
+                long first = Math.floorDiv(range.getKey(), Integer.BYTES) * Integer.BYTES;
+                long end = Math.min(size / Integer.BYTES * Integer.BYTES, range.getKey() + range.getValue().length);
+                for(long position = first; position < end; position += Integer.BYTES) {
+                    remove(position);
+                    cursor.seek(position);
+                    long target = decode(cursor.readInt(GBAFile.ARCHITECTURE), size);
+                    if(target >= 0) {
+                        add(position, target);
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(long referrer, long target) {
+        targets.put(referrer, target);
+        referrers.computeIfAbsent(target, t -> new TreeSet<>()).add(referrer);
+    }
+
+    private void remove(long referrer) {
+        Long target = targets.remove(referrer);
+        if(target != null) {
+            NavigableSet<Long> found = referrers.get(target);
+            found.remove(referrer);
+            if(found.isEmpty()) {
+                referrers.remove(target);
+            }
+        }
+    }
+}
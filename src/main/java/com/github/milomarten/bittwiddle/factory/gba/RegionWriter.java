@@ -0,0 +1,112 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a set of ranges to a file, splitting them into regions which are written in parallel, on the threads set
+ * aside for blocking file I/O.
+ * Each region covers a disjoint part of the file, and is written with positional writes, so regions never contend
+ * with each other. The ranges come from a ChangeSet, where staged edits which overlap have already been resolved in
+ * the order they were staged, so they can never conflict. Small sets of changes are written on the calling thread,
+ * since there is nothing to gain by splitting them.
+ */
+final class RegionWriter {
+    /**
+     * The number of bytes written by each task
+     */
+    static final int REGION_SIZE = 1 << 20;
+
+    private RegionWriter() {
+    }
+
+    /**
+     * Write every range to a channel, in parallel if there is enough to write
+     * @param channel The channel to write to, open for writing
+     * @param ranges The ranges to write, keyed by offset, in ascending order. Ranges must not overlap
+     */
+    static void write(FileChannel channel, Map<Long, byte[]> ranges) throws IOException {
+        List<List<Piece>> regions = partition(ranges);
+        if(regions.size() <= 1) {
+            for(List<Piece> region : regions) {
+                write(channel, region);
+            }
+            return;
+        }
+        AsyncReads.parallel(regions.size(), index -> {
+            write(channel, regions.get(index));
+            return null;
+        });
+    }
+
+    /**
+     * Split a set of ranges into regions of roughly REGION_SIZE bytes.
+     * Ranges larger than a region are cut into pieces, and runs of small ranges are grouped together, so every region
+     * costs about the same to write.
+     * @param ranges The ranges to split, keyed by offset, in ascending order. Ranges must not overlap
+     * @return The regions, each a list of pieces in ascending order
+     */
+    static List<List<Piece>> partition(Map<Long, byte[]> ranges) {
+        List<List<Piece>> regions = new ArrayList<>();
+        List<Piece> region = new ArrayList<>();
+        int regionBytes = 0;
+        for(Map.Entry<Long, byte[]> range : ranges.entrySet()) {
+            long offset = range.getKey();
+            byte[] bites = range.getValue();
+            int index = 0;
+            while(index < bites.length) {
+                int length = Math.min(bites.length - index, REGION_SIZE - regionBytes);
+                region.add(new Piece(offset + index, bites, index, length));
+                regionBytes += length;
+                index += length;
+                if(regionBytes == REGION_SIZE) {
+                    regions.add(region);
+                    region = new ArrayList<>();
+                    regionBytes = 0;
+                }
+            }
+        }
+        if(!region.isEmpty()) {
+            regions.add(region);
+        }
+        return regions;
+    }
+
+    private static void write(FileChannel channel, List<Piece> region) throws IOException {
+        for(Piece piece : region) {
+            ByteBuffer buffer = ByteBuffer.wrap(piece.bites, piece.index, piece.length);
+            while(buffer.hasRemaining()) {
+                channel.write(buffer, piece.position + buffer.position() - piece.index);
+            }
+        }
+    }
+
+    /**
+     * Part of a range, which is written by a single task
+     */
+    static class Piece {
+        private final long position;
+        private final byte[] bites;
+        private final int index;
+        private final int length;
+
+        Piece(long position, byte[] bites, int index, int length) {
+            this.position = position;
+            this.bites = bites;
+            this.index = index;
+            this.length = length;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        int getLength() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.Architecture;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A positioned view over the bytes of a ROM, used to carry out terminal actions
+ */
+interface RomCursor extends Closeable {
+    /**
+     * Move the cursor to an absolute position
+     * @param position The position to move to
+     */
+    void seek(long position) throws IOException;
+
+    /**
+     * Get the absolute position of the cursor
+     * @return The position the next read starts at
+     */
+    long position();
+
+    /**
+     * Move the cursor forward n bytes
+     * @param n The number of bytes to skip
+     * @return The number of bytes actually skipped
+     */
+    int skipBytes(int n) throws IOException;
+
+    /**
+     * Read the signed byte at the cursor, and advance past it
+     * @return The byte read
+     */
+    byte readByte() throws IOException;
+
+    /**
+     * Read the unsigned byte at the cursor, and advance past it
+     * @return The byte read, 0 to 255
+     */
+    int readUnsignedByte() throws IOException;
+
+    /**
+     * Read the short at the cursor, and advance past it
+     * @param arch The architecture to decode with
+     * @return The short read
+     */
+    short readShort(Architecture arch) throws IOException;
+
+    /**
+     * Read the int at the cursor, and advance past it
+     * @param arch The architecture to decode with
+     * @return The int read
+     */
+    int readInt(Architecture arch) throws IOException;
+
+    /**
+     * Fill the array with bytes at the cursor, and advance past them
+     * @param bites The array to fill
+     * @throws java.io.EOFException There were not enough bytes left to fill the array
+     */
+    void readFully(byte[] bites) throws IOException;
+
+    /**
+     * Fill the array with shorts at the cursor, and advance past them
+     * @param shorts The array to fill
+     * @param arch The architecture to decode with
+     */
+    default void readShorts(short[] shorts, Architecture arch) throws IOException {
+        byte[] bites = new byte[shorts.length * Short.BYTES];
+        readFully(bites);
+        ByteBuffer.wrap(bites).order(arch.getByteOrder()).asShortBuffer().get(shorts);
+    }
+
+    /**
+     * Fill the array with ints at the cursor, and advance past them
+     * @param ints The array to fill
+     * @param arch The architecture to decode with
+     */
+    default void readInts(int[] ints, Architecture arch) throws IOException {
+        byte[] bites = new byte[ints.length * Integer.BYTES];
+        readFully(bites);
+        ByteBuffer.wrap(bites).order(arch.getByteOrder()).asIntBuffer().get(ints);
+    }
+
+    /**
+     * Get a read-only view of the next length bytes, and advance past them.
+     * By default the bytes are copied; cursors over memory may return a view without copying.
+     * @param length The number of bytes in the view
+     * @return A read-only buffer over the bytes
+     */
+    default ByteBuffer slice(int length) throws IOException {
+        byte[] bites = new byte[length];
+        readFully(bites);
+        return ByteBuffer.wrap(bites).asReadOnlyBuffer();
+    }
+
+    /**
+     * Read as many bytes as possible into the array, and advance past them.
+     * Unlike read(byte[], int, int), this keeps reading until the array is full or the file ends, so a short count
+     * always means the end of the file was reached, even on cursors which stop at a page or window boundary.
+     * @param bites The array to fill
+     * @return The number of bytes read, or -1 if the cursor is at the end of the file
+     */
+    default int read(byte[] bites) throws IOException {
+        int total = 0;
+        while(total < bites.length) {
+            int count = read(bites, total, bites.length - total);
+            if(count < 0) {
+                return total == 0 ? -1 : total;
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Read up to length bytes into part of the array, and advance past them
+     * @param bites The array to fill
+     * @param offset The index of the array to start filling at
+     * @param length The maximum number of bytes to read
+     * @return The number of bytes read, which may be less than length, or -1 if the cursor is at the end of the file
+     */
+    int read(byte[] bites, int offset, int length) throws IOException;
+
+    /**
+     * Get a cursor which reads ahead from this one in large blocks, for sequential access.
+     * The returned cursor takes ownership of this one, and closes it when closed.
+     * @return A buffered cursor, or this cursor if it is already memory-backed
+     */
+    default RomCursor buffered() {
+        return new BufferedCursor(this);
+    }
+}
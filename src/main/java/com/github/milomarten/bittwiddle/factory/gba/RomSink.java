@@ -0,0 +1,14 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import java.io.IOException;
+
+/**
+ * Something which can have a set of changes written to it
+ */
+interface RomSink {
+    /**
+     * Write every change in the set, in a single ordered pass
+     * @param changes The changes to write
+     */
+    void write(ChangeSet changes) throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Something which can provide cursors over a ROM
+ */
+interface RomSource {
+    /**
+     * Open a cursor at the start of the ROM
+     * @return A cursor, which must be closed by the caller
+     */
+    RomCursor open() throws IOException;
+
+    /**
+     * Read a region of the ROM without blocking the calling thread.
+     * By default, the read is done with a regular cursor, on a thread set aside for blocking reads.
+     * @param position The position of the region
+     * @param length The length of the region
+     * @return A future completed with a buffer over the region
+     */
+    default CompletableFuture<ByteBuffer> readAsync(long position, int length) {
+        return AsyncReads.blocking(() -> {
+            try (RomCursor cursor = open()) {
+                cursor.seek(position);
+                return cursor.slice(length);
+            }
+        });
+    }
+}
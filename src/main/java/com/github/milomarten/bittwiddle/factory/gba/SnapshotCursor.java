@@ -0,0 +1,100 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.Architecture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A cursor which holds its ROM at one version until it is closed.
+ * Every read goes straight to the delegate; this only keeps the cursor counted against its epoch while it is open.
+ */
+class SnapshotCursor implements RomCursor {
+    private final RomCursor delegate;
+    private final Epoch epoch;
+    private boolean closed;
+
+    SnapshotCursor(RomCursor delegate, Epoch epoch) {
+        this.delegate = delegate;
+        this.epoch = epoch;
+        this.closed = false;
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        delegate.seek(position);
+    }
+
+    @Override
+    public long position() {
+        return delegate.position();
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        return delegate.skipBytes(n);
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return delegate.readByte();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return delegate.readUnsignedByte();
+    }
+
+    @Override
+    public short readShort(Architecture arch) throws IOException {
+        return delegate.readShort(arch);
+    }
+
+    @Override
+    public int readInt(Architecture arch) throws IOException {
+        return delegate.readInt(arch);
+    }
+
+    @Override
+    public void readFully(byte[] bites) throws IOException {
+        delegate.readFully(bites);
+    }
+
+    @Override
+    public void readShorts(short[] shorts, Architecture arch) throws IOException {
+        delegate.readShorts(shorts, arch);
+    }
+
+    @Override
+    public void readInts(int[] ints, Architecture arch) throws IOException {
+        delegate.readInts(ints, arch);
+    }
+
+    @Override
+    public ByteBuffer slice(int length) throws IOException {
+        return delegate.slice(length);
+    }
+
+    @Override
+    public int read(byte[] bites, int offset, int length) throws IOException {
+        return delegate.read(bites, offset, length);
+    }
+
+    @Override
+    public RomCursor buffered() {
+        RomCursor buffered = delegate.buffered();
+        return buffered == delegate ? this : new SnapshotCursor(buffered, epoch);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(!closed) {
+            closed = true;
+            try {
+                delegate.close();
+            } finally {
+                epoch.exit();
+            }
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.github.milomarten.bittwiddle.model;
+
+import lombok.EqualsAndHashCode;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-length vector of bits, packed 64 to a long.
+ * Bits are numbered from the least significant bit of the first byte, the same as bit indexes in ReadOp and WriteOp,
+ * so bit 8 is the least significant bit of the second byte.
+ * For rank and select, a small index is built the first time either is used, and rebuilt after the vector changes. The
+ * index counts the set bits before each block of 512 bits, so rank reads one count and at most eight words, in
+ * constant time. For select, the set bits are split into groups of 512. A group which is spread over many bits stores
+ * the index of each of its set bits outright; any other group stores the index of every 16th set bit, and again stores
+ * every index outright where those 16 are spread too far apart to scan. Either way, select reads at most two entries
+ * and a few words, in constant time, and the index stays a fraction of the size of the vector. Like the arrays of model
+ * types, a BitVector is not safe to change from several threads at once.
+ */
+@EqualsAndHashCode
+public class BitVector {
+    private static final int WORDS_PER_BLOCK = 8;
+    private static final int SELECT_SAMPLE = 512;
+    private static final int SELECT_SUBSAMPLE = 16;
+    private static final int SPARSE_SAMPLE = 1 << 16;
+    private static final int SPARSE_SUBSAMPLE = 1 << 10;
+
+    private final long[] words;
+    private final int size;
+
+    /**
+     * The rank and select index, or null if it must be built again
+     */
+    private transient RankIndex ranks;
+
+    private BitVector(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * Create a vector with every bit clear
+     * @param size The number of bits
+     * @return The created vector
+     */
+    public static BitVector allocate(int size) {
+        if(size < 0) {
+            throw new IllegalArgumentException("Size must not be negative, was " + size);
+        }
+        return new BitVector(new long[wordCount(size)], size);
+    }
+
+    /**
+     * Create a vector from bytes, such as a region read from a ROM
+     * @param bites The bytes, starting with bit 0 as the least significant bit of the first byte
+     * @param size The number of bits to take from the bytes
+     * @return The created vector
+     */
+    public static BitVector fromBytes(byte[] bites, int size) {
+        if(size < 0 || size > (long)bites.length * Byte.SIZE) {
+            throw new IllegalArgumentException("Cannot take " + size + " bits from " + bites.length + " bytes");
+        }
+        long[] words = new long[wordCount(size)];
+        int byteCount = byteCount(size);
+        for(int i = 0; i < byteCount; i++) {
+            words[i >>> 3] |= (bites[i] & 0xFFL) << ((i & 7) * Byte.SIZE);
+        }
+        if(size % Long.SIZE != 0) {
+            words[words.length - 1] &= -1L >>> -size;
+        }
+        return new BitVector(words, size);
+    }
+
+    /**
+     * Copy this vector into bytes, in the same order fromBytes takes them
+     * @return The bytes, with any bits past the end of the vector clear
+     */
+    public byte[] toByteArray() {
+        byte[] bites = new byte[byteCount(size)];
+        for(int i = 0; i < bites.length; i++) {
+            bites[i] = (byte)(words[i >>> 3] >>> ((i & 7) * Byte.SIZE));
+        }
+        return bites;
+    }
+
+    /**
+     * Get the number of bits in this vector
+     * @return The size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if a bit is set
+     * @param index The index of the bit
+     * @return True if the bit is set
+     */
+    public boolean get(int index) {
+        checkIndex(index);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Get a bit
+     * @param index The index of the bit
+     * @return The bit
+     */
+    public Bit getBit(int index) {
+        return Bit.from(get(index));
+    }
+
+    /**
+     * Set a bit
+     * @param index The index of the bit
+     */
+    public void set(int index) {
+        checkIndex(index);
+        words[index >>> 6] |= 1L << index;
+        ranks = null;
+    }
+
+    /**
+     * Set or clear a bit
+     * @param index The index of the bit
+     * @param value True to set the bit, false to clear it
+     */
+    public void set(int index, boolean value) {
+        if(value) {
+            set(index);
+        } else {
+            clear(index);
+        }
+    }
+
+    /**
+     * Set or clear a bit
+     * @param index The index of the bit
+     * @param bit The value of the bit
+     */
+    public void set(int index, Bit bit) {
+        set(index, bit.toBoolean());
+    }
+
+    /**
+     * Clear a bit
+     * @param index The index of the bit
+     */
+    public void clear(int index) {
+        checkIndex(index);
+        words[index >>> 6] &= ~(1L << index);
+        ranks = null;
+    }
+
+    /**
+     * Flip a bit
+     * @param index The index of the bit
+     */
+    public void flip(int index) {
+        checkIndex(index);
+        words[index >>> 6] ^= 1L << index;
+        ranks = null;
+    }
+
+    /**
+     * Set a range of bits
+     * @param from The index of the first bit, inclusive
+     * @param to The index of the last bit, exclusive
+     */
+    public void set(int from, int to) {
+        checkRange(from, to);
+        if(from == to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if(first == last) {
+            words[first] |= firstMask & lastMask;
+        } else {
+            words[first] |= firstMask;
+            for(int i = first + 1; i < last; i++) {
+                words[i] = -1L;
+            }
+            words[last] |= lastMask;
+        }
+        ranks = null;
+    }
+
+    /**
+     * Clear a range of bits
+     * @param from The index of the first bit, inclusive
+     * @param to The index of the last bit, exclusive
+     */
+    public void clear(int from, int to) {
+        checkRange(from, to);
+        if(from == to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if(first == last) {
+            words[first] &= ~(firstMask & lastMask);
+        } else {
+            words[first] &= ~firstMask;
+            for(int i = first + 1; i < last; i++) {
+                words[i] = 0;
+            }
+            words[last] &= ~lastMask;
+        }
+        ranks = null;
+    }
+
+    /**
+     * Count the set bits in this vector
+     * @return The number of set bits
+     */
+    public int cardinality() {
+        return rankIndex().total;
+    }
+
+    /**
+     * Find the first set bit at or after an index
+     * @param from The index to start at
+     * @return The index of the set bit, or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        if(from < 0) {
+            throw new IndexOutOfBoundsException("Index must not be negative, was " + from);
+        }
+        if(from >= size) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while(word == 0) {
+            if(++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return w * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Find the first clear bit at or after an index
+     * @param from The index to start at
+     * @return The index of the clear bit, or -1 if there is none
+     */
+    public int nextClearBit(int from) {
+        if(from < 0) {
+            throw new IndexOutOfBoundsException("Index must not be negative, was " + from);
+        }
+        if(from >= size) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = ~words[w] & (-1L << from);
+        while(word == 0) {
+            if(++w == words.length) {
+                return -1;
+            }
+            word = ~words[w];
+        }
+        int found = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+        return found < size ? found : -1;
+    }
+
+    /**
+     * Count the set bits before an index
+     * @param index The index to count up to, exclusive, from 0 to size()
+     * @return The number of set bits before index
+     */
+    public int rank(int index) {
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of 0 to " + size);
+        }
+        int w = index >>> 6;
+        int block = w / WORDS_PER_BLOCK;
+        int rank = rankIndex().blockRanks[block];
+        for(int i = block * WORDS_PER_BLOCK; i < w; i++) {
+            rank += Long.bitCount(words[i]);
+        }
+        if((index & 63) != 0) {
+            rank += Long.bitCount(words[w] & (-1L >>> -index));
+        }
+        return rank;
+    }
+
+    /**
+     * Find a set bit by its rank, in constant time
+     * @param rank The number of set bits before the bit to find, from 0
+     * @return The index of the set bit, or -1 if there are not that many set bits
+     */
+    public int select(int rank) {
+        RankIndex current = rankIndex();
+        if(rank < 0 || rank >= current.total) {
+            return -1;
+        }
+        int explicit = current.samplePositions[rank / SELECT_SAMPLE];
+        if(explicit >= 0) {
+            return current.positions[explicit + rank % SELECT_SAMPLE];
+        }
+        int subsample = current.subsamples[rank / SELECT_SUBSAMPLE];
+        if(subsample < 0) {
+            return current.positions[~subsample + rank % SELECT_SUBSAMPLE];
+        }
+        // The subsample is a set bit, and the bit is less than SPARSE_SUBSAMPLE bits after it
+        int remaining = rank % SELECT_SUBSAMPLE;
+        int w = subsample >>> 6;
+        long word = words[w] & (-1L << subsample);
+        int count;
+        while(remaining >= (count = Long.bitCount(word))) {
+            remaining -= count;
+            word = words[++w];
+        }
+        return w * Long.SIZE + selectInWord(word, remaining);
+    }
+
+    /**
+     * Find a set bit in a word by its rank
+     * @param word The word, which has more than rank bits set
+     * @param rank The number of set bits before the bit to find
+     * @return The index of the bit in the word
+     */
+    private static int selectInWord(long word, int rank) {
+        for(int i = 0; i < rank; i++) {
+            word &= word - 1;
+        }
+        return Long.numberOfTrailingZeros(word);
+    }
+
+    private RankIndex rankIndex() {
+        if(ranks == null) {
+            ranks = new RankIndex(words);
+        }
+        return ranks;
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside of 0 to " + (size - 1));
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        if(from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range " + from + " to " + to + " is outside of 0 to " + size);
+        }
+    }
+
+    private static int wordCount(int bits) {
+        return (int)(((long)bits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    private static int byteCount(int bits) {
+        return (int)(((long)bits + Byte.SIZE - 1) / Byte.SIZE);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("BitVector(size=").append(size).append(", set=[");
+        String separator = "";
+        for(int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+            builder.append(separator).append(i);
+            separator = ", ";
+        }
+        return builder.append("])").toString();
+    }
+
+    /**
+     * The number of set bits before each block, and the directory select uses to find set bits by rank.
+     * Each group of SELECT_SAMPLE set bits has an entry in samplePositions, which is the offset of its set bits in
+     * positions if they are spread over SPARSE_SAMPLE bits or more, or -1 if not. For the groups without one, each run
+     * of SELECT_SUBSAMPLE set bits has an entry in subsamples, which is the index of its first set bit, or the
+     * complement of the offset of its set bits in positions if they are spread over SPARSE_SUBSAMPLE bits or more.
+     */
+    private static class RankIndex {
+        private final int[] blockRanks;
+        private final int[] samplePositions;
+        private final int[] subsamples;
+        private final int total;
+        private int[] positions = new int[0];
+        private int positionCount;
+
+        RankIndex(long[] words) {
+            int blocks = (words.length + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK;
+            blockRanks = new int[blocks + 1];
+            int rank = 0;
+            for(int block = 0; block < blocks; block++) {
+                blockRanks[block] = rank;
+                int end = Math.min(words.length, (block + 1) * WORDS_PER_BLOCK);
+                for(int i = block * WORDS_PER_BLOCK; i < end; i++) {
+                    rank += Long.bitCount(words[i]);
+                }
+            }
+            blockRanks[blocks] = rank;
+            total = rank;
+
+            // Find the index of every SELECT_SUBSAMPLE-th set bit
+            subsamples = new int[(total + SELECT_SUBSAMPLE - 1) / SELECT_SUBSAMPLE];
+            int seen = 0;
+            int next = 0;
+            for(int w = 0; w < words.length && next < subsamples.length; w++) {
+                int count = Long.bitCount(words[w]);
+                while(next < subsamples.length && next * SELECT_SUBSAMPLE < seen + count) {
+                    subsamples[next] = w * Long.SIZE + selectInWord(words[w], next * SELECT_SUBSAMPLE - seen);
+                    next++;
+                }
+                seen += count;
+            }
+
+            int bits = (int)Math.min(Integer.MAX_VALUE, (long)words.length * Long.SIZE);
+            int perSample = SELECT_SAMPLE / SELECT_SUBSAMPLE;
+            samplePositions = new int[(total + SELECT_SAMPLE - 1) / SELECT_SAMPLE];
+            for(int sample = 0; sample < samplePositions.length; sample++) {
+                int first = sample * perSample;
+                int last = Math.min(subsamples.length, first + perSample);
+                int start = subsamples[first];
+                int end = last < subsamples.length ? subsamples[last] : bits;
+                if(end - start >= SPARSE_SAMPLE) {
+                    int count = Math.min(SELECT_SAMPLE, total - sample * SELECT_SAMPLE);
+                    samplePositions[sample] = store(words, start, count);
+                    continue;
+                }
+                samplePositions[sample] = -1;
+                for(int sub = first; sub < last; sub++) {
+                    int subEnd = sub + 1 < subsamples.length ? subsamples[sub + 1] : bits;
+                    if(subEnd - subsamples[sub] >= SPARSE_SUBSAMPLE) {
+                        int count = Math.min(SELECT_SUBSAMPLE, total - sub * SELECT_SUBSAMPLE);
+                        subsamples[sub] = ~store(words, subsamples[sub], count);
+                    }
+                }
+            }
+            positions = Arrays.copyOf(positions, positionCount);
+        }
+
+        /**
+         * Store the indexes of a run of set bits in positions
+         * @param words The words of the vector
+         * @param from The index of the first set bit in the run
+         * @param count The number of set bits in the run
+         * @return The offset of the run in positions
+         */
+        private int store(long[] words, int from, int count) {
+            if(positionCount + count > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(positions.length * 2, positionCount + count));
+            }
+            int offset = positionCount;
+            int w = from >>> 6;
+            long word = words[w] & (-1L << from);
+            for(int i = 0; i < count; i++) {
+                while(word == 0) {
+                    word = words[++w];
+                }
+                positions[positionCount++] = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+            return offset;
+        }
+    }
+}
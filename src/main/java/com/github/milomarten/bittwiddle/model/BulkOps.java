@@ -0,0 +1,96 @@
+package com.github.milomarten.bittwiddle.model;
+
+/**
+ * Element-wise operations over whole primitive arrays, as used by the model arrays.
+ * Two implementations exist: one built on the incubating Vector API, and a plain scalar one. The vector implementation
+ * is used if the jdk.incubator.vector module is available at runtime (run with --add-modules jdk.incubator.vector);
+ * otherwise, or if the system property com.github.milomarten.bittwiddle.model.BulkOps.scalar is true, the scalar one
+ * is used. Both give exactly the same results.
+ */
+abstract class BulkOps {
+    /**
+     * The system property which forces the scalar implementation
+     */
+    static final String SCALAR_PROPERTY = BulkOps.class.getName() + ".scalar";
+
+    private static final BulkOps INSTANCE = choose();
+
+    /**
+     * An operation combining each element of one array with the matching element of another
+     */
+    enum Op {
+        AND, OR, XOR, ADD, SUBTRACT, ADD_SATURATING, SUBTRACT_SATURATING, MIN, MAX
+    }
+
+    /**
+     * Get the implementation chosen for this JVM
+     * @return The implementation
+     */
+    static BulkOps get() {
+        return INSTANCE;
+    }
+
+    private static BulkOps choose() {
+        if(!Boolean.getBoolean(SCALAR_PROPERTY)) {
+            try {
+                return (BulkOps) Class.forName(BulkOps.class.getPackageName() + ".VectorBulkOps")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // The vector module is not available, so fall back to plain loops
+            }
+        }
+        return new ScalarBulkOps();
+    }
+
+    /**
+     * Check if this implementation uses vector instructions
+     * @return True if this is the vector implementation
+     */
+    abstract boolean isVectorized();
+
+    /**
+     * Combine each element of one array with the matching element of another, in place
+     * @param op The operation
+     * @param signed True if the elements are signed, which matters for saturating and comparing operations
+     * @param a The array to update, and the first operand of each operation
+     * @param b The second operand of each operation, which must be at least as long as a
+     */
+    abstract void apply(Op op, boolean signed, byte[] a, byte[] b);
+
+    /**
+     * Combine each element of one array with the matching element of another, in place
+     * @param op The operation
+     * @param signed True if the elements are signed, which matters for saturating and comparing operations
+     * @param a The array to update, and the first operand of each operation
+     * @param b The second operand of each operation, which must be at least as long as a
+     */
+    abstract void apply(Op op, boolean signed, short[] a, short[] b);
+
+    /**
+     * Combine each element of one array with the matching element of another, in place
+     * @param op The operation
+     * @param signed True if the elements are signed, which matters for saturating and comparing operations
+     * @param a The array to update, and the first operand of each operation
+     * @param b The second operand of each operation, which must be at least as long as a
+     */
+    abstract void apply(Op op, boolean signed, int[] a, int[] b);
+
+    /**
+     * Invert every bit of an array, in place
+     * @param a The array to update
+     */
+    abstract void not(byte[] a);
+
+    /**
+     * Invert every bit of an array, in place
+     * @param a The array to update
+     */
+    abstract void not(short[] a);
+
+    /**
+     * Invert every bit of an array, in place
+     * @param a The array to update
+     */
+    abstract void not(int[] a);
+}
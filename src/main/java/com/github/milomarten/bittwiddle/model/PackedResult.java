@@ -0,0 +1,51 @@
+package com.github.milomarten.bittwiddle.model;
+
+/**
+ * Helpers for results packed into a single long, as returned by the primitive arithmetic methods of the model types.
+ * The low 32 bits hold the wrapped value, and the bit above them is set if the operation overflowed. Packing the result
+ * lets a caller which needs both the value and the overflow flag get them without allocating an OverflowableResult.
+ */
+public final class PackedResult {
+    private static final long OVERFLOW = 1L << 32;
+
+    private PackedResult() {
+    }
+
+    /**
+     * Pack a result
+     * @param value The wrapped value
+     * @param overflow True if the operation overflowed
+     * @return The packed result
+     */
+    public static long of(int value, boolean overflow) {
+        return Integer.toUnsignedLong(value) | (overflow ? OVERFLOW : 0);
+    }
+
+    /**
+     * Check if a packed result overflowed
+     * @param result The packed result
+     * @return True if the operation overflowed
+     */
+    public static boolean isOverflow(long result) {
+        return (result & OVERFLOW) != 0;
+    }
+
+    /**
+     * Get the wrapped value of a packed result.
+     * Signed results are sign-extended, so a SignedByte or SignedShort result can simply be cast down.
+     * @param result The packed result
+     * @return The value, as an int
+     */
+    public static int value(long result) {
+        return (int)result;
+    }
+
+    /**
+     * Get the wrapped value of a packed result, treating it as unsigned
+     * @param result The packed result
+     * @return The value, 0 to 4294967295
+     */
+    public static long unsignedValue(long result) {
+        return result & 0xFFFF_FFFFL;
+    }
+}
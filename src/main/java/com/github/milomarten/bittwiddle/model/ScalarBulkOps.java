@@ -0,0 +1,251 @@
+package com.github.milomarten.bittwiddle.model;
+
+/**
+ * Bulk operations as plain loops, with the operation chosen once per call rather than once per element.
+ * The range forms are also used by the vector implementation, for the elements left over after its last full vector.
+ */
+class ScalarBulkOps extends BulkOps {
+    @Override
+    boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    void apply(Op op, boolean signed, byte[] a, byte[] b) {
+        apply(op, signed, a, b, 0);
+    }
+
+    @Override
+    void apply(Op op, boolean signed, short[] a, short[] b) {
+        apply(op, signed, a, b, 0);
+    }
+
+    @Override
+    void apply(Op op, boolean signed, int[] a, int[] b) {
+        apply(op, signed, a, b, 0);
+    }
+
+    @Override
+    void not(byte[] a) {
+        not(a, 0);
+    }
+
+    @Override
+    void not(short[] a) {
+        not(a, 0);
+    }
+
+    @Override
+    void not(int[] a) {
+        not(a, 0);
+    }
+
+    static void apply(Op op, boolean signed, byte[] a, byte[] b, int from) {
+        switch(op) {
+            case AND:
+                for(int i = from; i < a.length; i++) {
+                    a[i] &= b[i];
+                }
+                break;
+            case OR:
+                for(int i = from; i < a.length; i++) {
+                    a[i] |= b[i];
+                }
+                break;
+            case XOR:
+                for(int i = from; i < a.length; i++) {
+                    a[i] ^= b[i];
+                }
+                break;
+            case ADD:
+                for(int i = from; i < a.length; i++) {
+                    a[i] += b[i];
+                }
+                break;
+            case SUBTRACT:
+                for(int i = from; i < a.length; i++) {
+                    a[i] -= b[i];
+                }
+                break;
+            case ADD_SATURATING:
+                if(signed) {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = SignedByte.addSaturating(a[i], b[i]);
+                    }
+                } else {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = (byte)UnsignedByte.addSaturating(a[i], b[i]);
+                    }
+                }
+                break;
+            case SUBTRACT_SATURATING:
+                if(signed) {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = SignedByte.subtractSaturating(a[i], b[i]);
+                    }
+                } else {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = (byte)UnsignedByte.subtractSaturating(a[i], b[i]);
+                    }
+                }
+                break;
+            case MIN:
+                for(int i = from; i < a.length; i++) {
+                    a[i] = compare(a[i], b[i], signed) <= 0 ? a[i] : b[i];
+                }
+                break;
+            case MAX:
+                for(int i = from; i < a.length; i++) {
+                    a[i] = compare(a[i], b[i], signed) >= 0 ? a[i] : b[i];
+                }
+                break;
+        }
+    }
+
+    static void apply(Op op, boolean signed, short[] a, short[] b, int from) {
+        switch(op) {
+            case AND:
+                for(int i = from; i < a.length; i++) {
+                    a[i] &= b[i];
+                }
+                break;
+            case OR:
+                for(int i = from; i < a.length; i++) {
+                    a[i] |= b[i];
+                }
+                break;
+            case XOR:
+                for(int i = from; i < a.length; i++) {
+                    a[i] ^= b[i];
+                }
+                break;
+            case ADD:
+                for(int i = from; i < a.length; i++) {
+                    a[i] += b[i];
+                }
+                break;
+            case SUBTRACT:
+                for(int i = from; i < a.length; i++) {
+                    a[i] -= b[i];
+                }
+                break;
+            case ADD_SATURATING:
+                if(signed) {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = SignedShort.addSaturating(a[i], b[i]);
+                    }
+                } else {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = (short)UnsignedShort.addSaturating(a[i], b[i]);
+                    }
+                }
+                break;
+            case SUBTRACT_SATURATING:
+                if(signed) {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = SignedShort.subtractSaturating(a[i], b[i]);
+                    }
+                } else {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = (short)UnsignedShort.subtractSaturating(a[i], b[i]);
+                    }
+                }
+                break;
+            case MIN:
+                for(int i = from; i < a.length; i++) {
+                    a[i] = compare(a[i], b[i], signed) <= 0 ? a[i] : b[i];
+                }
+                break;
+            case MAX:
+                for(int i = from; i < a.length; i++) {
+                    a[i] = compare(a[i], b[i], signed) >= 0 ? a[i] : b[i];
+                }
+                break;
+        }
+    }
+
+    static void apply(Op op, boolean signed, int[] a, int[] b, int from) {
+        switch(op) {
+            case AND:
+                for(int i = from; i < a.length; i++) {
+                    a[i] &= b[i];
+                }
+                break;
+            case OR:
+                for(int i = from; i < a.length; i++) {
+                    a[i] |= b[i];
+                }
+                break;
+            case XOR:
+                for(int i = from; i < a.length; i++) {
+                    a[i] ^= b[i];
+                }
+                break;
+            case ADD:
+                for(int i = from; i < a.length; i++) {
+                    a[i] += b[i];
+                }
+                break;
+            case SUBTRACT:
+                for(int i = from; i < a.length; i++) {
+                    a[i] -= b[i];
+                }
+                break;
+            case ADD_SATURATING:
+                if(signed) {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = SignedWord.addSaturating(a[i], b[i]);
+                    }
+                } else {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = (int)UnsignedWord.addSaturating(a[i], b[i]);
+                    }
+                }
+                break;
+            case SUBTRACT_SATURATING:
+                if(signed) {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = SignedWord.subtractSaturating(a[i], b[i]);
+                    }
+                } else {
+                    for(int i = from; i < a.length; i++) {
+                        a[i] = (int)UnsignedWord.subtractSaturating(a[i], b[i]);
+                    }
+                }
+                break;
+            case MIN:
+                for(int i = from; i < a.length; i++) {
+                    a[i] = compare(a[i], b[i], signed) <= 0 ? a[i] : b[i];
+                }
+                break;
+            case MAX:
+                for(int i = from; i < a.length; i++) {
+                    a[i] = compare(a[i], b[i], signed) >= 0 ? a[i] : b[i];
+                }
+                break;
+        }
+    }
+
+    static void not(byte[] a, int from) {
+        for(int i = from; i < a.length; i++) {
+            a[i] = (byte)~a[i];
+        }
+    }
+
+    static void not(short[] a, int from) {
+        for(int i = from; i < a.length; i++) {
+            a[i] = (short)~a[i];
+        }
+    }
+
+    static void not(int[] a, int from) {
+        for(int i = from; i < a.length; i++) {
+            a[i] = ~a[i];
+        }
+    }
+
+    // Sign-extending keeps the unsigned order of bytes and shorts, so one unsigned comparison works for every width
+    private static int compare(int x, int y, boolean signed) {
+        return signed ? Integer.compare(x, y) : Integer.compareUnsigned(x, y);
+    }
+}
@@ -15,46 +15,54 @@ public class SignedByte implements Comparable<SignedByte> {
     /**
      * The SignedByte representing -1
      */
-    public static SignedByte NEGATIVE_ONE = new SignedByte((byte)-1);
+    public static SignedByte NEGATIVE_ONE = from(-1);
     /**
      * The SignedByte representing zero
      */
-    public static SignedByte ZERO = new SignedByte((byte)0);
+    public static SignedByte ZERO = from(0);
     /**
      * The SignedByte representing one
      */
-    public static SignedByte ONE = new SignedByte((byte)1);
+    public static SignedByte ONE = from(1);
     /**
      * The SignedByte representing two
      */
-    public static SignedByte TWO = new SignedByte((byte)2);
+    public static SignedByte TWO = from(2);
     /**
      * The SignedByte representing the largest value, 127
      */
-    public static SignedByte MAX = new SignedByte(Byte.MAX_VALUE);
+    public static SignedByte MAX = from(Byte.MAX_VALUE);
     /**
      * The SignedByte representing the smallest value, -128
      */
-    public static SignedByte MIN = new SignedByte(Byte.MIN_VALUE);
+    public static SignedByte MIN = from(Byte.MIN_VALUE);
 
     private final byte value;
 
     /**
-     * Create a SignedByte from a regular byte
+     * Create a SignedByte from a regular byte. Every SignedByte is cached, so this never allocates
      * @param value The byte to use
      * @return A SignedByte
      */
     public static SignedByte from(byte value) {
-        return new SignedByte(value);
+        return Cache.VALUES[value - Byte.MIN_VALUE];
     }
 
     /**
-     * Create a SignedByte from a regular byte
+     * Create a SignedByte from a regular byte. Every SignedByte is cached, so this never allocates
      * @param value The byte to use
      * @return A SignedByte
      */
     public static SignedByte from(int value) {
-        return new SignedByte((byte)value);
+        return from((byte)value);
+    }
+
+    /**
+     * Get the value of this SignedByte as a primitive
+     * @return The value, -128 to 127
+     */
+    public byte toByte() {
+        return value;
     }
 
     /**
@@ -163,8 +171,196 @@ public class SignedByte implements Comparable<SignedByte> {
         }
     }
 
+    /**
+     * Add two SignedBytes, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, wrapped to fit
+     */
+    public static byte addWrapping(byte a, byte b) {
+        return (byte)(a + b);
+    }
+
+    /**
+     * Add two SignedBytes, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, or the bound it overflowed past
+     */
+    public static byte addSaturating(byte a, byte b) {
+        return saturate(a + b);
+    }
+
+    /**
+     * Add two SignedBytes, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum
+     * @throws ArithmeticException The sum overflowed
+     */
+    public static byte addExact(byte a, byte b) {
+        return exact(a + b);
+    }
+
+    /**
+     * Add two SignedBytes, returning both the wrapped sum and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long addWithOverflow(byte a, byte b) {
+        return pack(a + b);
+    }
+
+    /**
+     * Subtract one SignedByte from another, wrapping around on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, wrapped to fit
+     */
+    public static byte subtractWrapping(byte a, byte b) {
+        return (byte)(a - b);
+    }
+
+    /**
+     * Subtract one SignedByte from another, clamping to the nearest bound on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, or the bound it overflowed past
+     */
+    public static byte subtractSaturating(byte a, byte b) {
+        return saturate(a - b);
+    }
+
+    /**
+     * Subtract one SignedByte from another, throwing an exception on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference
+     * @throws ArithmeticException The difference overflowed
+     */
+    public static byte subtractExact(byte a, byte b) {
+        return exact(a - b);
+    }
+
+    /**
+     * Subtract one SignedByte from another, returning both the wrapped difference and whether it overflowed
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The packed result. See PackedResult
+     */
+    public static long subtractWithOverflow(byte a, byte b) {
+        return pack(a - b);
+    }
+
+    /**
+     * Multiply two SignedBytes, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, wrapped to fit
+     */
+    public static byte multiplyWrapping(byte a, byte b) {
+        return (byte)(a * b);
+    }
+
+    /**
+     * Multiply two SignedBytes, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, or the bound it overflowed past
+     */
+    public static byte multiplySaturating(byte a, byte b) {
+        return saturate(a * b);
+    }
+
+    /**
+     * Multiply two SignedBytes, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product
+     * @throws ArithmeticException The product overflowed
+     */
+    public static byte multiplyExact(byte a, byte b) {
+        return exact(a * b);
+    }
+
+    /**
+     * Multiply two SignedBytes, returning both the wrapped product and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long multiplyWithOverflow(byte a, byte b) {
+        return pack(a * b);
+    }
+
+    /**
+     * Negate a SignedByte, wrapping around on overflow
+     * @param a The value to negate
+     * @return The negation, wrapped to fit
+     */
+    public static byte negateWrapping(byte a) {
+        return (byte)(-a);
+    }
+
+    /**
+     * Negate a SignedByte, clamping to the nearest bound on overflow
+     * @param a The value to negate
+     * @return The negation, or the bound it overflowed past
+     */
+    public static byte negateSaturating(byte a) {
+        return saturate(-a);
+    }
+
+    /**
+     * Negate a SignedByte, throwing an exception on overflow
+     * @param a The value to negate
+     * @return The negation
+     * @throws ArithmeticException The negation overflowed
+     */
+    public static byte negateExact(byte a) {
+        return exact(-a);
+    }
+
+    /**
+     * Negate a SignedByte, returning both the wrapped negation and whether it overflowed
+     * @param a The value to negate
+     * @return The packed result. See PackedResult
+     */
+    public static long negateWithOverflow(byte a) {
+        return pack(-a);
+    }
+
+    private static byte saturate(int wide) {
+        return (byte)Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, wide));
+    }
+
+    private static byte exact(int wide) {
+        if(wide < Byte.MIN_VALUE || wide > Byte.MAX_VALUE) {
+            throw new ArithmeticException("SignedByte overflow");
+        }
+        return (byte)wide;
+    }
+
+    private static long pack(int wide) {
+        return PackedResult.of((byte)wide, wide < Byte.MIN_VALUE || wide > Byte.MAX_VALUE);
+    }
+
     @Override
     public int compareTo(SignedByte o) {
         return Byte.compare(value, o.value);
     }
+
+    /**
+     * Every SignedByte, created once, indexed by value - MIN_VALUE
+     */
+    private static class Cache {
+        private static final SignedByte[] VALUES = new SignedByte[256];
+
+        static {
+            for(int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = new SignedByte((byte)(i + Byte.MIN_VALUE));
+            }
+        }
+    }
 }
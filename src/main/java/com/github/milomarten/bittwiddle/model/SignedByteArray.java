@@ -0,0 +1,246 @@
+package com.github.milomarten.bittwiddle.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-length array of SignedBytes, stored as a byte[].
+ * Elements can be read as primitives, or as cached SignedBytes, so reading an element never allocates.
+ * The bulk operations work on the whole array in place, and return this array so they can be chained. They use vector
+ * instructions when the jdk.incubator.vector module is available.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+public class SignedByteArray {
+    private final byte[] values;
+
+    /**
+     * Create an array of zeroes
+     * @param length The number of elements
+     * @return The created array
+     */
+    public static SignedByteArray allocate(int length) {
+        return new SignedByteArray(new byte[length]);
+    }
+
+    /**
+     * Create an array backed by existing bytes, without copying them.
+     * Changes to the array are visible in the bytes, and vice versa.
+     * @param values The bytes to use
+     * @return The created array
+     */
+    public static SignedByteArray wrap(byte[] values) {
+        return new SignedByteArray(values);
+    }
+
+    /**
+     * Create an array holding a copy of some SignedBytes
+     * @param values The SignedBytes to copy
+     * @return The created array
+     */
+    public static SignedByteArray copyOf(SignedByte[] values) {
+        byte[] copy = new byte[values.length];
+        for(int i = 0; i < values.length; i++) {
+            copy[i] = values[i].toByte();
+        }
+        return new SignedByteArray(copy);
+    }
+
+    /**
+     * Get the number of elements in this array
+     * @return The length
+     */
+    public int length() {
+        return values.length;
+    }
+
+    /**
+     * Get an element as a primitive
+     * @param index The index of the element
+     * @return The element, -128 to 127
+     */
+    public byte getByte(int index) {
+        return values[index];
+    }
+
+    /**
+     * Get an element as a SignedByte
+     * @param index The index of the element
+     * @return The element
+     */
+    public SignedByte get(int index) {
+        return SignedByte.from(values[index]);
+    }
+
+    /**
+     * Set an element from a primitive
+     * @param index The index of the element
+     * @param value The value, which is wrapped to fit
+     */
+    public void set(int index, byte value) {
+        values[index] = value;
+    }
+
+    /**
+     * Set an element
+     * @param index The index of the element
+     * @param value The value
+     */
+    public void set(int index, SignedByte value) {
+        values[index] = value.toByte();
+    }
+
+    /**
+     * Copy this array into a new byte[]
+     * @return The copy
+     */
+    public byte[] toByteArray() {
+        return values.clone();
+    }
+
+    /**
+     * Copy this array into a new SignedByte[]
+     * @return The copy
+     */
+    public SignedByte[] toArray() {
+        SignedByte[] array = new SignedByte[values.length];
+        for(int i = 0; i < values.length; i++) {
+            array[i] = get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Get the backing array, for bulk operations within this package
+     * @return The backing array
+     */
+    byte[] array() {
+        return values;
+    }
+
+    /**
+     * Perform the logical and of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray and(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.AND, true, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical or of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray or(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.OR, true, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical exclusive-or of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray xor(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.XOR, true, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical not of each element of this array, in place
+     * @return This array
+     */
+    public SignedByteArray not() {
+        BulkOps.get().not(values);
+        return this;
+    }
+
+    /**
+     * Add the matching element of another array to each element of this one, in place, wrapping around on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray addWrapping(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.ADD, true, values, other.values);
+        return this;
+    }
+
+    /**
+     * Add the matching element of another array to each element of this one, in place, clamping to the nearest bound
+     * on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray addSaturating(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.ADD_SATURATING, true, values, other.values);
+        return this;
+    }
+
+    /**
+     * Subtract the matching element of another array from each element of this one, in place, wrapping around on
+     * overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray subtractWrapping(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.SUBTRACT, true, values, other.values);
+        return this;
+    }
+
+    /**
+     * Subtract the matching element of another array from each element of this one, in place, clamping to the nearest
+     * bound on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray subtractSaturating(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.SUBTRACT_SATURATING, true, values, other.values);
+        return this;
+    }
+
+    /**
+     * Replace each element of this array with the smaller of it and the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray min(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.MIN, true, values, other.values);
+        return this;
+    }
+
+    /**
+     * Replace each element of this array with the larger of it and the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public SignedByteArray max(SignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.MAX, true, values, other.values);
+        return this;
+    }
+
+    private void checkLength(SignedByteArray other) {
+        if(other.values.length != values.length) {
+            throw new IllegalArgumentException(
+                    "Arrays differ in length: " + values.length + " and " + other.values.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SignedByteArray(values=" + Arrays.toString(values) + ")";
+    }
+}
@@ -42,21 +42,32 @@ public class SignedShort implements Comparable<SignedShort> {
     private final short value;
 
     /**
-     * Create a SignedShort from a regular short
+     * Create a SignedShort from a regular short. Small values are cached, rather than allocated each time
      * @param value The value to convert
      * @return The created SignedShort
      */
     public static SignedShort from(short value) {
+        if(value >= Cache.LOW && value <= Cache.HIGH) {
+            return Cache.VALUES[value - Cache.LOW];
+        }
         return new SignedShort(value);
     }
 
     /**
-     * Create a SignedShort from a regular short
+     * Create a SignedShort from a regular short. Small values are cached, rather than allocated each time
      * @param value The value to convert
      * @return The created SignedShort
      */
     public static SignedShort from(int value) {
-        return new SignedShort((short) value);
+        return from((short) value);
+    }
+
+    /**
+     * Get the value of this SignedShort as a primitive
+     * @return The value, -32,768 to 32,767
+     */
+    public short toShort() {
+        return value;
     }
 
     /**
@@ -157,8 +168,198 @@ public class SignedShort implements Comparable<SignedShort> {
         }
     }
 
+    /**
+     * Add two SignedShorts, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, wrapped to fit
+     */
+    public static short addWrapping(short a, short b) {
+        return (short)(a + b);
+    }
+
+    /**
+     * Add two SignedShorts, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, or the bound it overflowed past
+     */
+    public static short addSaturating(short a, short b) {
+        return saturate(a + b);
+    }
+
+    /**
+     * Add two SignedShorts, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum
+     * @throws ArithmeticException The sum overflowed
+     */
+    public static short addExact(short a, short b) {
+        return exact(a + b);
+    }
+
+    /**
+     * Add two SignedShorts, returning both the wrapped sum and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long addWithOverflow(short a, short b) {
+        return pack(a + b);
+    }
+
+    /**
+     * Subtract one SignedShort from another, wrapping around on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, wrapped to fit
+     */
+    public static short subtractWrapping(short a, short b) {
+        return (short)(a - b);
+    }
+
+    /**
+     * Subtract one SignedShort from another, clamping to the nearest bound on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, or the bound it overflowed past
+     */
+    public static short subtractSaturating(short a, short b) {
+        return saturate(a - b);
+    }
+
+    /**
+     * Subtract one SignedShort from another, throwing an exception on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference
+     * @throws ArithmeticException The difference overflowed
+     */
+    public static short subtractExact(short a, short b) {
+        return exact(a - b);
+    }
+
+    /**
+     * Subtract one SignedShort from another, returning both the wrapped difference and whether it overflowed
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The packed result. See PackedResult
+     */
+    public static long subtractWithOverflow(short a, short b) {
+        return pack(a - b);
+    }
+
+    /**
+     * Multiply two SignedShorts, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, wrapped to fit
+     */
+    public static short multiplyWrapping(short a, short b) {
+        return (short)(a * b);
+    }
+
+    /**
+     * Multiply two SignedShorts, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, or the bound it overflowed past
+     */
+    public static short multiplySaturating(short a, short b) {
+        return saturate(a * b);
+    }
+
+    /**
+     * Multiply two SignedShorts, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product
+     * @throws ArithmeticException The product overflowed
+     */
+    public static short multiplyExact(short a, short b) {
+        return exact(a * b);
+    }
+
+    /**
+     * Multiply two SignedShorts, returning both the wrapped product and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long multiplyWithOverflow(short a, short b) {
+        return pack(a * b);
+    }
+
+    /**
+     * Negate a SignedShort, wrapping around on overflow
+     * @param a The value to negate
+     * @return The negation, wrapped to fit
+     */
+    public static short negateWrapping(short a) {
+        return (short)(-a);
+    }
+
+    /**
+     * Negate a SignedShort, clamping to the nearest bound on overflow
+     * @param a The value to negate
+     * @return The negation, or the bound it overflowed past
+     */
+    public static short negateSaturating(short a) {
+        return saturate(-a);
+    }
+
+    /**
+     * Negate a SignedShort, throwing an exception on overflow
+     * @param a The value to negate
+     * @return The negation
+     * @throws ArithmeticException The negation overflowed
+     */
+    public static short negateExact(short a) {
+        return exact(-a);
+    }
+
+    /**
+     * Negate a SignedShort, returning both the wrapped negation and whether it overflowed
+     * @param a The value to negate
+     * @return The packed result. See PackedResult
+     */
+    public static long negateWithOverflow(short a) {
+        return pack(-a);
+    }
+
+    private static short saturate(int wide) {
+        return (short)Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, wide));
+    }
+
+    private static short exact(int wide) {
+        if(wide < Short.MIN_VALUE || wide > Short.MAX_VALUE) {
+            throw new ArithmeticException("SignedShort overflow");
+        }
+        return (short)wide;
+    }
+
+    private static long pack(int wide) {
+        return PackedResult.of((short)wide, wide < Short.MIN_VALUE || wide > Short.MAX_VALUE);
+    }
+
     @Override
     public int compareTo(SignedShort o) {
         return Short.compare(value, o.value);
     }
+
+    /**
+     * Preallocated SignedShorts, from -128 up to a configurable limit. See ValueCache
+     */
+    private static class Cache {
+        private static final int LOW = -128;
+        private static final int HIGH = ValueCache.high(SignedShort.class, LOW, Short.MAX_VALUE);
+        private static final SignedShort[] VALUES = new SignedShort[HIGH - LOW + 1];
+
+        static {
+            for(int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = new SignedShort((short)(i + LOW));
+            }
+        }
+    }
 }
@@ -42,14 +42,25 @@ public class SignedWord implements Comparable<SignedWord> {
     private final int value;
 
     /**
-     * Create a SignedWord from a regular int
+     * Create a SignedWord from a regular int. Small values are cached, rather than allocated each time
      * @param value The value to convert
      * @return The created SignedWord
      */
     public static SignedWord from(int value) {
+        if(value >= Cache.LOW && value <= Cache.HIGH) {
+            return Cache.VALUES[value - Cache.LOW];
+        }
         return new SignedWord(value);
     }
 
+    /**
+     * Get the value of this SignedWord as a primitive
+     * @return The value, -2,147,483,648 to 2,147,483,647
+     */
+    public int toInt() {
+        return value;
+    }
+
     /**
      * Perform the bitwise and of this and another SignedWord
      * @param other The other SignedWord
@@ -140,8 +151,198 @@ public class SignedWord implements Comparable<SignedWord> {
         }
     }
 
+    /**
+     * Add two SignedWords, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, wrapped to fit
+     */
+    public static int addWrapping(int a, int b) {
+        return (int)((long)a + (long)b);
+    }
+
+    /**
+     * Add two SignedWords, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, or the bound it overflowed past
+     */
+    public static int addSaturating(int a, int b) {
+        return saturate((long)a + (long)b);
+    }
+
+    /**
+     * Add two SignedWords, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum
+     * @throws ArithmeticException The sum overflowed
+     */
+    public static int addExact(int a, int b) {
+        return exact((long)a + (long)b);
+    }
+
+    /**
+     * Add two SignedWords, returning both the wrapped sum and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long addWithOverflow(int a, int b) {
+        return pack((long)a + (long)b);
+    }
+
+    /**
+     * Subtract one SignedWord from another, wrapping around on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, wrapped to fit
+     */
+    public static int subtractWrapping(int a, int b) {
+        return (int)((long)a - (long)b);
+    }
+
+    /**
+     * Subtract one SignedWord from another, clamping to the nearest bound on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, or the bound it overflowed past
+     */
+    public static int subtractSaturating(int a, int b) {
+        return saturate((long)a - (long)b);
+    }
+
+    /**
+     * Subtract one SignedWord from another, throwing an exception on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference
+     * @throws ArithmeticException The difference overflowed
+     */
+    public static int subtractExact(int a, int b) {
+        return exact((long)a - (long)b);
+    }
+
+    /**
+     * Subtract one SignedWord from another, returning both the wrapped difference and whether it overflowed
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The packed result. See PackedResult
+     */
+    public static long subtractWithOverflow(int a, int b) {
+        return pack((long)a - (long)b);
+    }
+
+    /**
+     * Multiply two SignedWords, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, wrapped to fit
+     */
+    public static int multiplyWrapping(int a, int b) {
+        return (int)((long)a * (long)b);
+    }
+
+    /**
+     * Multiply two SignedWords, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, or the bound it overflowed past
+     */
+    public static int multiplySaturating(int a, int b) {
+        return saturate((long)a * (long)b);
+    }
+
+    /**
+     * Multiply two SignedWords, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product
+     * @throws ArithmeticException The product overflowed
+     */
+    public static int multiplyExact(int a, int b) {
+        return exact((long)a * (long)b);
+    }
+
+    /**
+     * Multiply two SignedWords, returning both the wrapped product and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long multiplyWithOverflow(int a, int b) {
+        return pack((long)a * (long)b);
+    }
+
+    /**
+     * Negate a SignedWord, wrapping around on overflow
+     * @param a The value to negate
+     * @return The negation, wrapped to fit
+     */
+    public static int negateWrapping(int a) {
+        return (int)(-(long)a);
+    }
+
+    /**
+     * Negate a SignedWord, clamping to the nearest bound on overflow
+     * @param a The value to negate
+     * @return The negation, or the bound it overflowed past
+     */
+    public static int negateSaturating(int a) {
+        return saturate(-(long)a);
+    }
+
+    /**
+     * Negate a SignedWord, throwing an exception on overflow
+     * @param a The value to negate
+     * @return The negation
+     * @throws ArithmeticException The negation overflowed
+     */
+    public static int negateExact(int a) {
+        return exact(-(long)a);
+    }
+
+    /**
+     * Negate a SignedWord, returning both the wrapped negation and whether it overflowed
+     * @param a The value to negate
+     * @return The packed result. See PackedResult
+     */
+    public static long negateWithOverflow(int a) {
+        return pack(-(long)a);
+    }
+
+    private static int saturate(long wide) {
+        return (int)Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, wide));
+    }
+
+    private static int exact(long wide) {
+        if(wide < Integer.MIN_VALUE || wide > Integer.MAX_VALUE) {
+            throw new ArithmeticException("SignedWord overflow");
+        }
+        return (int)wide;
+    }
+
+    private static long pack(long wide) {
+        return PackedResult.of((int)wide, wide < Integer.MIN_VALUE || wide > Integer.MAX_VALUE);
+    }
+
     @Override
     public int compareTo(SignedWord o) {
         return Integer.compare(value, o.value);
     }
+
+    /**
+     * Preallocated SignedWords, from -128 up to a configurable limit. See ValueCache
+     */
+    private static class Cache {
+        private static final int LOW = -128;
+        private static final int HIGH = ValueCache.high(SignedWord.class, LOW, Integer.MAX_VALUE);
+        private static final SignedWord[] VALUES = new SignedWord[HIGH - LOW + 1];
+
+        static {
+            for(int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = new SignedWord(i + LOW);
+            }
+        }
+    }
 }
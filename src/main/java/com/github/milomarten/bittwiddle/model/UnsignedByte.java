@@ -39,12 +39,20 @@ public class UnsignedByte implements Comparable<UnsignedByte> {
     }
 
     /**
-     * Create an UnsignedByte
+     * Create an UnsignedByte. Every UnsignedByte is cached, so this never allocates
      * @param value The value, 0 to 255
      * @return The created UnsignedByte
      */
     public static UnsignedByte from(int value) {
-        return new UnsignedByte((byte)value);
+        return Cache.VALUES[value & 0xFF];
+    }
+
+    /**
+     * Get the value of this UnsignedByte as a primitive
+     * @return The value, 0 to 255
+     */
+    public int toInt() {
+        return Byte.toUnsignedInt(value);
     }
 
     /**
@@ -140,8 +148,159 @@ public class UnsignedByte implements Comparable<UnsignedByte> {
         }
     }
 
+    /**
+     * Add two UnsignedBytes, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, wrapped to fit
+     */
+    public static int addWrapping(int a, int b) {
+        return ((a & 0xFF) + (b & 0xFF)) & 0xFF;
+    }
+
+    /**
+     * Add two UnsignedBytes, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, or the bound it overflowed past
+     */
+    public static int addSaturating(int a, int b) {
+        return saturate((a & 0xFF) + (b & 0xFF));
+    }
+
+    /**
+     * Add two UnsignedBytes, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum
+     * @throws ArithmeticException The sum overflowed
+     */
+    public static int addExact(int a, int b) {
+        return exact((a & 0xFF) + (b & 0xFF));
+    }
+
+    /**
+     * Add two UnsignedBytes, returning both the wrapped sum and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long addWithOverflow(int a, int b) {
+        return pack((a & 0xFF) + (b & 0xFF));
+    }
+
+    /**
+     * Subtract one UnsignedByte from another, wrapping around on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, wrapped to fit
+     */
+    public static int subtractWrapping(int a, int b) {
+        return ((a & 0xFF) - (b & 0xFF)) & 0xFF;
+    }
+
+    /**
+     * Subtract one UnsignedByte from another, clamping to the nearest bound on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, or the bound it overflowed past
+     */
+    public static int subtractSaturating(int a, int b) {
+        return saturate((a & 0xFF) - (b & 0xFF));
+    }
+
+    /**
+     * Subtract one UnsignedByte from another, throwing an exception on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference
+     * @throws ArithmeticException The difference overflowed
+     */
+    public static int subtractExact(int a, int b) {
+        return exact((a & 0xFF) - (b & 0xFF));
+    }
+
+    /**
+     * Subtract one UnsignedByte from another, returning both the wrapped difference and whether it overflowed
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The packed result. See PackedResult
+     */
+    public static long subtractWithOverflow(int a, int b) {
+        return pack((a & 0xFF) - (b & 0xFF));
+    }
+
+    /**
+     * Multiply two UnsignedBytes, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, wrapped to fit
+     */
+    public static int multiplyWrapping(int a, int b) {
+        return ((a & 0xFF) * (b & 0xFF)) & 0xFF;
+    }
+
+    /**
+     * Multiply two UnsignedBytes, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, or the bound it overflowed past
+     */
+    public static int multiplySaturating(int a, int b) {
+        return saturate((a & 0xFF) * (b & 0xFF));
+    }
+
+    /**
+     * Multiply two UnsignedBytes, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product
+     * @throws ArithmeticException The product overflowed
+     */
+    public static int multiplyExact(int a, int b) {
+        return exact((a & 0xFF) * (b & 0xFF));
+    }
+
+    /**
+     * Multiply two UnsignedBytes, returning both the wrapped product and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long multiplyWithOverflow(int a, int b) {
+        return pack((a & 0xFF) * (b & 0xFF));
+    }
+
+    private static int saturate(int wide) {
+        return Math.max(0, Math.min(255, wide)) & 0xFF;
+    }
+
+    private static int exact(int wide) {
+        if(wide < 0 || wide > 255) {
+            throw new ArithmeticException("UnsignedByte overflow");
+        }
+        return wide & 0xFF;
+    }
+
+    private static long pack(int wide) {
+        return PackedResult.of(wide & 0xFF, wide < 0 || wide > 255);
+    }
+
     @Override
     public int compareTo(UnsignedByte o) {
         return Integer.compareUnsigned(value, o.value);
     }
+
+    /**
+     * Every UnsignedByte, created once, indexed by value
+     */
+    private static class Cache {
+        private static final UnsignedByte[] VALUES = new UnsignedByte[256];
+
+        static {
+            for(int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = new UnsignedByte((byte)i);
+            }
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package com.github.milomarten.bittwiddle.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A fixed-length array of UnsignedBytes, stored as a byte[].
+ * Elements can be read as primitives, or as cached UnsignedBytes, so reading an element never allocates.
+ * The bulk operations work on the whole array in place, and return this array so they can be chained. They use vector
+ * instructions when the jdk.incubator.vector module is available.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+public class UnsignedByteArray {
+    private final byte[] values;
+
+    /**
+     * Create an array of zeroes
+     * @param length The number of elements
+     * @return The created array
+     */
+    public static UnsignedByteArray allocate(int length) {
+        return new UnsignedByteArray(new byte[length]);
+    }
+
+    /**
+     * Create an array backed by existing bytes, without copying them.
+     * Changes to the array are visible in the bytes, and vice versa.
+     * @param values The bytes to use
+     * @return The created array
+     */
+    public static UnsignedByteArray wrap(byte[] values) {
+        return new UnsignedByteArray(values);
+    }
+
+    /**
+     * Create an array holding a copy of some UnsignedBytes
+     * @param values The UnsignedBytes to copy
+     * @return The created array
+     */
+    public static UnsignedByteArray copyOf(UnsignedByte[] values) {
+        byte[] copy = new byte[values.length];
+        for(int i = 0; i < values.length; i++) {
+            copy[i] = (byte)values[i].toInt();
+        }
+        return new UnsignedByteArray(copy);
+    }
+
+    /**
+     * Get the number of elements in this array
+     * @return The length
+     */
+    public int length() {
+        return values.length;
+    }
+
+    /**
+     * Get an element as a primitive
+     * @param index The index of the element
+     * @return The element, 0 to 255
+     */
+    public int getInt(int index) {
+        return Byte.toUnsignedInt(values[index]);
+    }
+
+    /**
+     * Get an element as an UnsignedByte
+     * @param index The index of the element
+     * @return The element
+     */
+    public UnsignedByte get(int index) {
+        return UnsignedByte.from(values[index]);
+    }
+
+    /**
+     * Set an element from a primitive
+     * @param index The index of the element
+     * @param value The value, which is wrapped to fit
+     */
+    public void set(int index, int value) {
+        values[index] = (byte)value;
+    }
+
+    /**
+     * Set an element
+     * @param index The index of the element
+     * @param value The value
+     */
+    public void set(int index, UnsignedByte value) {
+        values[index] = (byte)value.toInt();
+    }
+
+    /**
+     * Copy this array into a new byte[]
+     * @return The copy
+     */
+    public byte[] toByteArray() {
+        return values.clone();
+    }
+
+    /**
+     * Copy this array into a new UnsignedByte[]
+     * @return The copy
+     */
+    public UnsignedByte[] toArray() {
+        UnsignedByte[] array = new UnsignedByte[values.length];
+        for(int i = 0; i < values.length; i++) {
+            array[i] = get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Get the backing array, for bulk operations within this package
+     * @return The backing array
+     */
+    byte[] array() {
+        return values;
+    }
+
+    /**
+     * Perform the logical and of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray and(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.AND, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical or of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray or(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.OR, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical exclusive-or of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray xor(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.XOR, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical not of each element of this array, in place
+     * @return This array
+     */
+    public UnsignedByteArray not() {
+        BulkOps.get().not(values);
+        return this;
+    }
+
+    /**
+     * Add the matching element of another array to each element of this one, in place, wrapping around on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray addWrapping(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.ADD, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Add the matching element of another array to each element of this one, in place, clamping to the nearest bound
+     * on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray addSaturating(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.ADD_SATURATING, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Subtract the matching element of another array from each element of this one, in place, wrapping around on
+     * overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray subtractWrapping(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.SUBTRACT, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Subtract the matching element of another array from each element of this one, in place, clamping to the nearest
+     * bound on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray subtractSaturating(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.SUBTRACT_SATURATING, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Replace each element of this array with the smaller of it and the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray min(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.MIN, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Replace each element of this array with the larger of it and the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedByteArray max(UnsignedByteArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.MAX, false, values, other.values);
+        return this;
+    }
+
+    private void checkLength(UnsignedByteArray other) {
+        if(other.values.length != values.length) {
+            throw new IllegalArgumentException(
+                    "Arrays differ in length: " + values.length + " and " + other.values.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("UnsignedByteArray(values=[");
+        for(int i = 0; i < values.length; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(getInt(i));
+        }
+        return builder.append("])").toString();
+    }
+}
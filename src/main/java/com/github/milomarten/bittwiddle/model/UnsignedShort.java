@@ -39,14 +39,26 @@ public class UnsignedShort implements Comparable<UnsignedShort> {
     }
 
     /**
-     * Create an UnsignedShort
+     * Create an UnsignedShort. Small values are cached, rather than allocated each time
      * @param value The value, 0 to 65535
      * @return The created UnsignedShort
      */
     public static UnsignedShort from(int value) {
+        int unsigned = value & 0xFFFF;
+        if(unsigned <= Cache.HIGH) {
+            return Cache.VALUES[unsigned];
+        }
         return new UnsignedShort((short)value);
     }
 
+    /**
+     * Get the value of this UnsignedShort as a primitive
+     * @return The value, 0 to 65535
+     */
+    public int toInt() {
+        return Short.toUnsignedInt(value);
+    }
+
     /**
      * Upcast this to an UnsignedWord
      * @return The upcast value
@@ -132,8 +144,161 @@ public class UnsignedShort implements Comparable<UnsignedShort> {
         }
     }
 
+    /**
+     * Add two UnsignedShorts, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, wrapped to fit
+     */
+    public static int addWrapping(int a, int b) {
+        return ((a & 0xFFFF) + (b & 0xFFFF)) & 0xFFFF;
+    }
+
+    /**
+     * Add two UnsignedShorts, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, or the bound it overflowed past
+     */
+    public static int addSaturating(int a, int b) {
+        return saturate((a & 0xFFFF) + (b & 0xFFFF));
+    }
+
+    /**
+     * Add two UnsignedShorts, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum
+     * @throws ArithmeticException The sum overflowed
+     */
+    public static int addExact(int a, int b) {
+        return exact((a & 0xFFFF) + (b & 0xFFFF));
+    }
+
+    /**
+     * Add two UnsignedShorts, returning both the wrapped sum and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long addWithOverflow(int a, int b) {
+        return pack((a & 0xFFFF) + (b & 0xFFFF));
+    }
+
+    /**
+     * Subtract one UnsignedShort from another, wrapping around on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, wrapped to fit
+     */
+    public static int subtractWrapping(int a, int b) {
+        return ((a & 0xFFFF) - (b & 0xFFFF)) & 0xFFFF;
+    }
+
+    /**
+     * Subtract one UnsignedShort from another, clamping to the nearest bound on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, or the bound it overflowed past
+     */
+    public static int subtractSaturating(int a, int b) {
+        return saturate((a & 0xFFFF) - (b & 0xFFFF));
+    }
+
+    /**
+     * Subtract one UnsignedShort from another, throwing an exception on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference
+     * @throws ArithmeticException The difference overflowed
+     */
+    public static int subtractExact(int a, int b) {
+        return exact((a & 0xFFFF) - (b & 0xFFFF));
+    }
+
+    /**
+     * Subtract one UnsignedShort from another, returning both the wrapped difference and whether it overflowed
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The packed result. See PackedResult
+     */
+    public static long subtractWithOverflow(int a, int b) {
+        return pack((a & 0xFFFF) - (b & 0xFFFF));
+    }
+
+    /**
+     * Multiply two UnsignedShorts, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, wrapped to fit
+     */
+    public static int multiplyWrapping(int a, int b) {
+        return ((a & 0xFFFF) * (b & 0xFFFF)) & 0xFFFF;
+    }
+
+    /**
+     * Multiply two UnsignedShorts, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, or the bound it overflowed past
+     */
+    public static int multiplySaturating(int a, int b) {
+        return saturate((a & 0xFFFF) * (b & 0xFFFF));
+    }
+
+    /**
+     * Multiply two UnsignedShorts, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product
+     * @throws ArithmeticException The product overflowed
+     */
+    public static int multiplyExact(int a, int b) {
+        return exact((a & 0xFFFF) * (b & 0xFFFF));
+    }
+
+    /**
+     * Multiply two UnsignedShorts, returning both the wrapped product and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long multiplyWithOverflow(int a, int b) {
+        return pack((a & 0xFFFF) * (b & 0xFFFF));
+    }
+
+    private static int saturate(int wide) {
+        return Math.max(0, Math.min(65_535, wide)) & 0xFFFF;
+    }
+
+    private static int exact(int wide) {
+        if(wide < 0 || wide > 65_535) {
+            throw new ArithmeticException("UnsignedShort overflow");
+        }
+        return wide & 0xFFFF;
+    }
+
+    private static long pack(int wide) {
+        return PackedResult.of(wide & 0xFFFF, wide < 0 || wide > 65_535);
+    }
+
     @Override
     public int compareTo(UnsignedShort o) {
         return Integer.compareUnsigned(value, o.value);
     }
+
+    /**
+     * Preallocated UnsignedShorts, from zero up to a configurable limit. See ValueCache
+     */
+    private static class Cache {
+        private static final int LOW = 0;
+        private static final int HIGH = ValueCache.high(UnsignedShort.class, LOW, 65_535);
+        private static final UnsignedShort[] VALUES = new UnsignedShort[HIGH - LOW + 1];
+
+        static {
+            for(int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = new UnsignedShort((short)i);
+            }
+        }
+    }
 }
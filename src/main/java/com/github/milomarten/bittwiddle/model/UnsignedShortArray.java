@@ -0,0 +1,251 @@
+package com.github.milomarten.bittwiddle.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A fixed-length array of UnsignedShorts, stored as a short[].
+ * Elements can be read as primitives, or as cached UnsignedShorts, so reading an element never allocates.
+ * The bulk operations work on the whole array in place, and return this array so they can be chained. They use vector
+ * instructions when the jdk.incubator.vector module is available.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+public class UnsignedShortArray {
+    private final short[] values;
+
+    /**
+     * Create an array of zeroes
+     * @param length The number of elements
+     * @return The created array
+     */
+    public static UnsignedShortArray allocate(int length) {
+        return new UnsignedShortArray(new short[length]);
+    }
+
+    /**
+     * Create an array backed by existing shorts, without copying them.
+     * Changes to the array are visible in the shorts, and vice versa.
+     * @param values The shorts to use
+     * @return The created array
+     */
+    public static UnsignedShortArray wrap(short[] values) {
+        return new UnsignedShortArray(values);
+    }
+
+    /**
+     * Create an array holding a copy of some UnsignedShorts
+     * @param values The UnsignedShorts to copy
+     * @return The created array
+     */
+    public static UnsignedShortArray copyOf(UnsignedShort[] values) {
+        short[] copy = new short[values.length];
+        for(int i = 0; i < values.length; i++) {
+            copy[i] = (short)values[i].toInt();
+        }
+        return new UnsignedShortArray(copy);
+    }
+
+    /**
+     * Get the number of elements in this array
+     * @return The length
+     */
+    public int length() {
+        return values.length;
+    }
+
+    /**
+     * Get an element as a primitive
+     * @param index The index of the element
+     * @return The element, 0 to 65535
+     */
+    public int getInt(int index) {
+        return Short.toUnsignedInt(values[index]);
+    }
+
+    /**
+     * Get an element as an UnsignedShort
+     * @param index The index of the element
+     * @return The element
+     */
+    public UnsignedShort get(int index) {
+        return UnsignedShort.from(Short.toUnsignedInt(values[index]));
+    }
+
+    /**
+     * Set an element from a primitive
+     * @param index The index of the element
+     * @param value The value, which is wrapped to fit
+     */
+    public void set(int index, int value) {
+        values[index] = (short)value;
+    }
+
+    /**
+     * Set an element
+     * @param index The index of the element
+     * @param value The value
+     */
+    public void set(int index, UnsignedShort value) {
+        values[index] = (short)value.toInt();
+    }
+
+    /**
+     * Copy this array into a new short[]
+     * @return The copy
+     */
+    public short[] toShortArray() {
+        return values.clone();
+    }
+
+    /**
+     * Copy this array into a new UnsignedShort[]
+     * @return The copy
+     */
+    public UnsignedShort[] toArray() {
+        UnsignedShort[] array = new UnsignedShort[values.length];
+        for(int i = 0; i < values.length; i++) {
+            array[i] = get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Get the backing array, for bulk operations within this package
+     * @return The backing array
+     */
+    short[] array() {
+        return values;
+    }
+
+    /**
+     * Perform the logical and of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray and(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.AND, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical or of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray or(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.OR, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical exclusive-or of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray xor(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.XOR, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical not of each element of this array, in place
+     * @return This array
+     */
+    public UnsignedShortArray not() {
+        BulkOps.get().not(values);
+        return this;
+    }
+
+    /**
+     * Add the matching element of another array to each element of this one, in place, wrapping around on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray addWrapping(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.ADD, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Add the matching element of another array to each element of this one, in place, clamping to the nearest bound
+     * on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray addSaturating(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.ADD_SATURATING, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Subtract the matching element of another array from each element of this one, in place, wrapping around on
+     * overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray subtractWrapping(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.SUBTRACT, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Subtract the matching element of another array from each element of this one, in place, clamping to the nearest
+     * bound on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray subtractSaturating(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.SUBTRACT_SATURATING, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Replace each element of this array with the smaller of it and the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray min(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.MIN, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Replace each element of this array with the larger of it and the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedShortArray max(UnsignedShortArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.MAX, false, values, other.values);
+        return this;
+    }
+
+    private void checkLength(UnsignedShortArray other) {
+        if(other.values.length != values.length) {
+            throw new IllegalArgumentException(
+                    "Arrays differ in length: " + values.length + " and " + other.values.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("UnsignedShortArray(values=[");
+        for(int i = 0; i < values.length; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(getInt(i));
+        }
+        return builder.append("])").toString();
+    }
+}
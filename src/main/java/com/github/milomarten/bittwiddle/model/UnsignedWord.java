@@ -42,11 +42,15 @@ public class UnsignedWord implements Comparable<UnsignedWord> {
     private final int value;
 
     /**
-     * Create a UnsignedWord from a regular long
+     * Create a UnsignedWord from a regular long. Small values are cached, rather than allocated each time
      * @param value The value to convert
      * @return The created UnsignedWord
      */
     public static UnsignedWord from(long value) {
+        long unsigned = value & 0xFFFF_FFFFL;
+        if(unsigned <= Cache.HIGH) {
+            return Cache.VALUES[(int)unsigned];
+        }
         return new UnsignedWord((int)value);
     }
 
@@ -56,6 +60,14 @@ public class UnsignedWord implements Comparable<UnsignedWord> {
         return Integer.toUnsignedLong(value);
     }
 
+    /**
+     * Get the value of this UnsignedWord as a primitive
+     * @return The value, 0 to 4,294,967,295
+     */
+    public long toLong() {
+        return Integer.toUnsignedLong(value);
+    }
+
     /**
      * Perform the bitwise and of this and another UnsignedWord
      * @param other The other UnsignedWord
@@ -133,8 +145,177 @@ public class UnsignedWord implements Comparable<UnsignedWord> {
         }
     }
 
+    /**
+     * Add two UnsignedWords, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, wrapped to fit
+     */
+    public static long addWrapping(long a, long b) {
+        return ((a & 0xFFFF_FFFFL) + (b & 0xFFFF_FFFFL)) & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * Add two UnsignedWords, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum, or the bound it overflowed past
+     */
+    public static long addSaturating(long a, long b) {
+        return saturate((a & 0xFFFF_FFFFL) + (b & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * Add two UnsignedWords, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The sum
+     * @throws ArithmeticException The sum overflowed
+     */
+    public static long addExact(long a, long b) {
+        return exact((a & 0xFFFF_FFFFL) + (b & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * Add two UnsignedWords, returning both the wrapped sum and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long addWithOverflow(long a, long b) {
+        return pack((a & 0xFFFF_FFFFL) + (b & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * Subtract one UnsignedWord from another, wrapping around on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, wrapped to fit
+     */
+    public static long subtractWrapping(long a, long b) {
+        return ((a & 0xFFFF_FFFFL) - (b & 0xFFFF_FFFFL)) & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * Subtract one UnsignedWord from another, clamping to the nearest bound on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference, or the bound it overflowed past
+     */
+    public static long subtractSaturating(long a, long b) {
+        return saturate((a & 0xFFFF_FFFFL) - (b & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * Subtract one UnsignedWord from another, throwing an exception on overflow
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The difference
+     * @throws ArithmeticException The difference overflowed
+     */
+    public static long subtractExact(long a, long b) {
+        return exact((a & 0xFFFF_FFFFL) - (b & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * Subtract one UnsignedWord from another, returning both the wrapped difference and whether it overflowed
+     * @param a The value to subtract from
+     * @param b The value to subtract
+     * @return The packed result. See PackedResult
+     */
+    public static long subtractWithOverflow(long a, long b) {
+        return pack((a & 0xFFFF_FFFFL) - (b & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * Multiply two UnsignedWords, wrapping around on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, wrapped to fit
+     */
+    public static long multiplyWrapping(long a, long b) {
+        return ((a & 0xFFFF_FFFFL) * (b & 0xFFFF_FFFFL)) & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * Multiply two UnsignedWords, clamping to the nearest bound on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product, or the bound it overflowed past
+     */
+    public static long multiplySaturating(long a, long b) {
+        return saturateUnsigned((a & 0xFFFF_FFFFL) * (b & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * Multiply two UnsignedWords, throwing an exception on overflow
+     * @param a The first value
+     * @param b The second value
+     * @return The product
+     * @throws ArithmeticException The product overflowed
+     */
+    public static long multiplyExact(long a, long b) {
+        return exactUnsigned((a & 0xFFFF_FFFFL) * (b & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * Multiply two UnsignedWords, returning both the wrapped product and whether it overflowed
+     * @param a The first value
+     * @param b The second value
+     * @return The packed result. See PackedResult
+     */
+    public static long multiplyWithOverflow(long a, long b) {
+        return packUnsigned((a & 0xFFFF_FFFFL) * (b & 0xFFFF_FFFFL));
+    }
+
+    private static long saturate(long wide) {
+        return Math.max(0, Math.min(0xFFFF_FFFFL, wide)) & 0xFFFF_FFFFL;
+    }
+
+    private static long exact(long wide) {
+        if(wide < 0 || wide > 0xFFFF_FFFFL) {
+            throw new ArithmeticException("UnsignedWord overflow");
+        }
+        return wide & 0xFFFF_FFFFL;
+    }
+
+    private static long pack(long wide) {
+        return PackedResult.of((int)wide, wide < 0 || wide > 0xFFFF_FFFFL);
+    }
+
+    // A product of two UnsignedWords may not fit in a signed long, so it is compared as unsigned
+    private static long saturateUnsigned(long wide) {
+        return Long.compareUnsigned(wide, 0xFFFF_FFFFL) > 0 ? 0xFFFF_FFFFL : wide;
+    }
+
+    private static long exactUnsigned(long wide) {
+        if(Long.compareUnsigned(wide, 0xFFFF_FFFFL) > 0) {
+            throw new ArithmeticException("UnsignedWord overflow");
+        }
+        return wide;
+    }
+
+    private static long packUnsigned(long wide) {
+        return PackedResult.of((int)wide, Long.compareUnsigned(wide, 0xFFFF_FFFFL) > 0);
+    }
+
     @Override
     public int compareTo(UnsignedWord o) {
         return Integer.compareUnsigned(value, o.value);
     }
+
+    /**
+     * Preallocated UnsignedWords, from zero up to a configurable limit. See ValueCache
+     */
+    private static class Cache {
+        private static final int LOW = 0;
+        private static final int HIGH = ValueCache.high(UnsignedWord.class, LOW, Integer.MAX_VALUE);
+        private static final UnsignedWord[] VALUES = new UnsignedWord[HIGH - LOW + 1];
+
+        static {
+            for(int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = new UnsignedWord(i);
+            }
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package com.github.milomarten.bittwiddle.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A fixed-length array of UnsignedWords, stored as a int[].
+ * Elements can be read as primitives, or as cached UnsignedWords, so reading an element never allocates.
+ * The bulk operations work on the whole array in place, and return this array so they can be chained. They use vector
+ * instructions when the jdk.incubator.vector module is available.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+public class UnsignedWordArray {
+    private final int[] values;
+
+    /**
+     * Create an array of zeroes
+     * @param length The number of elements
+     * @return The created array
+     */
+    public static UnsignedWordArray allocate(int length) {
+        return new UnsignedWordArray(new int[length]);
+    }
+
+    /**
+     * Create an array backed by existing ints, without copying them.
+     * Changes to the array are visible in the ints, and vice versa.
+     * @param values The ints to use
+     * @return The created array
+     */
+    public static UnsignedWordArray wrap(int[] values) {
+        return new UnsignedWordArray(values);
+    }
+
+    /**
+     * Create an array holding a copy of some UnsignedWords
+     * @param values The UnsignedWords to copy
+     * @return The created array
+     */
+    public static UnsignedWordArray copyOf(UnsignedWord[] values) {
+        int[] copy = new int[values.length];
+        for(int i = 0; i < values.length; i++) {
+            copy[i] = (int)values[i].toLong();
+        }
+        return new UnsignedWordArray(copy);
+    }
+
+    /**
+     * Get the number of elements in this array
+     * @return The length
+     */
+    public int length() {
+        return values.length;
+    }
+
+    /**
+     * Get an element as a primitive
+     * @param index The index of the element
+     * @return The element, 0 to 4294967295
+     */
+    public long getLong(int index) {
+        return Integer.toUnsignedLong(values[index]);
+    }
+
+    /**
+     * Get an element as an UnsignedWord
+     * @param index The index of the element
+     * @return The element
+     */
+    public UnsignedWord get(int index) {
+        return UnsignedWord.from(Integer.toUnsignedLong(values[index]));
+    }
+
+    /**
+     * Set an element from a primitive
+     * @param index The index of the element
+     * @param value The value, which is wrapped to fit
+     */
+    public void set(int index, long value) {
+        values[index] = (int)value;
+    }
+
+    /**
+     * Set an element
+     * @param index The index of the element
+     * @param value The value
+     */
+    public void set(int index, UnsignedWord value) {
+        values[index] = (int)value.toLong();
+    }
+
+    /**
+     * Copy this array into a new int[]
+     * @return The copy
+     */
+    public int[] toIntArray() {
+        return values.clone();
+    }
+
+    /**
+     * Copy this array into a new UnsignedWord[]
+     * @return The copy
+     */
+    public UnsignedWord[] toArray() {
+        UnsignedWord[] array = new UnsignedWord[values.length];
+        for(int i = 0; i < values.length; i++) {
+            array[i] = get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Get the backing array, for bulk operations within this package
+     * @return The backing array
+     */
+    int[] array() {
+        return values;
+    }
+
+    /**
+     * Perform the logical and of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray and(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.AND, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical or of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray or(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.OR, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical exclusive-or of each element of this array with the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray xor(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.XOR, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Perform the logical not of each element of this array, in place
+     * @return This array
+     */
+    public UnsignedWordArray not() {
+        BulkOps.get().not(values);
+        return this;
+    }
+
+    /**
+     * Add the matching element of another array to each element of this one, in place, wrapping around on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray addWrapping(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.ADD, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Add the matching element of another array to each element of this one, in place, clamping to the nearest bound
+     * on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray addSaturating(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.ADD_SATURATING, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Subtract the matching element of another array from each element of this one, in place, wrapping around on
+     * overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray subtractWrapping(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.SUBTRACT, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Subtract the matching element of another array from each element of this one, in place, clamping to the nearest
+     * bound on overflow
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray subtractSaturating(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.SUBTRACT_SATURATING, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Replace each element of this array with the smaller of it and the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray min(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.MIN, false, values, other.values);
+        return this;
+    }
+
+    /**
+     * Replace each element of this array with the larger of it and the matching element of another, in place
+     * @param other The other array, which must be the same length
+     * @return This array
+     */
+    public UnsignedWordArray max(UnsignedWordArray other) {
+        checkLength(other);
+        BulkOps.get().apply(BulkOps.Op.MAX, false, values, other.values);
+        return this;
+    }
+
+    private void checkLength(UnsignedWordArray other) {
+        if(other.values.length != values.length) {
+            throw new IllegalArgumentException(
+                    "Arrays differ in length: " + values.length + " and " + other.values.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("UnsignedWordArray(values=[");
+        for(int i = 0; i < values.length; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(getLong(i));
+        }
+        return builder.append("])").toString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.milomarten.bittwiddle.model;
+
+/**
+ * Sizing for the caches of preallocated values kept by the 16- and 32-bit model types.
+ * Each type caches every value from its low end up to a configurable high end, which can be set with a system property
+ * named after the type, such as -Dcom.github.milomarten.bittwiddle.model.UnsignedShort.cache.high=4095. Values
+ * outside of the cache are allocated as needed.
+ */
+final class ValueCache {
+    /**
+     * The largest value cached, if no other is configured
+     */
+    static final int DEFAULT_HIGH = 1023;
+
+    /**
+     * The largest value which may be configured, to keep the caches from taking too much memory
+     */
+    static final int MAX_HIGH = 65_535;
+
+    private ValueCache() {
+    }
+
+    /**
+     * Get the largest value to cache for a type
+     * @param type The type being cached
+     * @param low The smallest value cached
+     * @param max The largest value the type can hold
+     * @return The largest value to cache, which is low - 1 if nothing should be cached
+     */
+    static int high(Class<?> type, int low, int max) {
+        int high = DEFAULT_HIGH;
+        String configured = System.getProperty(type.getName() + ".cache.high");
+        if(configured != null) {
+            try {
+                high = Integer.parseInt(configured.trim());
+            } catch (NumberFormatException ignored) {
+                // Fall back to the default
+            }
+        }
+        return Math.max(low - 1, Math.min(high, Math.min(max, MAX_HIGH)));
+    }
+}
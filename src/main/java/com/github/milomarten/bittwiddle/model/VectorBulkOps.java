@@ -0,0 +1,145 @@
+package com.github.milomarten.bittwiddle.model;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.Vector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bulk operations using the Vector API, a full vector at a time.
+ * The Vector API has no saturating arithmetic, so it is built from wrapping arithmetic, a mask of the lanes which
+ * overflowed, and a blend with the bound. This class must only be loaded through BulkOps, which falls back to the
+ * scalar implementation if the vector module is missing.
+ */
+class VectorBulkOps extends BulkOps {
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    void apply(Op op, boolean signed, byte[] a, byte[] b) {
+        int bound = BYTES.loopBound(a.length);
+        for(int i = 0; i < bound; i += BYTES.length()) {
+            Vector<Byte> x = ByteVector.fromArray(BYTES, a, i);
+            Vector<Byte> y = ByteVector.fromArray(BYTES, b, i);
+            ((ByteVector)combine(op, signed, x, y)).intoArray(a, i);
+        }
+        ScalarBulkOps.apply(op, signed, a, b, bound);
+    }
+
+    @Override
+    void apply(Op op, boolean signed, short[] a, short[] b) {
+        int bound = SHORTS.loopBound(a.length);
+        for(int i = 0; i < bound; i += SHORTS.length()) {
+            Vector<Short> x = ShortVector.fromArray(SHORTS, a, i);
+            Vector<Short> y = ShortVector.fromArray(SHORTS, b, i);
+            ((ShortVector)combine(op, signed, x, y)).intoArray(a, i);
+        }
+        ScalarBulkOps.apply(op, signed, a, b, bound);
+    }
+
+    @Override
+    void apply(Op op, boolean signed, int[] a, int[] b) {
+        int bound = INTS.loopBound(a.length);
+        for(int i = 0; i < bound; i += INTS.length()) {
+            Vector<Integer> x = IntVector.fromArray(INTS, a, i);
+            Vector<Integer> y = IntVector.fromArray(INTS, b, i);
+            ((IntVector)combine(op, signed, x, y)).intoArray(a, i);
+        }
+        ScalarBulkOps.apply(op, signed, a, b, bound);
+    }
+
+    @Override
+    void not(byte[] a) {
+        int bound = BYTES.loopBound(a.length);
+        for(int i = 0; i < bound; i += BYTES.length()) {
+            ByteVector.fromArray(BYTES, a, i).not().intoArray(a, i);
+        }
+        ScalarBulkOps.not(a, bound);
+    }
+
+    @Override
+    void not(short[] a) {
+        int bound = SHORTS.loopBound(a.length);
+        for(int i = 0; i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, a, i).not().intoArray(a, i);
+        }
+        ScalarBulkOps.not(a, bound);
+    }
+
+    @Override
+    void not(int[] a) {
+        int bound = INTS.loopBound(a.length);
+        for(int i = 0; i < bound; i += INTS.length()) {
+            IntVector.fromArray(INTS, a, i).not().intoArray(a, i);
+        }
+        ScalarBulkOps.not(a, bound);
+    }
+
+    private static <E> Vector<E> combine(Op op, boolean signed, Vector<E> x, Vector<E> y) {
+        switch(op) {
+            case AND:
+                return x.lanewise(VectorOperators.AND, y);
+            case OR:
+                return x.lanewise(VectorOperators.OR, y);
+            case XOR:
+                return x.lanewise(VectorOperators.XOR, y);
+            case ADD:
+                return x.lanewise(VectorOperators.ADD, y);
+            case SUBTRACT:
+                return x.lanewise(VectorOperators.SUB, y);
+            case ADD_SATURATING: {
+                Vector<E> sum = x.lanewise(VectorOperators.ADD, y);
+                if(signed) {
+                    // Overflow if both operands have a different sign to the sum
+                    VectorMask<E> overflow = x.lanewise(VectorOperators.XOR, sum)
+                            .lanewise(VectorOperators.AND, y.lanewise(VectorOperators.XOR, sum))
+                            .compare(VectorOperators.LT, 0);
+                    return sum.blend(signedBound(x), overflow);
+                }
+                return sum.blend(x.broadcast(-1), sum.compare(VectorOperators.UNSIGNED_LT, x));
+            }
+            case SUBTRACT_SATURATING: {
+                Vector<E> difference = x.lanewise(VectorOperators.SUB, y);
+                if(signed) {
+                    // Overflow if the operands differ in sign, and the difference differs in sign from the first
+                    VectorMask<E> overflow = x.lanewise(VectorOperators.XOR, y)
+                            .lanewise(VectorOperators.AND, x.lanewise(VectorOperators.XOR, difference))
+                            .compare(VectorOperators.LT, 0);
+                    return difference.blend(signedBound(x), overflow);
+                }
+                return difference.blend(x.broadcast(0), x.compare(VectorOperators.UNSIGNED_LT, y));
+            }
+            case MIN:
+                if(signed) {
+                    return x.lanewise(VectorOperators.MIN, y);
+                }
+                return x.blend(y, y.compare(VectorOperators.UNSIGNED_LT, x));
+            case MAX:
+                if(signed) {
+                    return x.lanewise(VectorOperators.MAX, y);
+                }
+                return x.blend(y, x.compare(VectorOperators.UNSIGNED_LT, y));
+            default:
+                throw new IllegalArgumentException("Unknown operation " + op);
+        }
+    }
+
+    /**
+     * Get the bound a signed operation overflowed past, which is on the same side of zero as its first operand
+     * @param x The first operand
+     * @return The minimum value where x is negative, and the maximum value elsewhere
+     */
+    private static <E> Vector<E> signedBound(Vector<E> x) {
+        Vector<E> max = x.broadcast(-1).lanewise(VectorOperators.LSHR, 1);
+        return x.lanewise(VectorOperators.ASHR, x.elementSize() - 1).lanewise(VectorOperators.XOR, max);
+    }
+}
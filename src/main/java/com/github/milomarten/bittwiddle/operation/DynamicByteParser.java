@@ -6,15 +6,18 @@ package com.github.milomarten.bittwiddle.operation;
  */
 public interface DynamicByteParser<T> {
     /**
-     * Read this object dynamically using an Op stream
+     * Read this object dynamically using an Op stream.
+     * The stream is sequential: each read consumes the bytes it reads, so consecutive reads return consecutive fields.
      * @param ops The op stream to use
      * @return The parsed object
      */
     T read(ReadOp ops);
 
     /**
-     * Write this object dynamically using an Op stream
+     * Write this object dynamically using an Op stream.
+     * The stream is sequential: each write advances past the bytes it writes, so consecutive writes set consecutive fields.
+     * @param object The object to write
      * @param ops The op stream to use
      */
-    void write(WriteOp ops);
+    void write(T object, WriteOp ops);
 }
@@ -2,6 +2,9 @@ package com.github.milomarten.bittwiddle.operation;
 
 import com.github.milomarten.bittwiddle.model.*;
 
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Encapsulates read-based operations
  */
@@ -49,6 +52,43 @@ public interface ReadOp extends Op<ReadOp> {
      */
     UnsignedWord unsignedWord();
 
+    /**
+     * Get several consecutive UnsignedBytes at the cursor, in one bulk read
+     * @param n The number of bytes to read
+     * @return The raw bytes. Use Byte.toUnsignedInt to interpret each as unsigned
+     */
+    byte[] unsignedBytes(int n);
+
+    /**
+     * Get several consecutive bits at the cursor, in one bulk read.
+     * Bits are numbered the same as in bit(), so the read covers n / 8 bytes, rounded up.
+     * @param n The number of bits to read
+     * @return The bits, packed into a BitVector
+     */
+    BitVector bits(int n);
+
+    /**
+     * Get several consecutive UnsignedShorts at the cursor, in one bulk read
+     * @param n The number of shorts to read
+     * @return The raw shorts. Use Short.toUnsignedInt to interpret each as unsigned
+     */
+    short[] unsignedShorts(int n);
+
+    /**
+     * Get several consecutive UnsignedWords at the cursor, in one bulk read
+     * @param n The number of words to read
+     * @return The raw words. Use Integer.toUnsignedLong to interpret each as unsigned
+     */
+    int[] unsignedWords(int n);
+
+    /**
+     * Get a read-only view of a region at the cursor.
+     * Where the backing storage is already in memory, the view is not a copy.
+     * @param length The number of bytes in the region
+     * @return A read-only buffer over the region, positioned at its start
+     */
+    ByteBuffer slice(int length);
+
     /**
      * Get the specified object at the cursor
      * @param parser The parser to use
@@ -64,4 +104,76 @@ public interface ReadOp extends Op<ReadOp> {
      * @return The created object
      */
     <T> T get(DynamicByteParser<T> parser);
+
+    /* Asynchronous Operations */
+    // By default, these run the blocking version on the common pool. Implementations should override them with
+    // truly asynchronous I/O where they can.
+
+    /**
+     * Get the SignedByte at the cursor, without blocking
+     * @return A future completed with the signed byte at the cursor
+     */
+    default CompletableFuture<SignedByte> signedByteAsync() {
+        return CompletableFuture.supplyAsync(this::signedByte);
+    }
+
+    /**
+     * Get the UnsignedByte at the cursor, without blocking
+     * @return A future completed with the unsigned byte at the cursor
+     */
+    default CompletableFuture<UnsignedByte> unsignedByteAsync() {
+        return CompletableFuture.supplyAsync(this::unsignedByte);
+    }
+
+    /**
+     * Get the SignedShort at the cursor, without blocking
+     * @return A future completed with the signed short at the cursor
+     */
+    default CompletableFuture<SignedShort> signedShortAsync() {
+        return CompletableFuture.supplyAsync(this::signedShort);
+    }
+
+    /**
+     * Get the UnsignedShort at the cursor, without blocking
+     * @return A future completed with the unsigned short at the cursor
+     */
+    default CompletableFuture<UnsignedShort> unsignedShortAsync() {
+        return CompletableFuture.supplyAsync(this::unsignedShort);
+    }
+
+    /**
+     * Get the SignedWord at the cursor, without blocking
+     * @return A future completed with the signed word at the cursor
+     */
+    default CompletableFuture<SignedWord> signedWordAsync() {
+        return CompletableFuture.supplyAsync(this::signedWord);
+    }
+
+    /**
+     * Get the UnsignedWord at the cursor, without blocking
+     * @return A future completed with the unsigned word at the cursor
+     */
+    default CompletableFuture<UnsignedWord> unsignedWordAsync() {
+        return CompletableFuture.supplyAsync(this::unsignedWord);
+    }
+
+    /**
+     * Get the specified object at the cursor, without blocking
+     * @param parser The parser to use
+     * @param <T> The type the parser returns
+     * @return A future completed with the created object
+     */
+    default <T> CompletableFuture<T> getAsync(StaticByteParser<T> parser) {
+        return CompletableFuture.supplyAsync(() -> get(parser));
+    }
+
+    /**
+     * Get the specified object at the cursor, without blocking
+     * @param parser The parser to use
+     * @param <T> The type the parser returns
+     * @return A future completed with the created object
+     */
+    default <T> CompletableFuture<T> getAsync(DynamicByteParser<T> parser) {
+        return CompletableFuture.supplyAsync(() -> get(parser));
+    }
 }
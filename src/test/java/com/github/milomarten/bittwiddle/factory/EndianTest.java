@@ -0,0 +1,54 @@
+package com.github.milomarten.bittwiddle.factory;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndianTest {
+    private static final byte[] BYTES = new byte[]{0x01, 0x02, 0x03, (byte)0x84};
+
+    @Test
+    public void testLittleDecodeShort() {
+        assertEquals((short)0x0201, Endian.LITTLE.decodeShort(BYTES, 0));
+    }
+
+    @Test
+    public void testLittleDecodeInt() {
+        assertEquals(0x84030201, Endian.LITTLE.decodeInt(BYTES, 0));
+    }
+
+    @Test
+    public void testBigDecodeShort() {
+        assertEquals((short)0x0102, Endian.BIG.decodeShort(BYTES, 0));
+    }
+
+    @Test
+    public void testBigDecodeInt() {
+        assertEquals(0x01020384, Endian.BIG.decodeInt(BYTES, 0));
+    }
+
+    @Test
+    public void testDecodeFromBufferIgnoresBufferOrder() {
+        ByteBuffer buffer = ByteBuffer.wrap(BYTES);
+        assertEquals((short)0x8403, Endian.LITTLE.decodeShort(buffer, 2));
+        assertEquals(0x84030201, Endian.LITTLE.decodeInt(buffer, 0));
+    }
+
+    @Test
+    public void testEncodeRoundTrip() {
+        byte[] bites = new byte[4];
+        Endian.LITTLE.encodeInt(bites, 0, 0x84030201);
+        assertArrayEquals(BYTES, bites);
+        Endian.BIG.encodeShort(bites, 0, (short)0x0102);
+        assertEquals(0x84030201, Endian.LITTLE.decodeInt(bites, 0));
+    }
+
+    @Test
+    public void testEncodeIntoBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        Endian.LITTLE.encodeInt(buffer, 0, 0x84030201);
+        assertArrayEquals(BYTES, buffer.array());
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.milomarten.bittwiddle.factory;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCacheTest {
+    private static final Path FILE = Paths.get("rom.gba");
+    private static final Path OTHER_FILE = Paths.get("other.gba");
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final PageLoader loader = (position, length) -> {
+        loads.incrementAndGet();
+        byte[] page = new byte[length];
+        page[0] = (byte)(position / length);
+        return page;
+    };
+
+    @Test
+    public void testMissThenHit() throws IOException {
+        PageCache cache = new PageCache(16, 64);
+        byte[] first = cache.getPage(FILE, 2, loader);
+        byte[] second = cache.getPage(FILE, 2, loader);
+        assertSame(first, second);
+        assertEquals(2, first[0]);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testFilesDoNotSharePages() throws IOException {
+        PageCache cache = new PageCache(16, 64);
+        cache.getPage(FILE, 0, loader);
+        cache.getPage(OTHER_FILE, 0, loader);
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws IOException {
+        PageCache cache = new PageCache(16, 32);
+        assertEquals(2, cache.getCapacity());
+        cache.getPage(FILE, 0, loader);
+        cache.getPage(FILE, 1, loader);
+        cache.getPage(FILE, 0, loader);
+        cache.getPage(FILE, 2, loader);
+        assertEquals(1, cache.getEvictions());
+        cache.getPage(FILE, 0, loader);
+        assertEquals(2, cache.getHits());
+        cache.getPage(FILE, 1, loader);
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testInvalidateRange() throws IOException {
+        PageCache cache = new PageCache(16, 1024);
+        for(int i = 0; i < 4; i++) {
+            cache.getPage(FILE, i, loader);
+        }
+        cache.invalidate(FILE, 17, 33);
+        assertEquals(2, cache.size());
+        cache.getPage(FILE, 0, loader);
+        cache.getPage(FILE, 1, loader);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testInvalidateFile() throws IOException {
+        PageCache cache = new PageCache(16, 1024);
+        cache.getPage(FILE, 0, loader);
+        cache.getPage(OTHER_FILE, 0, loader);
+        cache.invalidate(FILE);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testPageSizeMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new PageCache(100, 1024));
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+import com.github.milomarten.bittwiddle.factory.PageCache;
+import com.github.milomarten.bittwiddle.operation.DynamicByteParser;
+import com.github.milomarten.bittwiddle.operation.ReadOp;
+import com.github.milomarten.bittwiddle.operation.WriteOp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncReadTest {
+    private static final int SIZE = 4096;
+
+    private static final DynamicByteParser<byte[]> STRING = new DynamicByteParser<>() {
+        @Override
+        public byte[] read(ReadOp ops) {
+            int length = ops.unsignedByte().toInt();
+            return ops.unsignedBytes(length);
+        }
+
+        @Override
+        public void write(byte[] object, WriteOp ops) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private Path rom;
+    private GBASession session;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        byte[] bites = new byte[SIZE];
+        for(int i = 0; i < SIZE; i++) {
+            bites[i] = (byte)(i * 7);
+        }
+        byte[] words = {0x34, 0x12, (byte)0xFE, (byte)0xFF, 0x78, 0x56, 0x34, 0x12};
+        System.arraycopy(words, 0, bites, 0x100, words.length);
+        // A pointer to 0x100
+        System.arraycopy(new byte[]{0x00, 0x01, 0x00, 0x08}, 0, bites, 0x200, 4);
+        System.arraycopy(new byte[]{3, 5, 6, 7}, 0, bites, 0x300, 4);
+        rom = Files.createTempFile("async", ".gba");
+        Files.write(rom, bites);
+        session = GBAFile.of(rom.toFile()).openSession();
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        session.close();
+        Files.deleteIfExists(rom);
+    }
+
+    private List<LongFunction<ReadOp>> readers() {
+        return List.of(
+                GBAFile.of(rom.toFile())::read,
+                GBAFile.mapped(rom.toFile())::read,
+                GBAFile.cached(rom.toFile(), new PageCache(512, 4096))::read,
+                session::read);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testAsyncReadsMatchBlockingReads() throws Exception {
+        for(LongFunction<ReadOp> reader : readers()) {
+            for(long offset : new long[]{0x100, 0x101, 0x1FF}) {
+                ReadOp read = reader.apply(offset);
+                assertEquals(read.signedByte(), await(read.signedByteAsync()));
+                assertEquals(read.unsignedByte(), await(read.unsignedByteAsync()));
+                assertEquals(read.signedShort(), await(read.signedShortAsync()));
+                assertEquals(read.unsignedShort(), await(read.unsignedShortAsync()));
+                assertEquals(read.signedWord(), await(read.signedWordAsync()));
+                assertEquals(read.unsignedWord(), await(read.unsignedWordAsync()));
+            }
+        }
+    }
+
+    @Test
+    public void testAsyncReadsFollowPointers() throws Exception {
+        for(LongFunction<ReadOp> reader : readers()) {
+            GBAPointer pointer = await(reader.apply(0x200).getAsync(GBAPointer.PARSER));
+            assertEquals(new GBAPointer(GBAPointer.Bank.ROM, 0x100), pointer);
+            assertEquals(0x12345678L, await(reader.apply(0x200).follow().advance(4).unsignedWordAsync()).toLong());
+        }
+    }
+
+    @Test
+    public void testDynamicParsersRunOffTheCommonPool() throws Exception {
+        for(LongFunction<ReadOp> reader : readers()) {
+            CompletableFuture<String> thread = reader.apply(0x300)
+                    .getAsync(new DynamicByteParser<String>() {
+                        @Override
+                        public String read(ReadOp ops) {
+                            assertArrayEquals(new byte[]{5, 6, 7}, STRING.read(ops));
+                            return Thread.currentThread().getName();
+                        }
+
+                        @Override
+                        public void write(String object, WriteOp ops) {
+                            throw new UnsupportedOperationException();
+                        }
+                    });
+            assertTrue(await(thread).startsWith("rom-read-"));
+        }
+    }
+
+    @Test
+    public void testAsyncReadPastEndFails() throws Exception {
+        for(LongFunction<ReadOp> reader : readers()) {
+            CompletableFuture<?> read = reader.apply(SIZE - 2).unsignedWordAsync();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> await(read));
+            assertTrue(e.getCause() instanceof OutOfFileException);
+        }
+    }
+
+    @Test
+    public void testChannelReadThatCannotStartFails() throws Exception {
+        try(AsynchronousFileChannel channel = AsynchronousFileChannel.open(rom, StandardOpenOption.READ)) {
+            CompletableFuture<ByteBuffer> read = AsyncReads.read(channel, -1, 4);
+            ExecutionException e = assertThrows(ExecutionException.class, () -> await(read));
+            assertTrue(e.getCause() instanceof OutOfFileException);
+        }
+        AsynchronousFileChannel closed = AsynchronousFileChannel.open(rom, StandardOpenOption.READ);
+        closed.close();
+        assertThrows(ExecutionException.class, () -> await(AsyncReads.read(closed, 0, 4)));
+    }
+
+    @Test
+    public void testChannelReadsWholeRegion() throws Exception {
+        try(AsynchronousFileChannel channel = AsynchronousFileChannel.open(rom, StandardOpenOption.READ)) {
+            ByteBuffer read = await(AsyncReads.read(channel, 0x100, 8));
+            assertEquals(8, read.remaining());
+            assertEquals(0x34, read.get(0));
+            assertEquals(0x12, read.get(7));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferedCursorTest {
+    private static final int BLOCK = BufferedCursor.BLOCK_SIZE;
+    private static final int SIZE = 3 * BLOCK + 100;
+
+    private byte[] bites;
+    private CountingCursor delegate;
+    private BufferedCursor cursor;
+
+    @BeforeEach
+    public void createCursor() {
+        bites = new byte[SIZE];
+        for(int i = 0; i < SIZE; i++) {
+            bites[i] = (byte)(i * 31);
+        }
+        delegate = new CountingCursor(ByteBuffer.wrap(bites));
+        cursor = new BufferedCursor(delegate);
+    }
+
+    private int expectedInt(int offset) {
+        return GBAFile.ARCHITECTURE.decodeInt(bites, offset);
+    }
+
+    @Test
+    public void testSequentialReadsAreReadAheadInBlocks() throws IOException {
+        for(int offset = 0; offset + Integer.BYTES <= SIZE; offset += Integer.BYTES) {
+            assertEquals(expectedInt(offset), cursor.readInt(GBAFile.ARCHITECTURE));
+        }
+        assertEquals(4, delegate.reads);
+    }
+
+    @Test
+    public void testReadsAcrossTheEndOfTheWindow() throws IOException {
+        cursor.seek(BLOCK - 2);
+        assertEquals(expectedInt(BLOCK - 2), cursor.readInt(GBAFile.ARCHITECTURE));
+        byte[] read = new byte[10];
+        cursor.seek(2 * BLOCK - 5);
+        cursor.readFully(read);
+        for(int i = 0; i < read.length; i++) {
+            assertEquals(bites[2 * BLOCK - 5 + i], read[i]);
+        }
+    }
+
+    @Test
+    public void testSeekWithinWindowDoesNotRead() throws IOException {
+        cursor.seek(100);
+        cursor.readByte();
+        int reads = delegate.reads;
+        int seeks = delegate.seeks;
+        cursor.seek(BLOCK + 99);
+        assertEquals(bites[BLOCK + 99], cursor.readByte());
+        cursor.seek(100);
+        assertEquals(bites[100], cursor.readByte());
+        assertEquals(reads, delegate.reads);
+        assertEquals(seeks, delegate.seeks);
+    }
+
+    @Test
+    public void testSeekOutsideWindowReadsFromThere() throws IOException {
+        cursor.readByte();
+        cursor.seek(3 * BLOCK);
+        assertEquals(bites[3 * BLOCK], cursor.readByte());
+        cursor.seek(1);
+        assertEquals(bites[1], cursor.readByte());
+        cursor.skipBytes(BLOCK);
+        assertEquals(bites[BLOCK + 2], cursor.readByte());
+    }
+
+    @Test
+    public void testLargeReadsBypassTheWindow() throws IOException {
+        byte[] read = new byte[2 * BLOCK];
+        cursor.seek(7);
+        cursor.readFully(read);
+        assertEquals(1, delegate.reads);
+        assertEquals(bites[7], read[0]);
+        assertEquals(bites[2 * BLOCK + 6], read[read.length - 1]);
+        assertEquals(bites[2 * BLOCK + 7], cursor.readByte());
+    }
+
+    @Test
+    public void testEndOfFile() throws IOException {
+        cursor.seek(SIZE - 2);
+        assertThrows(EOFException.class, () -> cursor.readInt(GBAFile.ARCHITECTURE));
+        cursor.seek(SIZE - 2);
+        assertEquals(2, cursor.read(new byte[4], 0, 4));
+        assertEquals(-1, cursor.read(new byte[4], 0, 4));
+    }
+
+    /**
+     * A cursor over memory, which counts how often it is read from and moved
+     */
+    private static class CountingCursor extends BufferCursor {
+        private int reads;
+        private int seeks;
+
+        CountingCursor(ByteBuffer buffer) {
+            super(buffer);
+        }
+
+        @Override
+        public void seek(long position) {
+            seeks++;
+            super.seek(position);
+        }
+
+        @Override
+        public int read(byte[] bites, int offset, int length) {
+            reads++;
+            return super.read(bites, offset, length);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChainTest {
+    private static final int SIZE = 0x100;
+
+    private static byte[] rom() {
+        byte[] bites = new byte[SIZE];
+        // A pointer at 0x10 to 0x40, and one at 0x44 to 0x80
+        System.arraycopy(new byte[]{0x40, 0, 0, 0x08}, 0, bites, 0x10, 4);
+        System.arraycopy(new byte[]{(byte)0x80, 0, 0, 0x08}, 0, bites, 0x44, 4);
+        return bites;
+    }
+
+    private static RomSource source(byte[] bites) {
+        return () -> new BufferCursor(ByteBuffer.wrap(bites));
+    }
+
+    @Test
+    public void testAdvancesFoldIntoOneOffset() {
+        Chain chain = Chain.START.advance(2).advance(3).advance(-1);
+        assertTrue(chain.isStatic());
+        assertEquals(4, chain.offset());
+        assertEquals(Chain.at(4), chain);
+    }
+
+    @Test
+    public void testAdvancesAfterFollowFoldTogether() {
+        assertEquals(Chain.at(0x10).follow().advance(4), Chain.at(0x10).follow().advance(1).advance(3));
+        assertNotEquals(Chain.at(0x10).follow().advance(4), Chain.at(0x10).advance(4).follow());
+    }
+
+    @Test
+    public void testChainIsNotChangedByAdvance() {
+        Chain chain = Chain.at(0x10);
+        chain.advance(4);
+        chain.follow();
+        assertEquals(0x10, chain.offset());
+    }
+
+    @Test
+    public void testOffsetOfFollowedChainFails() {
+        Chain chain = Chain.at(0x10).follow();
+        assertFalse(chain.isStatic());
+        assertThrows(IllegalStateException.class, chain::offset);
+    }
+
+    @Test
+    public void testFollowReadsAtDisplacedPosition() throws IOException {
+        byte[] bites = rom();
+        Chain chain = Chain.at(0x08).advance(8).follow().advance(4).follow().advance(2);
+        try (RomCursor cursor = new BufferCursor(ByteBuffer.wrap(bites))) {
+            assertEquals(0x82, chain.locate(cursor));
+            chain.resolve(cursor);
+            assertEquals(0x82, cursor.position());
+        }
+    }
+
+    @Test
+    public void testAsyncResolveMatchesBlocking() throws Exception {
+        Chain chain = Chain.at(0x08).advance(8).follow().advance(4).follow().advance(2);
+        assertEquals(0x82L, chain.resolveAsync(source(rom())).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDeepChainResolvesWithoutRecursion() throws Exception {
+        // The pointer at 0 points back to 0, so it can be followed any number of times
+        byte[] bites = new byte[SIZE];
+        bites[3] = 0x08;
+        Chain chain = Chain.START;
+        for(int i = 0; i < 10_000; i++) {
+            chain = chain.follow();
+        }
+        chain = chain.advance(5);
+        try (RomCursor cursor = new BufferCursor(ByteBuffer.wrap(bites))) {
+            assertEquals(5, chain.locate(cursor));
+        }
+        assertEquals(5L, chain.resolveAsync(source(bites)).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPointerOutsideRomFails() throws IOException {
+        byte[] bites = {0, 0, 0, 0x02};
+        try (RomCursor cursor = new BufferCursor(ByteBuffer.wrap(bites))) {
+            assertThrows(InvalidPointerException.class, () -> Chain.readPointer(cursor));
+        }
+    }
+
+    @Test
+    public void testPointerIntoSecondRomBank() throws IOException {
+        byte[] bites = {0x10, 0, 0, 0x09};
+        try (RomCursor cursor = new BufferCursor(ByteBuffer.wrap(bites))) {
+            assertEquals(0x1000010, Chain.readPointer(cursor));
+        }
+        assertArrayEquals(bites, GBAPointer.PARSER.write(new GBAPointer(GBAPointer.Bank.ROM, 0x1000010)));
+    }
+
+    @Test
+    public void testTruncatedPointerFails() throws IOException {
+        byte[] bites = {0, 0, 0};
+        try (RomCursor cursor = new BufferCursor(ByteBuffer.wrap(bites))) {
+            assertThrows(InvalidPointerException.class, () -> Chain.readPointer(cursor));
+        }
+    }
+}
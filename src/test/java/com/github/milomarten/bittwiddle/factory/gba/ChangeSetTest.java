@@ -0,0 +1,85 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeSetTest {
+    @Test
+    public void testDisjointWritesStaySeparate() {
+        ChangeSet changes = new ChangeSet();
+        changes.put(10, new byte[]{1, 2});
+        changes.put(0, new byte[]{3});
+        NavigableMap<Long, byte[]> ranges = changes.getRanges();
+        assertEquals(2, ranges.size());
+        assertEquals(0L, ranges.firstKey());
+        assertEquals(10L, ranges.lastKey());
+    }
+
+    @Test
+    public void testOverlappingWritesMergeAndLaterWins() {
+        ChangeSet changes = new ChangeSet();
+        changes.put(2, new byte[]{1, 1, 1, 1});
+        changes.put(8, new byte[]{4});
+        changes.put(0, new byte[]{2, 2, 2});
+        changes.put(5, new byte[]{3, 3, 3});
+        NavigableMap<Long, byte[]> ranges = changes.getRanges();
+        assertEquals(2, ranges.size());
+        assertArrayEquals(new byte[]{2, 2, 2, 1, 1, 3, 3, 3}, ranges.get(0L));
+        assertArrayEquals(new byte[]{4}, ranges.get(8L));
+    }
+
+    @Test
+    public void testCoalesceMergesAdjacentRanges() {
+        ChangeSet changes = new ChangeSet();
+        changes.put(4, new byte[]{2, 2});
+        changes.put(0, new byte[]{1, 1, 1, 1});
+        changes.put(7, new byte[]{3});
+        assertEquals(3, changes.getRanges().size());
+        NavigableMap<Long, byte[]> coalesced = changes.coalesce();
+        assertEquals(2, coalesced.size());
+        assertArrayEquals(new byte[]{1, 1, 1, 1, 2, 2}, coalesced.get(0L));
+        assertArrayEquals(new byte[]{3}, coalesced.get(7L));
+    }
+
+    @Test
+    public void testOverlayPatchesOnlyStagedBytes() {
+        ChangeSet changes = new ChangeSet();
+        changes.put(1, new byte[]{9});
+        changes.put(4, new byte[]{8, 8, 8});
+        byte[] bites = new byte[]{0, 0, 0, 0, 0};
+        changes.overlay(2, bites, 1, 4);
+        assertArrayEquals(new byte[]{0, 0, 0, 8, 8}, bites);
+    }
+
+    @Test
+    public void testWriteInsideRangeIsPatched() {
+        ChangeSet changes = new ChangeSet();
+        byte[] staged = {1, 1, 1, 1, 1};
+        changes.put(0, staged);
+        changes.put(1, new byte[]{2, 2});
+        changes.put(4, new byte[]{3});
+        assertEquals(1, changes.getRanges().size());
+        assertArrayEquals(new byte[]{1, 2, 2, 1, 3}, changes.getRanges().get(0L));
+        // The staged array may be shared, so it is never written to
+        assertArrayEquals(new byte[]{1, 1, 1, 1, 1}, staged);
+    }
+
+    @Test
+    public void testCoalesceJoinsLongRunsOfSmallWrites() {
+        ChangeSet changes = new ChangeSet();
+        byte[] expected = new byte[10_000];
+        for(int i = 0; i < expected.length; i++) {
+            expected[i] = (byte)i;
+            changes.put(0x100 + i, new byte[]{(byte)i});
+        }
+        changes.put(0x100 + expected.length + 1, new byte[]{7});
+        assertEquals(expected.length + 1, changes.getRanges().size());
+        NavigableMap<Long, byte[]> coalesced = changes.coalesce();
+        assertEquals(2, coalesced.size());
+        assertArrayEquals(expected, coalesced.get(0x100L));
+        assertArrayEquals(new byte[]{7}, coalesced.get(0x100L + expected.length + 1));
+    }
+}
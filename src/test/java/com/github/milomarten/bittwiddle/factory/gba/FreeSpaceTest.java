@@ -0,0 +1,81 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreeSpaceTest {
+    private static final int SIZE = (1 << 20) + 4096;
+
+    private Path rom;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        byte[] bites = new byte[SIZE];
+        Arrays.fill(bites, (byte)0x11);
+        // A run which crosses the boundary between two scan chunks
+        Arrays.fill(bites, (1 << 20) - 100, (1 << 20) + 100, (byte)0xFF);
+        Arrays.fill(bites, 0x1000, 0x1040, (byte)0x00);
+        Arrays.fill(bites, 0x2001, 0x2011, (byte)0xFF);
+        Arrays.fill(bites, 0x3000, 0x3008, (byte)0xFF);
+        rom = Files.createTempFile("free", ".gba");
+        Files.write(rom, bites);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+    }
+
+    @Test
+    public void testScanFindsRunsAcrossChunks() {
+        FreeSpace space = FreeSpace.scan(GBAFile.of(rom.toFile()));
+        assertEquals(3, space.getRunCount());
+        assertEquals(200 + 0x40 + 0x10, space.getFreeBytes());
+        assertEquals(200, space.getLargestRun());
+    }
+
+    @Test
+    public void testAllocateUsesBestFit() {
+        FreeSpace space = FreeSpace.scan(GBAFile.of(rom.toFile()));
+        assertEquals(0x2001, space.allocate(0x10));
+        assertEquals(0x1000, space.allocate(0x10));
+        assertEquals(0x1010, space.allocate(0x30));
+        assertEquals((1 << 20) - 100, space.allocate(150));
+        assertThrows(NoFreeSpaceException.class, () -> space.allocate(51));
+    }
+
+    @Test
+    public void testAllocateRespectsAlignment() {
+        FreeSpace space = FreeSpace.scan(GBAFile.of(rom.toFile()));
+        assertEquals(0x2004, space.allocate(0xC, 4));
+        // The leftovers on either side of the allocation stay free
+        assertEquals(4, space.getRunCount());
+        assertEquals(0x1000, space.allocate(0x10, 0x100));
+        assertEquals(1 << 20, space.allocate(0x10, 1 << 20));
+        assertThrows(NoFreeSpaceException.class, () -> space.allocate(0x10, 1 << 21));
+    }
+
+    @Test
+    public void testFreeJoinsNeighbours() {
+        FreeSpace space = FreeSpace.empty();
+        space.free(0x100, 0x10);
+        space.free(0x120, 0x10);
+        assertEquals(2, space.getRunCount());
+        space.free(0x110, 0x10);
+        assertEquals(1, space.getRunCount());
+        assertEquals(0x30, space.getLargestRun());
+        space.free(0x108, 0x40);
+        assertEquals(1, space.getRunCount());
+        assertEquals(0x48, space.getFreeBytes());
+        assertEquals(0x100, space.allocate(0x48));
+        assertEquals(0, space.getFreeBytes());
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+import com.github.milomarten.bittwiddle.model.SignedWord;
+import com.github.milomarten.bittwiddle.model.UnsignedByte;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GBAOverlayTest {
+    private static final int SIZE = 5 * GBAOverlay.PAGE_SIZE + 100;
+
+    private Path rom;
+    private Path target;
+    private byte[] bites;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        bites = new byte[SIZE];
+        new Random(0).nextBytes(bites);
+        rom = Files.createTempFile("overlay", ".gba");
+        target = Files.createTempFile("overlay-commit", ".gba");
+        Files.write(rom, bites);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+        Files.deleteIfExists(target);
+    }
+
+    @Test
+    public void testWritesDoNotTouchBase() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        GBAOverlay overlay = file.overlay();
+        overlay.write(0x10).setSignedWord(SignedWord.from(0x11223344)).apply();
+        assertEquals(SignedWord.from(0x11223344), overlay.read(0x10).signedWord());
+        assertArrayEquals(bites, Files.readAllBytes(rom));
+        assertEquals(1, overlay.getDirtyPageCount());
+    }
+
+    @Test
+    public void testReadsMergeAcrossPages() throws IOException {
+        GBAOverlay overlay = GBAFile.mapped(rom.toFile()).overlay();
+        int offset = GBAOverlay.PAGE_SIZE - 2;
+        overlay.write(offset).setSignedWord(SignedWord.from(-1)).apply();
+        assertEquals(2, overlay.getDirtyPageCount());
+
+        byte[] expected = bites.clone();
+        for(int i = 0; i < 4; i++) {
+            expected[offset + i] = -1;
+        }
+        byte[] actual = overlay.read(offset - 10).unsignedBytes(20);
+        for(int i = 0; i < 20; i++) {
+            assertEquals(expected[offset - 10 + i], actual[i]);
+        }
+    }
+
+    @Test
+    public void testReadsPastEndOfBase() throws IOException {
+        GBAOverlay overlay = GBAFile.of(rom.toFile()).overlay();
+        overlay.write(SIZE + 8).setSignedWord(SignedWord.from(0x01020304)).apply();
+        assertEquals(SignedWord.from(0x01020304), overlay.read(SIZE + 8).signedWord());
+
+        // Straddles the end of the base, and the unwritten gap before the change
+        byte[] actual = overlay.read(SIZE - 2).unsignedBytes(14);
+        byte[] expected = {bites[SIZE - 2], bites[SIZE - 1], 0, 0, 0, 0, 0, 0, 0, 0, 4, 3, 2, 1};
+        assertArrayEquals(expected, actual);
+        assertEquals(SignedWord.from(0x01020304), overlay.read(SIZE - 4).advance(12).signedWord());
+        assertThrows(OutOfFileException.class, () -> overlay.read(SIZE + 10).signedWord());
+    }
+
+    @Test
+    public void testOverlaysAreIndependent() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        GBAOverlay first = file.overlay();
+        GBAOverlay second = file.overlay();
+        first.write(0).setUnsignedByte(UnsignedByte.from(bites[0] + 1 & 0xFF)).apply();
+        assertEquals(UnsignedByte.from(bites[0] & 0xFF), second.read().unsignedByte());
+        assertEquals(0, second.getDirtyPageCount());
+    }
+
+    @Test
+    public void testCommitWritesBaseAndChanges() throws IOException {
+        GBAOverlay overlay = GBAFile.of(rom.toFile()).overlay();
+        overlay.write(2 * GBAOverlay.PAGE_SIZE + 5).setSignedWord(SignedWord.from(0x01020304)).apply();
+        overlay.write(SIZE - 2).setSignedWord(SignedWord.from(0x05060708)).apply();
+        overlay.commit(target);
+
+        byte[] expected = new byte[SIZE + 2];
+        System.arraycopy(bites, 0, expected, 0, SIZE);
+        GBAFile.ARCHITECTURE.encodeInt(expected, 2 * GBAOverlay.PAGE_SIZE + 5, 0x01020304);
+        GBAFile.ARCHITECTURE.encodeInt(expected, SIZE - 2, 0x05060708);
+        assertArrayEquals(expected, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testCommitWritesDirtyPagePastCleanEndOfBase() throws IOException {
+        GBAOverlay overlay = GBAFile.of(rom.toFile()).overlay();
+        int offset = 6 * GBAOverlay.PAGE_SIZE + 10;
+        overlay.write(offset).setSignedWord(SignedWord.from(0x01020304)).apply();
+        overlay.commit(target);
+
+        byte[] expected = new byte[offset + 4];
+        System.arraycopy(bites, 0, expected, 0, SIZE);
+        GBAFile.ARCHITECTURE.encodeInt(expected, offset, 0x01020304);
+        assertArrayEquals(expected, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testCommitWritesDirtyPageStartingMidPage() throws IOException {
+        GBAOverlay overlay = GBAFile.of(rom.toFile()).overlay();
+        // The end of the base ROM is clean, and the next write is partway into the page after it
+        overlay.write(SIZE + 10).setSignedWord(SignedWord.from(0x0A0B0C0D)).apply();
+        overlay.write(7 * GBAOverlay.PAGE_SIZE).setSignedWord(SignedWord.from(0x01020304)).apply();
+        overlay.commit(target);
+
+        byte[] expected = new byte[7 * GBAOverlay.PAGE_SIZE + 4];
+        System.arraycopy(bites, 0, expected, 0, SIZE);
+        GBAFile.ARCHITECTURE.encodeInt(expected, SIZE + 10, 0x0A0B0C0D);
+        GBAFile.ARCHITECTURE.encodeInt(expected, 7 * GBAOverlay.PAGE_SIZE, 0x01020304);
+        assertArrayEquals(expected, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testDiscardRevertsToBase() throws IOException {
+        GBAOverlay overlay = GBAFile.of(rom.toFile()).overlay();
+        overlay.write(0x20).setSignedWord(SignedWord.ZERO).apply();
+        overlay.discard();
+        assertEquals(0, overlay.getDirtyPageCount());
+        overlay.commit(target);
+        assertArrayEquals(bites, Files.readAllBytes(target));
+    }
+}
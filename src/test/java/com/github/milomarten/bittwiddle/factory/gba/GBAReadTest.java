@@ -0,0 +1,238 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.OutOfFileException;
+import com.github.milomarten.bittwiddle.factory.PageCache;
+import com.github.milomarten.bittwiddle.model.SignedByte;
+import com.github.milomarten.bittwiddle.model.SignedWord;
+import com.github.milomarten.bittwiddle.operation.DynamicByteParser;
+import com.github.milomarten.bittwiddle.operation.ReadOp;
+import com.github.milomarten.bittwiddle.operation.WriteOp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GBAReadTest {
+    private static final int SIZE = 4096;
+
+    private Path rom;
+    private byte[] bites;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        bites = new byte[SIZE];
+        for(int i = 0; i < SIZE; i++) {
+            bites[i] = (byte)i;
+        }
+        byte[] fixed = {0x34, 0x12, (byte)0xFE, (byte)0xFF, 0x78, 0x56, 0x34, 0x12, -1, -1, -1, -1};
+        System.arraycopy(fixed, 0, bites, 0x100, fixed.length);
+        rom = Files.createTempFile("read", ".gba");
+        Files.write(rom, bites);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+    }
+
+    private List<GBAFile> files() {
+        return List.of(
+                GBAFile.of(rom.toFile()),
+                GBAFile.mapped(rom.toFile()),
+                GBAFile.cached(rom.toFile(), new PageCache(512, 4096)));
+    }
+
+    @Test
+    public void testUnsignedShortsAreLittleEndian() {
+        for(GBAFile file : files()) {
+            assertArrayEquals(new short[]{0x1234, (short)0xFFFE, 0x5678, 0x1234}, file.read(0x100).unsignedShorts(4));
+        }
+    }
+
+    @Test
+    public void testUnsignedWordsAreLittleEndian() {
+        for(GBAFile file : files()) {
+            assertArrayEquals(new int[]{0xFFFE1234, 0x12345678, -1}, file.read(0x100).unsignedWords(3));
+        }
+    }
+
+    @Test
+    public void testBulkReadsMatchSingleReads() {
+        // Crosses a page of the cache
+        long offset = 0x1F6;
+        for(GBAFile file : files()) {
+            short[] shorts = file.read(offset).unsignedShorts(8);
+            int[] words = file.read(offset).unsignedWords(4);
+            for(int i = 0; i < shorts.length; i++) {
+                assertEquals(file.read(offset + i * 2L).unsignedShort().toInt(), Short.toUnsignedInt(shorts[i]));
+            }
+            for(int i = 0; i < words.length; i++) {
+                assertEquals(file.read(offset + i * 4L).unsignedWord().toLong(), Integer.toUnsignedLong(words[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testSessionBulkReads() throws IOException {
+        try(GBASession session = GBAFile.of(rom.toFile()).openSession()) {
+            assertArrayEquals(new short[]{0x1234, (short)0xFFFE}, session.read(0x100).unsignedShorts(2));
+            assertArrayEquals(new int[]{0x12345678}, session.read(0x104).unsignedWords(1));
+        }
+    }
+
+    @Test
+    public void testBulkReadPastEndFails() {
+        for(GBAFile file : files()) {
+            assertThrows(OutOfFileException.class, () -> file.read(SIZE - 4).unsignedShorts(3));
+            assertThrows(OutOfFileException.class, () -> file.read(SIZE - 4).unsignedWords(2));
+        }
+    }
+
+    @Test
+    public void testSliceIsReadOnlyLittleEndianView() {
+        for(GBAFile file : files()) {
+            ByteBuffer slice = file.read(0x100).slice(8);
+            assertTrue(slice.isReadOnly());
+            assertEquals(0, slice.position());
+            assertEquals(8, slice.remaining());
+            assertEquals(0x1234, slice.getShort(0));
+            assertEquals(0x12345678, slice.getInt(4));
+            assertThrows(ReadOnlyBufferException.class, () -> slice.put(0, (byte)0));
+        }
+    }
+
+    @Test
+    public void testSliceFollowsTheCursor() {
+        for(GBAFile file : files()) {
+            ByteBuffer slice = file.read(0xFC).advance(4).slice(4);
+            assertEquals(0xFFFE1234, slice.getInt());
+        }
+    }
+
+    @Test
+    public void testSliceIsUnchangedByLaterWrites() throws IOException {
+        // Mapped slices are views of the mapping, so only the copying backends are checked
+        List<GBAFile> copying = List.of(
+                GBAFile.of(rom.toFile()),
+                GBAFile.cached(rom.toFile(), new PageCache(512, 4096)));
+        for(GBAFile file : copying) {
+            ByteBuffer slice = file.read(0x104).slice(4);
+            file.write(0x104).setSignedWord(SignedWord.from(0x0BADF00D)).apply();
+            assertEquals(0x12345678, slice.getInt(0));
+            file.write(0x104).setSignedWord(SignedWord.from(0x12345678)).apply();
+        }
+    }
+
+    @Test
+    public void testSlicePastEndFails() {
+        for(GBAFile file : files()) {
+            assertThrows(OutOfFileException.class, () -> file.read(SIZE - 4).slice(8));
+            assertEquals(0, file.read(SIZE).slice(0).remaining());
+        }
+    }
+
+    /**
+     * Reads a count, then that many flags, then the byte just past the flags
+     */
+    private static final DynamicByteParser<List<Integer>> FLAGS = new DynamicByteParser<>() {
+        @Override
+        public List<Integer> read(ReadOp ops) {
+            int count = ops.unsignedByte().toInt();
+            List<Integer> read = new ArrayList<>();
+            for(int i = 0; i < count; i++) {
+                read.add(ops.bit(i).toBoolean() ? 1 : 0);
+            }
+            read.add(ops.advance((count + Byte.SIZE - 1) / Byte.SIZE).unsignedByte().toInt());
+            return read;
+        }
+
+        @Override
+        public void write(List<Integer> object, WriteOp ops) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Test
+    public void testDynamicParserReadsBitsAtTheStream() throws Exception {
+        // 18 flags from 0xFE 0xFF 0x78, then 0x56
+        List<Integer> expected = List.of(0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0x56);
+        for(GBAFile file : files()) {
+            assertEquals(expected, file.read(0x101).get(FLAGS));
+            assertEquals(expected, file.read(0x101).getAsync(FLAGS).get(5, TimeUnit.SECONDS));
+            try (GBASession session = file.openSession()) {
+                assertEquals(expected, session.read(0x101).get(FLAGS));
+            }
+        }
+    }
+
+    private static <T> DynamicByteParser<T> reader(Function<ReadOp, T> read) {
+        return new DynamicByteParser<>() {
+            @Override
+            public T read(ReadOp ops) {
+                return read.apply(ops);
+            }
+
+            @Override
+            public void write(T object, WriteOp ops) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Test
+    public void testDynamicParserReadsAcrossReadAheadWindow() throws IOException {
+        // A pointer to 0x100 which straddles the end of the first read-ahead window
+        byte[] large = new byte[BufferedCursor.BLOCK_SIZE * 2];
+        System.arraycopy(new byte[]{0x00, 0x01, 0x00, 0x08}, 0, large, BufferedCursor.BLOCK_SIZE - 2, 4);
+        large[0x100] = 0x5A;
+        Files.write(rom, large);
+
+        // Reading the first byte fills the window from the start of the ROM
+        DynamicByteParser<GBAPointer> pointer = reader(ops -> {
+            ops.unsignedByte();
+            return ops.advance(BufferedCursor.BLOCK_SIZE - 3).get(GBAPointer.PARSER);
+        });
+        DynamicByteParser<Integer> followed = reader(ops -> {
+            ops.unsignedByte();
+            return ops.advance(BufferedCursor.BLOCK_SIZE - 3).follow().unsignedByte().toInt();
+        });
+        for(GBAFile file : files()) {
+            assertEquals(new GBAPointer(GBAPointer.Bank.ROM, 0x100), file.read().get(pointer));
+            assertEquals(0x5A, file.read().get(followed));
+        }
+    }
+
+    @Test
+    public void testStaticReadsAndPointersAcrossCachePage() throws IOException {
+        int pageSize = 512;
+        long offset = pageSize - 2;
+        GBAFile.of(rom.toFile()).write(offset)
+                .set(GBAPointer.PARSER, new GBAPointer(GBAPointer.Bank.ROM, 0x104))
+                .apply();
+        GBAFile file = GBAFile.cached(rom.toFile(), new PageCache(pageSize, 4096));
+
+        assertEquals(new GBAPointer(GBAPointer.Bank.ROM, 0x104), file.read(offset).get(GBAPointer.PARSER));
+        assertEquals(SignedWord.from(0x12345678), file.read(offset).follow().signedWord());
+        try (GBASession session = file.openSession()) {
+            assertEquals(new GBAPointer(GBAPointer.Bank.ROM, 0x104), session.read(offset).get(GBAPointer.PARSER));
+            assertEquals(SignedWord.from(0x12345678), session.read(offset).follow().signedWord());
+        }
+
+        // Writes read the pointer through an overlay on the cached ROM
+        file.write(offset).follow().setSignedByte(SignedByte.from(7)).apply();
+        assertEquals(SignedByte.from(7), file.read(0x104).signedByte());
+        file.write(offset).replace(GBAPointer.PARSER, p -> new GBAPointer(p.getBank(), p.getOffset() + 4)).apply();
+        assertEquals(new GBAPointer(GBAPointer.Bank.ROM, 0x108), file.read(offset).get(GBAPointer.PARSER));
+    }
+}
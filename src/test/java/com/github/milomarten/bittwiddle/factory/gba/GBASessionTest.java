@@ -0,0 +1,86 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.model.UnsignedWord;
+import com.github.milomarten.bittwiddle.operation.ReadOp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GBASessionTest {
+    private static final int SIZE = 64 * 1024;
+
+    private Path rom;
+    private byte[] bites;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        bites = new byte[SIZE];
+        new Random(0).nextBytes(bites);
+        rom = Files.createTempFile("session", ".gba");
+        Files.write(rom, bites);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+    }
+
+    private UnsignedWord expectedWord(int offset) {
+        return UnsignedWord.from(Integer.toUnsignedLong(GBAFile.ARCHITECTURE.decodeInt(bites, offset)));
+    }
+
+    private void assertConcurrentReads(LongFunction<ReadOp> reader) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < 8; t++) {
+                Random random = new Random(t);
+                futures.add(pool.submit(() -> {
+                    for(int i = 0; i < 500; i++) {
+                        int offset = random.nextInt(SIZE - Integer.BYTES);
+                        assertEquals(expectedWord(offset), reader.apply(offset).unsignedWord());
+                    }
+                    return null;
+                }));
+            }
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSessionReadsMatchFile() throws IOException {
+        try(GBASession session = GBAFile.of(rom.toFile()).openSession()) {
+            assertEquals(expectedWord(0x100), session.read(0x100).unsignedWord());
+            assertEquals(expectedWord(0x104), session.read().advance(0x100).advance(4).unsignedWord());
+        }
+    }
+
+    @Test
+    public void testSessionIsSharedBetweenThreads() throws Exception {
+        try(GBASession session = GBAFile.of(rom.toFile()).openSession()) {
+            assertConcurrentReads(session::read);
+        }
+    }
+
+    @Test
+    public void testMappingIsSharedBetweenThreads() throws Exception {
+        assertConcurrentReads(GBAFile.mapped(rom.toFile())::read);
+    }
+}
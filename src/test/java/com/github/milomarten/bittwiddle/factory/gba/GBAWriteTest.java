@@ -0,0 +1,199 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.PageCache;
+import com.github.milomarten.bittwiddle.model.*;
+import com.github.milomarten.bittwiddle.operation.DynamicByteParser;
+import com.github.milomarten.bittwiddle.operation.ReadOp;
+import com.github.milomarten.bittwiddle.operation.WriteOp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GBAWriteTest {
+    private static final int SIZE = 1024;
+
+    private Path rom;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        rom = Files.createTempFile("write", ".gba");
+        Files.write(rom, new byte[SIZE]);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+    }
+
+    @Test
+    public void testNothingIsWrittenUntilApplied() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        WriteOp write = file.write(0x10).setSignedWord(SignedWord.from(0x01020304));
+        assertEquals(SignedWord.ZERO, file.read(0x10).signedWord());
+        write.apply();
+        assertEquals(SignedWord.from(0x01020304), file.read(0x10).signedWord());
+        assertArrayEquals(new byte[]{4, 3, 2, 1}, file.read(0x10).unsignedBytes(4));
+    }
+
+    @Test
+    public void testLaterWritesWin() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        WriteOp write = file.write(0x20);
+        write.setSignedWord(SignedWord.from(-1));
+        write.advance(1).setUnsignedByte(UnsignedByte.from(0x12));
+        write.apply();
+        assertArrayEquals(new byte[]{-1, 0x12, -1, -1}, file.read(0x20).unsignedBytes(4));
+    }
+
+    @Test
+    public void testReplaceSeesEarlierStagedWrites() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        WriteOp write = file.write(0x30);
+        write.setUnsignedShort(UnsignedShort.from(40));
+        write.replaceUnsignedShort(s -> UnsignedShort.from(s.toInt() + 2));
+        write.replaceBit(15, b -> Bit.ONE);
+        write.apply();
+        assertEquals(UnsignedShort.from(0x8000 | 42), file.read(0x30).unsignedShort());
+    }
+
+    @Test
+    public void testBitEditsMergeInOrder() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        file.write(0x50).setUnsignedByte(UnsignedByte.from(0xF0)).apply();
+        WriteOp write = file.write(0x50);
+        write.setBit(0).clearBit(4).setBit(17);
+        write.replaceBit(0, b -> b == Bit.ONE ? Bit.ZERO : Bit.ONE);
+        write.replaceBit(5, b -> b == Bit.ONE ? Bit.ZERO : Bit.ONE);
+        write.setBit(9, Bit.ONE).clearBit(17);
+        write.advance(4).setBit(31);
+        write.apply();
+        assertArrayEquals(new byte[]{(byte)0xC0, 0x02, 0, 0, 0, 0, 0, (byte)0x80}, file.read(0x50).unsignedBytes(8));
+    }
+
+    @Test
+    public void testBitsReadBackWhatWasWritten() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        file.write(0x60).setBit(1).setBit(12).setBit(30).apply();
+        assertEquals(Bit.ONE, file.read(0x60).bit(12));
+        assertEquals(Bit.ZERO, file.read(0x60).bit(13));
+        assertEquals(Bit.ONE, file.read(0x61).bit(4));
+        BitVector bits = file.read(0x60).bits(31);
+        assertEquals(3, bits.cardinality());
+        assertEquals(30, bits.select(2));
+    }
+
+    @Test
+    public void testReplaceSeesStagedWritesPastEndOfFile() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        WriteOp write = file.write(SIZE);
+        write.setUnsignedShort(UnsignedShort.from(40));
+        write.replaceUnsignedShort(s -> UnsignedShort.from(s.toInt() + 2));
+        write.advance(4).setUnsignedByte(UnsignedByte.from(1));
+        write.advance(2).replaceUnsignedShort(s -> UnsignedShort.from(s.toInt() + 1));
+        write.apply();
+        assertArrayEquals(new byte[]{42, 0, 1, 0, 1}, file.read(SIZE).unsignedBytes(5));
+    }
+
+    @Test
+    public void testFollowUsesStagedPointer() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        WriteOp write = file.write();
+        write.set(GBAPointer.PARSER, new GBAPointer(GBAPointer.Bank.ROM, 0x200));
+        write.followAndDo(ops -> ops.advance(2).setSignedByte(SignedByte.from(7)));
+        write.apply();
+        assertEquals(SignedByte.from(7), file.read().follow().advance(2).signedByte());
+        assertEquals(SignedByte.from(7), file.read(0x202).signedByte());
+    }
+
+    @Test
+    public void testDynamicWritesAreSequential() throws IOException {
+        DynamicByteParser<byte[]> string = new DynamicByteParser<>() {
+            @Override
+            public byte[] read(ReadOp ops) {
+                int length = ops.unsignedByte().toInt();
+                return ops.unsignedBytes(length);
+            }
+
+            @Override
+            public void write(byte[] object, WriteOp ops) {
+                ops.setUnsignedByte(UnsignedByte.from(object.length));
+                for(byte bite : object) {
+                    ops.setSignedByte(SignedByte.from(bite));
+                }
+            }
+        };
+        GBAFile file = GBAFile.of(rom.toFile());
+        WriteOp write = file.write(0x40).set(string, new byte[]{5, 6, 7});
+        write.apply();
+        assertArrayEquals(new byte[]{3, 5, 6, 7, 0}, file.read(0x40).unsignedBytes(5));
+        assertArrayEquals(new byte[]{5, 6, 7}, file.read(0x40).get(string));
+    }
+
+    @Test
+    public void testHeaderComplementCheckIsKeptCorrect() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        byte[] header = file.read().unsignedBytes(GBAHeader.COMPLEMENT_CHECK_OFFSET);
+        file.write(GBAHeader.COMPLEMENT_CHECK_OFFSET).setUnsignedByte(GBAHeader.computeComplementCheck(header)).apply();
+
+        file.write(0xA0).setSignedWord(SignedWord.from(0x454D4147)).advance(0xC).setUnsignedShort(UnsignedShort.from(0x4241)).apply();
+        header = file.read().unsignedBytes(GBAHeader.COMPLEMENT_CHECK_OFFSET);
+        assertEquals(GBAHeader.computeComplementCheck(header), file.read(GBAHeader.COMPLEMENT_CHECK_OFFSET).unsignedByte());
+
+        file.write(GBAHeader.COMPLEMENT_CHECK_OFFSET - 1).setSignedShort(SignedShort.from(0x1234)).apply();
+        assertEquals(UnsignedByte.from(0x12), file.read(GBAHeader.COMPLEMENT_CHECK_OFFSET).unsignedByte());
+    }
+
+    @Test
+    public void testHeaderWriteToShortRomHasNoComplementCheck() throws IOException {
+        Files.write(rom, new byte[0xB0]);
+        GBAFile file = GBAFile.of(rom.toFile());
+        file.write(0xA0).setSignedWord(SignedWord.from(0x454D4147)).apply();
+        assertEquals(0xB0, Files.size(rom));
+        assertEquals(SignedWord.from(0x454D4147), file.read(0xA0).signedWord());
+    }
+
+    @Test
+    public void testHeaderWriteExtendingShortRomGetsComplementCheck() throws IOException {
+        Files.write(rom, new byte[0xA4]);
+        GBAFile file = GBAFile.of(rom.toFile());
+        file.write(0xA0)
+                .setSignedWord(SignedWord.from(0x454D4147))
+                .advance(0x1E).setSignedByte(SignedByte.ONE)
+                .apply();
+        assertEquals(0xBF, Files.size(rom));
+        byte[] header = file.read().unsignedBytes(GBAHeader.COMPLEMENT_CHECK_OFFSET);
+        UnsignedByte check = file.read(GBAHeader.COMPLEMENT_CHECK_OFFSET).unsignedByte();
+        assertEquals(GBAHeader.computeComplementCheck(header), check);
+    }
+
+    @Test
+    public void testCrcIsUpdatedFromChanges() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        assertEquals(crc(), file.getCrc32());
+        file.write(0x40).setSignedWord(SignedWord.from(0x12345678)).advance(SIZE).setSignedByte(SignedByte.from(9)).apply();
+        assertEquals(crc(), file.getCrc32());
+        file.journaledWrite(0x41).setSignedWord(SignedWord.from(-2)).apply();
+        assertEquals(crc(), file.getCrc32());
+    }
+
+    private long crc() throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(rom));
+        return crc.getValue();
+    }
+
+    @Test
+    public void testApplyInvalidatesCachedPages() throws IOException {
+        GBAFile file = GBAFile.cached(rom.toFile(), new PageCache(256, 4096));
+        assertEquals(SignedByte.ZERO, file.read(0x300).signedByte());
+        file.write(0x300).setSignedByte(SignedByte.from(-5)).apply();
+        assertEquals(SignedByte.from(-5), file.read(0x300).signedByte());
+    }
+}
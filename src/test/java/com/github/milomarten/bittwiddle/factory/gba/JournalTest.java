@@ -0,0 +1,133 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.PageCache;
+import com.github.milomarten.bittwiddle.model.SignedByte;
+import com.github.milomarten.bittwiddle.model.SignedWord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+    private static final int SIZE = 4096;
+
+    private Path rom;
+    private Path journal;
+    private byte[] bites;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        bites = new byte[SIZE];
+        new Random(0).nextBytes(bites);
+        rom = Files.createTempFile("journal", ".gba");
+        journal = Journal.pathFor(rom);
+        Files.write(rom, bites);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+        Files.deleteIfExists(journal);
+    }
+
+    private NavigableMap<Long, byte[]> changes() {
+        NavigableMap<Long, byte[]> changes = new TreeMap<>();
+        changes.put(0x10L, new byte[]{1, 2, 3, 4});
+        changes.put((long)SIZE - 2, new byte[]{5, 6, 7, 8});
+        return changes;
+    }
+
+    private byte[] changed() {
+        byte[] expected = Arrays.copyOf(bites, SIZE + 2);
+        System.arraycopy(new byte[]{1, 2, 3, 4}, 0, expected, 0x10, 4);
+        System.arraycopy(new byte[]{5, 6, 7, 8}, 0, expected, SIZE - 2, 4);
+        return expected;
+    }
+
+    @Test
+    public void testJournaledWriteLeavesNoJournal() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        file.journaledWrite(0x10).setSignedWord(SignedWord.from(0x04030201)).apply();
+        assertEquals(SignedWord.from(0x04030201), file.read(0x10).signedWord());
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    public void testOpenLeavesJournalAlone() throws IOException {
+        Journal.of(GBAFile.of(rom.toFile()), changes()).save(journal);
+        GBAFile.of(rom.toFile());
+        GBAFile.mapped(rom.toFile());
+        GBAFile.cached(rom.toFile(), new PageCache(512, 4096));
+        assertArrayEquals(bites, Files.readAllBytes(rom));
+        assertNotNull(Journal.load(journal));
+    }
+
+    @Test
+    public void testNoJournalIsNotCreated() throws IOException {
+        assertFalse(GBAFile.of(rom.toFile()).recover());
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    public void testIntactJournalIsReplayedOnRecover() throws IOException {
+        Journal.of(GBAFile.of(rom.toFile()), changes()).save(journal);
+        assertTrue(GBAFile.of(rom.toFile()).recover());
+        assertArrayEquals(changed(), Files.readAllBytes(rom));
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    public void testIntactJournalIsReplayedBeforeNextWrite() throws IOException {
+        Journal.of(GBAFile.of(rom.toFile()), changes()).save(journal);
+        GBAFile file = GBAFile.of(rom.toFile());
+        file.write(0x10).setSignedByte(SignedByte.from(9)).apply();
+        byte[] expected = changed();
+        expected[0x10] = 9;
+        assertArrayEquals(expected, Files.readAllBytes(rom));
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    public void testTornJournalIsDiscardedOnRecover() throws IOException {
+        Journal.of(GBAFile.of(rom.toFile()), changes()).save(journal);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        assertFalse(GBAFile.of(rom.toFile()).recover());
+        assertArrayEquals(bites, Files.readAllBytes(rom));
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    public void testLockedJournalIsLeftAlone() throws IOException {
+        Journal entry = Journal.of(GBAFile.of(rom.toFile()), changes());
+        try (FileChannel channel = Journal.openLocked(journal)) {
+            entry.save(channel);
+            assertFalse(GBAFile.of(rom.toFile()).recover());
+            assertArrayEquals(bites, Files.readAllBytes(rom));
+        }
+        assertNotNull(Journal.load(journal));
+    }
+
+    @Test
+    public void testUndoRestoresOriginalBytes() throws IOException {
+        Journal entry = Journal.of(GBAFile.of(rom.toFile()), changes());
+        try (FileChannel channel = FileChannel.open(rom, StandardOpenOption.WRITE)) {
+            entry.redo(channel);
+            assertArrayEquals(changed(), Files.readAllBytes(rom));
+            entry.undo(channel);
+        }
+        assertArrayEquals(bites, Files.readAllBytes(rom));
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.model.SignedWord;
+import com.github.milomarten.bittwiddle.model.UnsignedByte;
+import com.github.milomarten.bittwiddle.operation.WriteOp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatchFormatTest {
+    private static final int SIZE = 64 * 1024;
+
+    private Path rom;
+    private Path patch;
+    private byte[] bites;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        bites = new byte[SIZE];
+        new Random(0).nextBytes(bites);
+        rom = Files.createTempFile("patch", ".gba");
+        patch = Files.createTempFile("patch", ".bin");
+        Files.write(rom, bites);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+        Files.deleteIfExists(patch);
+    }
+
+    private byte[] stageEdits(WriteOp write) throws IOException {
+        byte[] expected = Arrays.copyOf(bites, SIZE + 8);
+        write.advance(0x100).setSignedWord(SignedWord.from(0x11223344));
+        GBAFile.ARCHITECTURE.encodeInt(expected, 0x100, 0x11223344);
+        write.advance(0x104).setUnsignedByte(UnsignedByte.from(bites[0x104] & 0xFF));
+        write.advance(0x2000).setSignedWord(SignedWord.from(-1));
+        GBAFile.ARCHITECTURE.encodeInt(expected, 0x2000, -1);
+        write.advance(SIZE + 4).setSignedWord(SignedWord.from(0x55667788));
+        GBAFile.ARCHITECTURE.encodeInt(expected, SIZE + 4, 0x55667788);
+        write.apply();
+        return expected;
+    }
+
+    private static int crc(byte[] bites, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bites, 0, length);
+        return (int)crc.getValue();
+    }
+
+    private static long readNumber(ByteBuffer buffer) {
+        long data = 0;
+        long shift = 1;
+        while(true) {
+            int x = buffer.get() & 0xFF;
+            data += (x & 0x7F) * shift;
+            if((x & 0x80) != 0) {
+                return data;
+            }
+            shift <<= 7;
+            data += shift;
+        }
+    }
+
+    private void assertChecksums(byte[] patched, byte[] expected) {
+        ByteBuffer footer = ByteBuffer.wrap(patched, patched.length - 12, 12).order(GBAFile.ARCHITECTURE.getByteOrder());
+        assertEquals(crc(bites, SIZE), footer.getInt());
+        assertEquals(crc(expected, expected.length), footer.getInt());
+        assertEquals(crc(patched, patched.length - 4), footer.getInt());
+    }
+
+    @Test
+    public void testIpsPatch() throws IOException {
+        byte[] expected = stageEdits(GBAFile.of(rom.toFile()).patch(patch, PatchFormat.IPS));
+        assertArrayEquals(bites, Files.readAllBytes(rom));
+
+        ByteBuffer ips = ByteBuffer.wrap(Files.readAllBytes(patch));
+        byte[] header = new byte[5];
+        ips.get(header);
+        assertEquals("PATCH", new String(header));
+        byte[] result = Arrays.copyOf(bites, expected.length);
+        while(true) {
+            int offset = (ips.get() & 0xFF) << 16 | (ips.get() & 0xFF) << 8 | (ips.get() & 0xFF);
+            if(offset == 0x454F46) {
+                break;
+            }
+            int length = ips.getShort() & 0xFFFF;
+            ips.get(result, offset, length);
+        }
+        assertFalse(ips.hasRemaining());
+        assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public void testUpsPatch() throws IOException {
+        byte[] expected = stageEdits(GBAFile.of(rom.toFile()).patch(patch, PatchFormat.UPS));
+        byte[] patched = Files.readAllBytes(patch);
+        ByteBuffer ups = ByteBuffer.wrap(patched, 0, patched.length - 12);
+        byte[] header = new byte[4];
+        ups.get(header);
+        assertEquals("UPS1", new String(header));
+        assertEquals(SIZE, readNumber(ups));
+        assertEquals(expected.length, readNumber(ups));
+
+        byte[] result = Arrays.copyOf(bites, expected.length);
+        int position = 0;
+        while(ups.hasRemaining()) {
+            position += (int)readNumber(ups);
+            byte x;
+            while((x = ups.get()) != 0) {
+                result[position++] ^= x;
+            }
+            position++;
+        }
+        assertArrayEquals(expected, result);
+        assertChecksums(patched, expected);
+    }
+
+    @Test
+    public void testBpsPatch() throws IOException {
+        byte[] expected = stageEdits(GBAFile.of(rom.toFile()).patch(patch, PatchFormat.BPS));
+        byte[] patched = Files.readAllBytes(patch);
+        ByteBuffer bps = ByteBuffer.wrap(patched, 0, patched.length - 12);
+        byte[] header = new byte[4];
+        bps.get(header);
+        assertEquals("BPS1", new String(header));
+        assertEquals(SIZE, readNumber(bps));
+        assertEquals(expected.length, readNumber(bps));
+        assertEquals(0, readNumber(bps));
+
+        byte[] result = new byte[expected.length];
+        int position = 0;
+        while(bps.hasRemaining()) {
+            long action = readNumber(bps);
+            int length = (int)(action >>> 2) + 1;
+            if((action & 3) == 0) {
+                System.arraycopy(bites, position, result, position, length);
+            } else {
+                assertEquals(1, action & 3);
+                bps.get(result, position, length);
+            }
+            position += length;
+        }
+        assertEquals(expected.length, position);
+        assertArrayEquals(expected, result);
+        assertChecksums(patched, expected);
+    }
+
+    @Test
+    public void testIpsAvoidsEofOffset() throws IOException {
+        byte[] large = new byte[0x460000];
+        Files.write(rom, large);
+        GBAFile.of(rom.toFile()).patch(patch, PatchFormat.IPS).advance(0x454F46).setSignedWord(SignedWord.from(-1)).apply();
+        byte[] patched = Files.readAllBytes(patch);
+        // One record, starting a byte early: header, offset and length, five bytes, footer
+        assertEquals(5 + 5 + 5 + 3, patched.length);
+        assertEquals(0x45, patched[5]);
+        assertEquals(0x4F, patched[6]);
+        assertEquals(0x45, patched[7]);
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.model.SignedByte;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointerIndexTest {
+    private static final int SIZE = 0x4000;
+
+    private Path rom;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        byte[] bites = new byte[SIZE];
+        GBAFile.ARCHITECTURE.encodeInt(bites, 0x100, 0x08001000);
+        GBAFile.ARCHITECTURE.encodeInt(bites, 0x204, 0x08001000);
+        GBAFile.ARCHITECTURE.encodeInt(bites, 0x3000, 0x08001000);
+        GBAFile.ARCHITECTURE.encodeInt(bites, 0x3004, 0x08001800);
+        // Not word-aligned, so not a pointer
+        GBAFile.ARCHITECTURE.encodeInt(bites, 0x402, 0x08001000);
+        // Points past the end of the ROM
+        GBAFile.ARCHITECTURE.encodeInt(bites, 0x500, 0x08100000);
+        rom = Files.createTempFile("pointers", ".gba");
+        Files.write(rom, bites);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+    }
+
+    @Test
+    public void testIndexFindsAlignedPointers() {
+        PointerIndex index = GBAFile.of(rom.toFile()).getPointerIndex();
+        assertEquals(4, index.size());
+        assertEquals(Set.of(0x100L, 0x204L, 0x3000L), index.getReferrers(0x1000));
+        assertEquals(Set.of(0x3004L), index.getReferrers(0x1800));
+        assertTrue(index.getReferrers(0x2000).isEmpty());
+    }
+
+    @Test
+    public void testRepointRewritesEveryReferrer() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        assertEquals(3, file.repoint(0x1000, 0x2000));
+        assertEquals(0x2000, file.read(0x100).get(GBAPointer.PARSER).getOffset());
+        assertEquals(0x2000, file.read(0x204).get(GBAPointer.PARSER).getOffset());
+        assertEquals(0x2000, file.read(0x3000).get(GBAPointer.PARSER).getOffset());
+        assertEquals(0x1000, file.read().advance(0x402).get(GBAPointer.PARSER).getOffset());
+
+        PointerIndex index = file.getPointerIndex();
+        assertTrue(index.getReferrers(0x1000).isEmpty());
+        assertEquals(Set.of(0x100L, 0x204L, 0x3000L), index.getReferrers(0x2000));
+    }
+
+    @Test
+    public void testRepointManyInOneBatch() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        assertEquals(4, file.repoint(Map.of(0x1000L, 0x1800L, 0x1800L, 0x1000L)));
+        PointerIndex index = file.getPointerIndex();
+        assertEquals(Set.of(0x100L, 0x204L, 0x3000L), index.getReferrers(0x1800));
+        assertEquals(Set.of(0x3004L), index.getReferrers(0x1000));
+    }
+
+    @Test
+    public void testWritesKeepIndexCurrent() throws IOException {
+        GBAFile file = GBAFile.of(rom.toFile());
+        PointerIndex index = file.getPointerIndex();
+        file.write(0x600).set(GBAPointer.PARSER, new GBAPointer(GBAPointer.Bank.ROM, 0x1800)).apply();
+        file.write(0x103).setSignedByte(SignedByte.ZERO).apply();
+        assertEquals(Set.of(0x3004L, 0x600L), index.getReferrers(0x1800));
+        assertEquals(Set.of(0x204L, 0x3000L), index.getReferrers(0x1000));
+    }
+
+    @Test
+    public void testIndexFindsPointersPast16MB() throws IOException {
+        long high = 0x1000010;
+        try (RandomAccessFile file = new RandomAccessFile(rom.toFile(), "rw")) {
+            file.setLength(high + 0x100);
+            // 0x09000010 is the second ROM bank, so it points 16MB further than 0x08000010
+            file.seek(0x700);
+            file.write(new byte[]{0x10, 0, 0, 0x09});
+            file.seek(high);
+            file.write(new byte[]{0x00, 0x10, 0, 0x08});
+        }
+        GBAFile file = GBAFile.of(rom.toFile());
+        PointerIndex index = file.getPointerIndex();
+        assertEquals(Set.of(0x700L), index.getReferrers(high));
+        assertEquals(Set.of(0x100L, 0x204L, 0x3000L, high), index.getReferrers(0x1000));
+
+        assertEquals(4, file.repoint(0x1000, high + 4));
+        assertEquals(new GBAPointer(GBAPointer.Bank.ROM, (int)high + 4), file.read(0x100).get(GBAPointer.PARSER));
+        try (RandomAccessFile raw = new RandomAccessFile(rom.toFile(), "r")) {
+            raw.seek(0x103);
+            assertEquals(0x09, raw.read());
+        }
+    }
+
+    @Test
+    public void testPointerPast32MBCannotBeWritten() {
+        GBAPointer pointer = new GBAPointer(GBAPointer.Bank.ROM, 0x2000000);
+        assertThrows(InvalidPointerException.class, () -> GBAPointer.PARSER.write(pointer));
+    }
+}
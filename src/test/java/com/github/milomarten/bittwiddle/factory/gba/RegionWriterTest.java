@@ -0,0 +1,77 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionWriterTest {
+    private static final int SIZE = 4 * RegionWriter.REGION_SIZE;
+
+    private Path rom;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        rom = Files.createTempFile("region", ".gba");
+        Files.write(rom, new byte[SIZE]);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+    }
+
+    @Test
+    public void testLargeRangeIsSplitIntoRegions() {
+        NavigableMap<Long, byte[]> ranges = new TreeMap<>();
+        ranges.put(0x10L, new byte[RegionWriter.REGION_SIZE * 2 + 1]);
+        List<List<RegionWriter.Piece>> regions = RegionWriter.partition(ranges);
+        assertEquals(3, regions.size());
+        assertEquals(0x10L + RegionWriter.REGION_SIZE, regions.get(1).get(0).getPosition());
+        assertEquals(1, regions.get(2).get(0).getLength());
+    }
+
+    @Test
+    public void testSmallRangesShareARegion() {
+        NavigableMap<Long, byte[]> ranges = new TreeMap<>();
+        ranges.put(0x10L, new byte[4]);
+        ranges.put(0x100L, new byte[4]);
+        ranges.put(0x1000L, new byte[4]);
+        List<List<RegionWriter.Piece>> regions = RegionWriter.partition(ranges);
+        assertEquals(1, regions.size());
+        assertEquals(3, regions.get(0).size());
+    }
+
+    @Test
+    public void testParallelWriteMatchesSequential() throws IOException {
+        Random random = new Random(0);
+        byte[] expected = new byte[SIZE + 8];
+        NavigableMap<Long, byte[]> ranges = new TreeMap<>();
+        for(long offset = 0; offset + 0x20000 <= SIZE; offset += 0x30000) {
+            byte[] bites = new byte[0x20000];
+            random.nextBytes(bites);
+            ranges.put(offset, bites);
+            System.arraycopy(bites, 0, expected, (int)offset, bites.length);
+        }
+        byte[] tail = {1, 2, 3, 4, 5, 6, 7, 8};
+        ranges.put((long)SIZE, tail);
+        System.arraycopy(tail, 0, expected, SIZE, tail.length);
+
+        try (FileChannel channel = FileChannel.open(rom, StandardOpenOption.WRITE)) {
+            RegionWriter.write(channel, ranges);
+        }
+        assertTrue(Arrays.equals(expected, Files.readAllBytes(rom)));
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.milomarten.bittwiddle.factory.gba;
+
+import com.github.milomarten.bittwiddle.factory.PageCache;
+import com.github.milomarten.bittwiddle.model.SignedWord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotTest {
+    private static final int SIZE = 4096;
+
+    private Path rom;
+    private byte[] bites;
+
+    @BeforeEach
+    public void createRom() throws IOException {
+        bites = new byte[SIZE];
+        new Random(0).nextBytes(bites);
+        rom = Files.createTempFile("snapshot", ".gba");
+        Files.write(rom, bites);
+    }
+
+    @AfterEach
+    public void deleteRom() throws IOException {
+        Files.deleteIfExists(rom);
+    }
+
+    private static byte[] read(GBAFile file, long offset, int length) throws IOException {
+        return read((RomSource)file::open, offset, length);
+    }
+
+    private static byte[] read(RomSource source, long offset, int length) throws IOException {
+        try (RomCursor cursor = source.open()) {
+            byte[] read = new byte[length];
+            cursor.seek(offset);
+            cursor.readFully(read);
+            return read;
+        }
+    }
+
+    private static byte[] readOnOtherThread(RomSource source, long offset, int length) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(source, offset, length);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private void assertReadersSeeOldVersionDuringWrite(GBAFile file) throws Exception {
+        byte[] update = {1, 2, 3, 4};
+        file.commit(Map.of(0x100L, update), channel -> {
+            GBAFile.writeRange(channel, 0x100, update);
+            try {
+                assertArrayEquals(new byte[]{bites[0x100], bites[0x101], bites[0x102], bites[0x103]},
+                        readOnOtherThread(file::open, 0x100, 4));
+                assertArrayEquals(bites, file.read().unsignedBytes(SIZE));
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+        assertArrayEquals(update, read(file, 0x100, 4));
+    }
+
+    @Test
+    public void testReadDuringWriteSeesOldVersion() throws Exception {
+        assertReadersSeeOldVersionDuringWrite(GBAFile.of(rom.toFile()));
+    }
+
+    @Test
+    public void testMappedReadDuringWriteSeesOldVersion() throws Exception {
+        assertReadersSeeOldVersionDuringWrite(GBAFile.mapped(rom.toFile()));
+    }
+
+    @Test
+    public void testCachedReadDuringWriteSeesOldVersion() throws Exception {
+        assertReadersSeeOldVersionDuringWrite(GBAFile.cached(rom.toFile(), new PageCache(512, 4096)));
+    }
+
+    @Test
+    public void testAsyncReadDuringWriteSeesOldVersion() throws Exception {
+        GBAFile file = GBAFile.of(rom.toFile());
+        file.commit(Map.of(0L, new byte[]{1, 2}), channel -> {
+            GBAFile.writeRange(channel, 0, new byte[]{1, 2});
+            try {
+                byte[] read = new byte[4];
+                file.readAsync(0, 4).get(5, TimeUnit.SECONDS).get(read);
+                assertArrayEquals(new byte[]{bites[0], bites[1], bites[2], bites[3]}, read);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+        byte[] read = new byte[4];
+        file.readAsync(0, 4).get(5, TimeUnit.SECONDS).get(read);
+        assertArrayEquals(new byte[]{1, 2, bites[2], bites[3]}, read);
+    }
+
+    @Test
+    public void testWriteWaitsForOpenReaders() throws Exception {
+        GBAFile file = GBAFile.of(rom.toFile());
+        CompletableFuture<Void> write;
+        try (RomCursor cursor = file.open()) {
+            write = CompletableFuture.runAsync(() -> {
+                try {
+                    file.write(0x20).setSignedWord(SignedWord.from(0x09090909)).apply();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> write.get(200, TimeUnit.MILLISECONDS));
+
+            byte[] read = new byte[4];
+            cursor.seek(0x20);
+            cursor.readFully(read);
+            assertArrayEquals(new byte[]{bites[0x20], bites[0x21], bites[0x22], bites[0x23]}, read);
+        }
+        write.get(5, TimeUnit.SECONDS);
+        assertArrayEquals(new byte[]{9, 9, 9, 9}, read(file, 0x20, 4));
+    }
+
+    private void assertSessionReadersSeeOldVersionDuringWrite(GBAFile file) throws Exception {
+        byte[] update = {1, 2, 3, 4};
+        try (GBASession session = file.openSession()) {
+            file.commit(Map.of(0x100L, update), channel -> {
+                GBAFile.writeRange(channel, 0x100, update);
+                try {
+                    assertArrayEquals(new byte[]{bites[0x100], bites[0x101], bites[0x102], bites[0x103]},
+                            readOnOtherThread(session::open, 0x100, 4));
+                    assertArrayEquals(bites, session.read().unsignedBytes(SIZE));
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+            assertArrayEquals(update, read(session::open, 0x100, 4));
+        }
+    }
+
+    @Test
+    public void testSessionReadDuringWriteSeesOldVersion() throws Exception {
+        assertSessionReadersSeeOldVersionDuringWrite(GBAFile.of(rom.toFile()));
+    }
+
+    @Test
+    public void testCachedSessionReadDuringWriteSeesOldVersion() throws Exception {
+        assertSessionReadersSeeOldVersionDuringWrite(GBAFile.cached(rom.toFile(), new PageCache(512, 4096)));
+    }
+
+    @Test
+    public void testSessionAsyncReadDuringWriteSeesOldVersion() throws Exception {
+        GBAFile file = GBAFile.of(rom.toFile());
+        SignedWord before = file.read().signedWord();
+        try (GBASession session = file.openSession()) {
+            file.commit(Map.of(0L, new byte[]{1, 2}), channel -> {
+                GBAFile.writeRange(channel, 0, new byte[]{1, 2});
+                try {
+                    assertEquals(before, session.read().signedWordAsync().get(5, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+            SignedWord after = session.read().signedWordAsync().get(5, TimeUnit.SECONDS);
+            assertEquals(file.read().signedWord(), after);
+            assertNotEquals(before, after);
+        }
+    }
+
+    @Test
+    public void testWriteWaitsForOpenSessionReaders() throws Exception {
+        GBAFile file = GBAFile.of(rom.toFile());
+        CompletableFuture<Void> write;
+        try (GBASession session = file.openSession(); RomCursor cursor = session.open()) {
+            write = CompletableFuture.runAsync(() -> {
+                try {
+                    file.write(0x20).setSignedWord(SignedWord.from(0x09090909)).apply();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> write.get(200, TimeUnit.MILLISECONDS));
+        }
+        write.get(5, TimeUnit.SECONDS);
+        assertArrayEquals(new byte[]{9, 9, 9, 9}, read(file, 0x20, 4));
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.milomarten.bittwiddle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitVectorTest {
+    private static BitVector random(int size, double density, long seed) {
+        Random random = new Random(seed);
+        BitVector vector = BitVector.allocate(size);
+        for(int i = 0; i < size; i++) {
+            vector.set(i, random.nextDouble() < density);
+        }
+        return vector;
+    }
+
+    private static void assertRankAndSelect(BitVector vector) {
+        int rank = 0;
+        for(int i = 0; i < vector.size(); i++) {
+            assertEquals(rank, vector.rank(i), "rank(" + i + ")");
+            if(vector.get(i)) {
+                assertEquals(i, vector.select(rank), "select(" + rank + ")");
+                rank++;
+            }
+        }
+        assertEquals(rank, vector.rank(vector.size()));
+        assertEquals(rank, vector.cardinality());
+        assertEquals(-1, vector.select(rank));
+    }
+
+    @Test
+    public void testSetClearAndFlip() {
+        BitVector vector = BitVector.allocate(100);
+        vector.set(3);
+        vector.set(64, Bit.ONE);
+        vector.flip(99);
+        vector.flip(3);
+        assertFalse(vector.get(3));
+        assertTrue(vector.get(64));
+        assertSame(Bit.ONE, vector.getBit(99));
+        vector.clear(64);
+        assertEquals(1, vector.cardinality());
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.set(-1));
+    }
+
+    @Test
+    public void testRangesAcrossWords() {
+        BitVector vector = BitVector.allocate(300);
+        vector.set(10, 200);
+        assertEquals(190, vector.cardinality());
+        assertFalse(vector.get(9));
+        assertTrue(vector.get(10));
+        assertTrue(vector.get(199));
+        assertFalse(vector.get(200));
+
+        vector.clear(63, 129);
+        assertEquals(190 - 66, vector.cardinality());
+        assertTrue(vector.get(62));
+        assertFalse(vector.get(63));
+        assertFalse(vector.get(128));
+        assertTrue(vector.get(129));
+
+        vector.set(5, 5);
+        assertFalse(vector.get(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.set(0, 301));
+    }
+
+    @Test
+    public void testNextSetAndClearBit() {
+        BitVector vector = BitVector.allocate(200);
+        vector.set(70);
+        vector.set(150);
+        assertEquals(70, vector.nextSetBit(0));
+        assertEquals(150, vector.nextSetBit(71));
+        assertEquals(-1, vector.nextSetBit(151));
+
+        vector.set(0, 200);
+        vector.clear(130);
+        assertEquals(130, vector.nextClearBit(0));
+        assertEquals(-1, vector.nextClearBit(131));
+    }
+
+    @Test
+    public void testRankAndSelectMatchCounting() {
+        assertRankAndSelect(random(5000, 0.5, 1));
+    }
+
+    @Test
+    public void testRankAndSelectOnSparseVector() {
+        assertRankAndSelect(random(20000, 0.01, 2));
+    }
+
+    @Test
+    public void testSelectAcrossDenseAndSparseRegions() {
+        // Full words, then groups of set bits spread far enough to be stored outright, then mixed density
+        Random random = new Random(4);
+        BitVector vector = BitVector.allocate(400_000);
+        vector.set(0, 40_000);
+        for(int i = 40_000; i < 400_000; i++) {
+            double density = i < 300_000 ? 0.002 : (i / 1000) % 2 == 0 ? 0.5 : 0.005;
+            vector.set(i, random.nextDouble() < density);
+        }
+        assertRankAndSelect(vector);
+    }
+
+    @Test
+    public void testSelectOnVectorWithFewSetBits() {
+        BitVector vector = BitVector.allocate(1 << 20);
+        vector.set(5);
+        vector.set(1 << 19);
+        vector.set((1 << 20) - 1);
+        assertEquals(5, vector.select(0));
+        assertEquals(1 << 19, vector.select(1));
+        assertEquals((1 << 20) - 1, vector.select(2));
+        assertEquals(-1, vector.select(3));
+    }
+
+    @Test
+    public void testRankAndSelectAreRebuiltAfterChanges() {
+        BitVector vector = random(2000, 0.5, 3);
+        assertRankAndSelect(vector);
+        vector.clear(0, 1000);
+        vector.flip(1500);
+        assertRankAndSelect(vector);
+    }
+
+    @Test
+    public void testBytesRoundTrip() {
+        BitVector vector = BitVector.fromBytes(new byte[]{(byte)0x81, 0x7F, (byte)0xFF}, 20);
+        assertTrue(vector.get(0));
+        assertTrue(vector.get(7));
+        assertTrue(vector.get(8));
+        assertFalse(vector.get(15));
+        assertEquals(2 + 7 + 4, vector.cardinality());
+        assertArrayEquals(new byte[]{(byte)0x81, 0x7F, 0x0F}, vector.toByteArray());
+        assertEquals(vector, BitVector.fromBytes(vector.toByteArray(), 20));
+    }
+
+    @Test
+    public void testToString() {
+        BitVector vector = BitVector.allocate(10);
+        vector.set(1);
+        vector.set(8);
+        assertEquals("BitVector(size=10, set=[1, 8])", vector.toString());
+    }
+}
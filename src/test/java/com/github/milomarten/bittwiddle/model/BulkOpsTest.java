@@ -0,0 +1,99 @@
+package com.github.milomarten.bittwiddle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkOpsTest {
+    // Long enough for several full vectors, plus a tail which is not
+    private static final int LENGTH = 1000;
+
+    private final BulkOps scalar = new ScalarBulkOps();
+    // Built directly, so the vector code is tested even if BulkOps.get() falls back to the scalar one
+    private final BulkOps vector = new VectorBulkOps();
+
+    @Test
+    public void testVectorIsChosenWhenAvailable() {
+        assertTrue(vector.isVectorized());
+        assertFalse(scalar.isVectorized());
+        // The test JVM runs with the vector module, so only the property can force the scalar implementation
+        assertEquals(!Boolean.getBoolean(BulkOps.SCALAR_PROPERTY), BulkOps.get().isVectorized());
+    }
+
+    @Test
+    public void testBytesMatchScalar() {
+        Random random = new Random(0);
+        for(BulkOps.Op op : BulkOps.Op.values()) {
+            for(boolean signed : new boolean[]{false, true}) {
+                byte[] a = new byte[LENGTH];
+                byte[] b = new byte[LENGTH];
+                random.nextBytes(a);
+                random.nextBytes(b);
+                byte[] expected = a.clone();
+                scalar.apply(op, signed, expected, b);
+                vector.apply(op, signed, a, b);
+                assertArrayEquals(expected, a, op + (signed ? " signed" : " unsigned"));
+            }
+        }
+    }
+
+    @Test
+    public void testShortsMatchScalar() {
+        Random random = new Random(1);
+        for(BulkOps.Op op : BulkOps.Op.values()) {
+            for(boolean signed : new boolean[]{false, true}) {
+                short[] a = new short[LENGTH];
+                short[] b = new short[LENGTH];
+                for(int i = 0; i < LENGTH; i++) {
+                    a[i] = (short)random.nextInt();
+                    b[i] = (short)random.nextInt();
+                }
+                short[] expected = a.clone();
+                scalar.apply(op, signed, expected, b);
+                vector.apply(op, signed, a, b);
+                assertArrayEquals(expected, a, op + (signed ? " signed" : " unsigned"));
+            }
+        }
+    }
+
+    @Test
+    public void testIntsMatchScalar() {
+        Random random = new Random(2);
+        for(BulkOps.Op op : BulkOps.Op.values()) {
+            for(boolean signed : new boolean[]{false, true}) {
+                int[] a = random.ints(LENGTH).toArray();
+                int[] b = random.ints(LENGTH).toArray();
+                int[] expected = a.clone();
+                scalar.apply(op, signed, expected, b);
+                vector.apply(op, signed, a, b);
+                assertArrayEquals(expected, a, op + (signed ? " signed" : " unsigned"));
+            }
+        }
+    }
+
+    @Test
+    public void testNotMatchesScalar() {
+        byte[] a = new byte[LENGTH];
+        new Random(3).nextBytes(a);
+        byte[] expected = a.clone();
+        scalar.not(expected);
+        vector.not(a);
+        assertArrayEquals(expected, a);
+    }
+
+    @Test
+    public void testScalarSaturatesUnsignedBytes() {
+        byte[] a = {(byte)250, 5, 0};
+        scalar.apply(BulkOps.Op.ADD_SATURATING, false, a, new byte[]{10, 5, 0});
+        assertArrayEquals(new byte[]{(byte)255, 10, 0}, a);
+    }
+
+    @Test
+    public void testScalarComparesUnsigned() {
+        byte[] a = {(byte)200, 1};
+        scalar.apply(BulkOps.Op.MIN, false, a, new byte[]{100, (byte)255});
+        assertArrayEquals(new byte[]{100, 1}, a);
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.milomarten.bittwiddle.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignedByteArrayTest {
+    @Test
+    public void testGetReturnsSignedValues() {
+        SignedByteArray array = SignedByteArray.wrap(new byte[]{-1, 1});
+        assertEquals((byte)-1, array.getByte(0));
+        assertSame(SignedByte.NEGATIVE_ONE, array.get(0));
+    }
+
+    @Test
+    public void testAddSaturatesInBothDirections() {
+        SignedByteArray array = SignedByteArray.wrap(new byte[]{100, -100, 5});
+        array.addSaturating(SignedByteArray.wrap(new byte[]{100, -100, 5}));
+        assertArrayEquals(new byte[]{Byte.MAX_VALUE, Byte.MIN_VALUE, 10}, array.toByteArray());
+    }
+
+    @Test
+    public void testSubtractWrapping() {
+        SignedByteArray array = SignedByteArray.wrap(new byte[]{Byte.MIN_VALUE, 0});
+        array.subtractWrapping(SignedByteArray.wrap(new byte[]{1, 1}));
+        assertArrayEquals(new byte[]{Byte.MAX_VALUE, -1}, array.toByteArray());
+    }
+}
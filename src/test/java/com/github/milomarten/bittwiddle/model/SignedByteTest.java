@@ -76,4 +76,36 @@ class SignedByteTest {
         SignedByte b = SignedByte.MAX;
         assertEquals(OverflowableResult.overflow(SignedByte.ONE), a.multiply(b));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEveryValueIsCached() {
+        for(int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            assertSame(SignedByte.from(i), SignedByte.from((byte)i));
+        }
+        assertSame(SignedByte.NEGATIVE_ONE, SignedByte.from(-1));
+    }
+
+    @Test
+    public void testPrimitiveAdd() {
+        assertEquals((byte)-126, SignedByte.addWrapping((byte)100, (byte)30));
+        assertEquals(Byte.MAX_VALUE, SignedByte.addSaturating((byte)100, (byte)30));
+        assertEquals(Byte.MIN_VALUE, SignedByte.addSaturating((byte)-100, (byte)-30));
+        assertThrows(ArithmeticException.class, () -> SignedByte.addExact((byte)100, (byte)30));
+    }
+
+    @Test
+    public void testPrimitiveNegate() {
+        assertEquals(Byte.MIN_VALUE, SignedByte.negateWrapping(Byte.MIN_VALUE));
+        assertEquals(Byte.MAX_VALUE, SignedByte.negateSaturating(Byte.MIN_VALUE));
+        assertEquals((byte)-5, SignedByte.negateExact((byte)5));
+        long result = SignedByte.negateWithOverflow((byte)5);
+        assertFalse(PackedResult.isOverflow(result));
+        assertEquals((byte)-5, (byte)PackedResult.value(result));
+    }
+
+    @Test
+    public void testPrimitiveMultiplySaturatesBySign() {
+        assertEquals(Byte.MIN_VALUE, SignedByte.multiplySaturating((byte)-50, (byte)3));
+        assertEquals(Byte.MAX_VALUE, SignedByte.multiplySaturating((byte)-50, (byte)-3));
+    }
+}
@@ -72,4 +72,26 @@ class SignedShortTest {
         SignedShort b = SignedShort.MAX;
         assertEquals(OverflowableResult.overflow(SignedShort.ONE), a.multiply(b));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSmallValuesAreCached() {
+        int high = ValueCache.high(SignedShort.class, -128, Short.MAX_VALUE);
+        if(high >= -128) {
+            assertSame(SignedShort.from(-128), SignedShort.from(-128));
+            assertSame(SignedShort.from(high), SignedShort.from(high));
+        }
+        if(high < Short.MAX_VALUE) {
+            assertNotSame(SignedShort.from(high + 1), SignedShort.from(high + 1));
+        }
+        assertNotSame(SignedShort.from(-129), SignedShort.from(-129));
+    }
+
+    @Test
+    public void testPrimitiveArithmetic() {
+        assertEquals(Short.MIN_VALUE, SignedShort.addWrapping(Short.MAX_VALUE, (short)1));
+        assertEquals(Short.MAX_VALUE, SignedShort.addSaturating(Short.MAX_VALUE, (short)1));
+        assertEquals(Short.MIN_VALUE, SignedShort.subtractSaturating(Short.MIN_VALUE, (short)1));
+        assertEquals(Short.MAX_VALUE, SignedShort.negateSaturating(Short.MIN_VALUE));
+        assertEquals((short)-6, (short)PackedResult.value(SignedShort.multiplyWithOverflow((short)-2, (short)3)));
+    }
+}
@@ -72,4 +72,27 @@ class SignedWordTest {
         SignedWord b = SignedWord.MAX;
         assertEquals(OverflowableResult.overflow(SignedWord.ONE), a.multiply(b));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSmallValuesAreCached() {
+        int high = ValueCache.high(SignedWord.class, -128, Integer.MAX_VALUE);
+        if(high >= -1) {
+            assertSame(SignedWord.NEGATIVE_ONE, SignedWord.from(-1));
+        }
+        if(high >= -128) {
+            assertSame(SignedWord.from(high), SignedWord.from(high));
+        }
+        assertNotSame(SignedWord.from(high + 1), SignedWord.from(high + 1));
+        assertNotSame(SignedWord.MAX, SignedWord.from(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testPrimitiveArithmetic() {
+        assertEquals(Integer.MIN_VALUE, SignedWord.addWrapping(Integer.MAX_VALUE, 1));
+        assertEquals(Integer.MAX_VALUE, SignedWord.addSaturating(Integer.MAX_VALUE, 1));
+        assertEquals(Integer.MAX_VALUE, SignedWord.subtractSaturating(0, Integer.MIN_VALUE));
+        assertThrows(ArithmeticException.class, () -> SignedWord.negateExact(Integer.MIN_VALUE));
+        assertTrue(PackedResult.isOverflow(SignedWord.multiplyWithOverflow(1 << 16, 1 << 16)));
+        assertEquals(0, PackedResult.value(SignedWord.multiplyWithOverflow(1 << 16, 1 << 16)));
+    }
+}
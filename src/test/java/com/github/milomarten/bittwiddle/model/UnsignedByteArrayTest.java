@@ -0,0 +1,68 @@
+package com.github.milomarten.bittwiddle.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnsignedByteArrayTest {
+    @Test
+    public void testGetReturnsUnsignedValues() {
+        UnsignedByteArray array = UnsignedByteArray.wrap(new byte[]{(byte)0xFF, 0x01});
+        assertEquals(255, array.getInt(0));
+        assertSame(UnsignedByte.MAX, array.get(0));
+    }
+
+    @Test
+    public void testWrapSharesTheArray() {
+        byte[] bites = new byte[2];
+        UnsignedByteArray.wrap(bites).set(1, 200);
+        assertEquals((byte)200, bites[1]);
+    }
+
+    @Test
+    public void testCopyOfRoundTrips() {
+        UnsignedByte[] values = {UnsignedByte.ZERO, UnsignedByte.from(128), UnsignedByte.MAX};
+        assertArrayEquals(values, UnsignedByteArray.copyOf(values).toArray());
+    }
+
+    @Test
+    public void testBitwise() {
+        UnsignedByteArray array = UnsignedByteArray.wrap(new byte[]{0x0F, 0x3C});
+        array.and(UnsignedByteArray.wrap(new byte[]{0x03, 0x0F}))
+                .or(UnsignedByteArray.wrap(new byte[]{0x10, 0x00}))
+                .xor(UnsignedByteArray.wrap(new byte[]{0x01, 0x01}));
+        assertArrayEquals(new byte[]{0x12, 0x0D}, array.toByteArray());
+        assertArrayEquals(new byte[]{(byte)0xED, (byte)0xF2}, array.not().toByteArray());
+    }
+
+    @Test
+    public void testAdd() {
+        UnsignedByteArray other = UnsignedByteArray.wrap(new byte[]{100, 100});
+        assertArrayEquals(new byte[]{44, 110}, UnsignedByteArray.wrap(new byte[]{(byte)200, 10}).addWrapping(other).toByteArray());
+        assertArrayEquals(new byte[]{(byte)255, 110}, UnsignedByteArray.wrap(new byte[]{(byte)200, 10}).addSaturating(other).toByteArray());
+    }
+
+    @Test
+    public void testSubtract() {
+        UnsignedByteArray other = UnsignedByteArray.wrap(new byte[]{20, 20});
+        assertArrayEquals(new byte[]{(byte)246, 80}, UnsignedByteArray.wrap(new byte[]{10, 100}).subtractWrapping(other).toByteArray());
+        assertArrayEquals(new byte[]{0, 80}, UnsignedByteArray.wrap(new byte[]{10, 100}).subtractSaturating(other).toByteArray());
+    }
+
+    @Test
+    public void testMinAndMax() {
+        UnsignedByteArray other = UnsignedByteArray.wrap(new byte[]{(byte)200, 5});
+        assertArrayEquals(new byte[]{10, 5}, UnsignedByteArray.wrap(new byte[]{10, (byte)250}).min(other).toByteArray());
+        assertArrayEquals(new byte[]{(byte)200, (byte)250}, UnsignedByteArray.wrap(new byte[]{10, (byte)250}).max(other).toByteArray());
+    }
+
+    @Test
+    public void testLengthsMustMatch() {
+        assertThrows(IllegalArgumentException.class, () -> UnsignedByteArray.allocate(2).and(UnsignedByteArray.allocate(3)));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("UnsignedByteArray(values=[255, 1])", UnsignedByteArray.wrap(new byte[]{(byte)0xFF, 0x01}).toString());
+    }
+}
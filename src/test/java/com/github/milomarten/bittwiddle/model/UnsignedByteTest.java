@@ -59,4 +59,48 @@ class UnsignedByteTest {
     public void testMultiplyOverflow() {
         assertEquals(OverflowableResult.overflow(UnsignedByte.ONE), UnsignedByte.MAX.multiply(UnsignedByte.MAX));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEveryValueIsCached() {
+        for(int i = 0; i < 256; i++) {
+            assertSame(UnsignedByte.from(i), UnsignedByte.from(i));
+        }
+        assertSame(UnsignedByte.MAX, UnsignedByte.from(-1));
+    }
+
+    @Test
+    public void testArithmeticReturnsCachedValues() {
+        assertSame(UnsignedByte.TWO, UnsignedByte.ONE.add(UnsignedByte.ONE).ignore());
+    }
+
+    @Test
+    public void testPrimitiveAdd() {
+        assertEquals(44, UnsignedByte.addWrapping(200, 100));
+        assertEquals(255, UnsignedByte.addSaturating(200, 100));
+        assertEquals(250, UnsignedByte.addExact(200, 50));
+        assertThrows(ArithmeticException.class, () -> UnsignedByte.addExact(200, 100));
+    }
+
+    @Test
+    public void testPrimitiveSubtract() {
+        assertEquals(255, UnsignedByte.subtractWrapping(0, 1));
+        assertEquals(0, UnsignedByte.subtractSaturating(0, 1));
+        long result = UnsignedByte.subtractWithOverflow(0, 1);
+        assertTrue(PackedResult.isOverflow(result));
+        assertEquals(255, PackedResult.value(result));
+    }
+
+    @Test
+    public void testPrimitiveMultiplyMatchesObjectApi() {
+        for(int a = 0; a < 256; a += 7) {
+            for(int b = 0; b < 256; b += 11) {
+                OverflowableResult<UnsignedByte> expected = UnsignedByte.from(a).multiply(UnsignedByte.from(b));
+                long result = UnsignedByte.multiplyWithOverflow(a, b);
+                assertEquals(expected.ignore().toInt(), PackedResult.value(result));
+                assertEquals(expected.clamp(UnsignedByte.MAX).toInt(), UnsignedByte.multiplySaturating(a, b));
+                assertEquals(expected, PackedResult.isOverflow(result)
+                        ? OverflowableResult.overflow(expected.ignore()) : OverflowableResult.of(expected.ignore()));
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.milomarten.bittwiddle.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnsignedShortArrayTest {
+    @Test
+    public void testGetReturnsUnsignedValues() {
+        UnsignedShortArray array = UnsignedShortArray.allocate(1);
+        array.set(0, 65_535);
+        assertEquals(65_535, array.getInt(0));
+        assertEquals(UnsignedShort.MAX, array.get(0));
+    }
+
+    @Test
+    public void testAddSaturating() {
+        UnsignedShortArray array = UnsignedShortArray.wrap(new short[]{(short)65_000, 1});
+        array.addSaturating(UnsignedShortArray.wrap(new short[]{1000, 1}));
+        assertEquals(65_535, array.getInt(0));
+        assertEquals(2, array.getInt(1));
+    }
+
+    @Test
+    public void testNot() {
+        assertArrayEquals(new short[]{(short)0xFF00}, UnsignedShortArray.wrap(new short[]{0x00FF}).not().toShortArray());
+    }
+}
@@ -59,4 +59,33 @@ class UnsignedShortTest {
     public void testMultiplyOverflow() {
         assertEquals(OverflowableResult.overflow(UnsignedShort.ONE), UnsignedShort.MAX.multiply(UnsignedShort.MAX));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSmallValuesAreCached() {
+        int high = ValueCache.high(UnsignedShort.class, 0, 65_535);
+        if(high >= 0) {
+            assertSame(UnsignedShort.from(high), UnsignedShort.from(high));
+        }
+        if(high >= 2) {
+            assertSame(UnsignedShort.TWO, UnsignedShort.ONE.add(UnsignedShort.ONE).ignore());
+        }
+    }
+
+    @Test
+    public void testLargeValuesAreNotCached() {
+        int high = ValueCache.high(UnsignedShort.class, 0, 65_535);
+        assertEquals(UnsignedShort.MAX, UnsignedShort.from(65_535));
+        if(high < 65_535) {
+            assertNotSame(UnsignedShort.from(high + 1), UnsignedShort.from(high + 1));
+        }
+    }
+
+    @Test
+    public void testPrimitiveArithmetic() {
+        assertEquals(4, UnsignedShort.addWrapping(65_535, 5));
+        assertEquals(65_535, UnsignedShort.addSaturating(65_535, 5));
+        assertEquals(0, UnsignedShort.subtractSaturating(5, 6));
+        assertThrows(ArithmeticException.class, () -> UnsignedShort.multiplyExact(256, 256));
+        assertTrue(PackedResult.isOverflow(UnsignedShort.multiplyWithOverflow(256, 256)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.milomarten.bittwiddle.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnsignedWordArrayTest {
+    @Test
+    public void testGetReturnsUnsignedValues() {
+        UnsignedWordArray array = UnsignedWordArray.wrap(new int[]{-1});
+        assertEquals(4_294_967_295L, array.getLong(0));
+        assertEquals(UnsignedWord.MAX, array.get(0));
+    }
+
+    @Test
+    public void testSubtractSaturating() {
+        UnsignedWordArray array = UnsignedWordArray.wrap(new int[]{5, -1});
+        array.subtractSaturating(UnsignedWordArray.wrap(new int[]{6, 1}));
+        assertArrayEquals(new int[]{0, -2}, array.toIntArray());
+    }
+
+    @Test
+    public void testAddWrapping() {
+        UnsignedWordArray array = UnsignedWordArray.wrap(new int[]{-1});
+        array.addWrapping(UnsignedWordArray.wrap(new int[]{2}));
+        assertEquals(1L, array.getLong(0));
+    }
+}
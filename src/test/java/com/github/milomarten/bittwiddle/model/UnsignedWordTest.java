@@ -59,4 +59,31 @@ class UnsignedWordTest {
     public void testMultiplyOverflow() {
         assertEquals(OverflowableResult.overflow(UnsignedWord.ONE), UnsignedWord.MAX.multiply(UnsignedWord.MAX));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSmallValuesAreCached() {
+        int high = ValueCache.high(UnsignedWord.class, 0, Integer.MAX_VALUE);
+        if(high >= 2) {
+            assertSame(UnsignedWord.ZERO, UnsignedWord.from(0));
+            assertSame(UnsignedWord.TWO, UnsignedWord.ONE.add(UnsignedWord.ONE).ignore());
+        }
+        assertNotSame(UnsignedWord.from(high + 1), UnsignedWord.from(high + 1));
+        assertNotSame(UnsignedWord.from(-1), UnsignedWord.from(4_294_967_295L));
+    }
+
+    @Test
+    public void testPrimitiveArithmetic() {
+        assertEquals(0L, UnsignedWord.addWrapping(4_294_967_295L, 1));
+        assertEquals(4_294_967_295L, UnsignedWord.addSaturating(4_294_967_295L, 1));
+        assertEquals(0L, UnsignedWord.subtractSaturating(0, 1));
+        assertEquals(4_294_967_295L, PackedResult.unsignedValue(UnsignedWord.subtractWithOverflow(0, 1)));
+    }
+
+    @Test
+    public void testPrimitiveMultiplyOfLargeWords() {
+        assertEquals(4_294_967_295L, UnsignedWord.multiplySaturating(4_294_967_295L, 4_294_967_295L));
+        assertEquals(1L, UnsignedWord.multiplyWrapping(4_294_967_295L, 4_294_967_295L));
+        assertThrows(ArithmeticException.class, () -> UnsignedWord.multiplyExact(4_294_967_295L, 2));
+        assertFalse(PackedResult.isOverflow(UnsignedWord.multiplyWithOverflow(65_536, 65_535)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.milomarten.bittwiddle.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueCacheTest {
+    private static final String PROPERTY = Cached.class.getName() + ".cache.high";
+
+    /**
+     * A type to key the property on, which no real cache reads
+     */
+    private static class Cached {
+    }
+
+    @AfterEach
+    public void clearProperty() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    public void testDefaultHigh() {
+        assertEquals(ValueCache.DEFAULT_HIGH, ValueCache.high(Cached.class, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testConfiguredHigh() {
+        System.setProperty(PROPERTY, " 4095 ");
+        assertEquals(4095, ValueCache.high(Cached.class, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testHighIsClampedToType() {
+        System.setProperty(PROPERTY, "40000");
+        assertEquals(Short.MAX_VALUE, ValueCache.high(Cached.class, -128, Short.MAX_VALUE));
+        assertEquals(Byte.MAX_VALUE, ValueCache.high(Cached.class, -128, Byte.MAX_VALUE));
+    }
+
+    @Test
+    public void testHighIsClampedToMaxHigh() {
+        System.setProperty(PROPERTY, String.valueOf(Integer.MAX_VALUE));
+        assertEquals(ValueCache.MAX_HIGH, ValueCache.high(Cached.class, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testHighBelowLowCachesNothing() {
+        System.setProperty(PROPERTY, "-1000");
+        assertEquals(-129, ValueCache.high(Cached.class, -128, Short.MAX_VALUE));
+    }
+
+    @Test
+    public void testInvalidHighFallsBackToDefault() {
+        System.setProperty(PROPERTY, "lots");
+        assertEquals(ValueCache.DEFAULT_HIGH, ValueCache.high(Cached.class, 0, Integer.MAX_VALUE));
+    }
+}